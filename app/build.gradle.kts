@@ -111,6 +111,11 @@ android {
         disable += "SelectedPhotoAccess"
     }
 
+    testOptions {
+        // XposedBridge.log reaches android.util.Log, which is a stub in local unit tests
+        unitTests.isReturnDefaultValues = true
+    }
+
     materialThemeBuilder {
         themes {
             for ((name, color) in listOf(
@@ -155,6 +160,12 @@ dependencies {
     implementation(libs.arscblamer)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
+
+    testImplementation(libs.junit)
+    testImplementation(libs.okhttp.mockwebserver)
+    // the android.jar org.json is a stub in local unit tests
+    testImplementation(libs.org.json)
+    testImplementation(libs.libxposed.legacy)
 }
 
 configurations.all {
@@ -23,7 +23,7 @@ public class HookProvider extends ContentProvider {
     public Bundle call(@NonNull String method, @Nullable String arg, @Nullable Bundle extras) {
         if (method.equals("getHookBinder")) {
             Bundle result = new Bundle();
-            result.putBinder("binder", HookBinder.getInstance());
+            result.putBinder("binder", HookBinder.getInstance(getContext()));
             return result;
         }
         return null;
@@ -11,7 +11,7 @@ public class BridgeService extends Service {
     @Nullable
     @Override
     public IBinder onBind(Intent intent) {
-        return HookBinder.getInstance();
+        return HookBinder.getInstance(this);
     }
 
 }
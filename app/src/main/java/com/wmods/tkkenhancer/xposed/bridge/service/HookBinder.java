@@ -1,24 +1,54 @@
 package com.wmods.tkkenhancer.xposed.bridge.service;
 
+import android.content.Context;
+import android.media.MediaScannerConnection;
 import android.os.ParcelFileDescriptor;
 import android.os.RemoteException;
+import android.util.Log;
 
 import com.wmods.tkkenhancer.xposed.bridge.TkeIIFace;
+import com.wmods.tkkenhancer.xposed.utils.MimeTypeUtils;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class HookBinder extends TkeIIFace.Stub {
 
+    private static final int STREAM_BUFFER_SIZE = 256 * 1024;
+    /**
+     * Only the sync and rename are left once the writer has closed its end.
+     */
+    private static final long FINISH_TIMEOUT_SECONDS = 60;
+
     private static HookBinder mInstance;
+    private Context mContext;
+    private final AtomicInteger mStreamCount = new AtomicInteger();
+    /**
+     * Outcome of each write stream by destination path, an empty string once the file is saved.
+     * A path is open while its future is not done; a done future only waits to be collected.
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<String>> mStreams = new ConcurrentHashMap<>();
 
-    public static HookBinder getInstance() {
+    public static HookBinder getInstance(Context context) {
         if (mInstance == null) {
             mInstance = new HookBinder();
         }
+        if (mInstance.mContext == null && context != null) {
+            mInstance.mContext = context.getApplicationContext();
+        }
         return mInstance;
     }
 
@@ -54,5 +84,90 @@ public class HookBinder extends TkeIIFace.Stub {
         return Arrays.asList(files);
     }
 
+    @Override
+    public ParcelFileDescriptor openWriteStream(String path) throws RemoteException {
+        var result = new CompletableFuture<String>();
+        // one stream per path: a second copier would write the same .part and take over its result
+        if (mStreams.compute(path, (key, current) -> current == null || current.isDone() ? result : current) != result) {
+            Log.e("HookBinder", "write stream to " + path + " is already open");
+            return null;
+        }
+        var file = new File(path);
+        var part = new File(path + ".part");
+        var parent = file.getParentFile();
+        if (parent != null && !parent.exists()) parent.mkdirs();
+        ParcelFileDescriptor[] pipe;
+        try {
+            pipe = ParcelFileDescriptor.createReliablePipe();
+        } catch (IOException e) {
+            Log.e("HookBinder", "failed to create pipe for " + path, e);
+            mStreams.remove(path, result);
+            return null;
+        }
+        FileOutputStream out;
+        try {
+            out = new FileOutputStream(part);
+        } catch (FileNotFoundException e) {
+            Log.e("HookBinder", "failed to open " + part, e);
+            closeQuietly(pipe[0]);
+            closeQuietly(pipe[1]);
+            mStreams.remove(path, result);
+            return null;
+        }
+        var thread = new Thread(() -> result.complete(receive(pipe[0], out, part, file)), "TkkWriteStream-" + mStreamCount.incrementAndGet());
+        thread.setDaemon(true);
+        thread.start();
+        // returned with PARCELABLE_WRITE_RETURN_VALUE, so our copy of the write end is closed once sent
+        return pipe[1];
+    }
+
+    @Override
+    public String finishWriteStream(String path) throws RemoteException {
+        var result = mStreams.get(path);
+        if (result == null) return "No write stream to " + path;
+        try {
+            return result.get(FINISH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            return "Write stream to " + path + " did not finish";
+        } catch (InterruptedException | ExecutionException e) {
+            return e.toString();
+        } finally {
+            // a stream still copying keeps its path reserved
+            if (result.isDone()) mStreams.remove(path, result);
+        }
+    }
+
+    /**
+     * @return an empty string once the file is saved, otherwise the error
+     */
+    private String receive(ParcelFileDescriptor source, FileOutputStream out, File part, File file) {
+        try (var in = new ParcelFileDescriptor.AutoCloseInputStream(source); out) {
+            var buffer = new byte[STREAM_BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+            // a writer that failed or died also ends in EOF, only a normal close keeps the file
+            source.checkError();
+            out.getFD().sync();
+            Files.move(part.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Log.e("HookBinder", "write stream to " + file + " failed: " + e.getMessage());
+            part.delete();
+            return e.getMessage() == null || e.getMessage().isEmpty() ? e.toString() : e.getMessage();
+        }
+        if (mContext != null) {
+            MediaScannerConnection.scanFile(mContext, new String[]{file.getAbsolutePath()},
+                    new String[]{MimeTypeUtils.getMimeTypeFromExtension(file.getAbsolutePath())}, null);
+        }
+        return "";
+    }
+
+    private static void closeQuietly(ParcelFileDescriptor descriptor) {
+        try {
+            descriptor.close();
+        } catch (IOException ignored) {
+        }
+    }
 
 }
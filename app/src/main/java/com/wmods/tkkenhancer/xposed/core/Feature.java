@@ -3,6 +3,11 @@ package com.wmods.tkkenhancer.xposed.core;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.wmods.tkkenhancer.xposed.core.devkit.ClassIndex;
+
+import java.util.function.Supplier;
 
 import de.robv.android.xposed.XSharedPreferences;
 import de.robv.android.xposed.XposedBridge;
@@ -23,6 +28,17 @@ public abstract class Feature {
     @NonNull
     public abstract String getPluginName();
 
+    /**
+     * Probes candidate class names against the {@link ClassIndex}, so names missing from this
+     * TikTok build are skipped without throwing.
+     *
+     * @return the first candidate that exists, or null
+     */
+    @Nullable
+    public Class<?> findFirstClass(@NonNull String... classNames) {
+        return ClassIndex.findFirstClass(classLoader, classNames);
+    }
+
     public void logDebug(Object object) {
         if (!DEBUG) return;
         log(object);
@@ -33,6 +49,35 @@ public abstract class Feature {
         }
     }
 
+    /**
+     * Builds the message only when debugging is enabled. A lambda that captures variables is still
+     * allocated at the call site, so hook callbacks should prefer {@link #logDebugf}.
+     */
+    public void logDebug(@NonNull Supplier<?> message) {
+        if (!DEBUG) return;
+        logDebug(message.get());
+    }
+
+    /**
+     * Formats the message only when debugging is enabled. Fixed arity instead of varargs, so a
+     * disabled call with reference arguments allocates nothing; guard primitive arguments outside
+     * the small boxing cache with {@link #DEBUG} in hot callbacks.
+     */
+    public void logDebugf(@NonNull String format, Object arg) {
+        if (!DEBUG) return;
+        logDebug(String.format(format, arg));
+    }
+
+    public void logDebugf(@NonNull String format, Object arg1, Object arg2) {
+        if (!DEBUG) return;
+        logDebug(String.format(format, arg1, arg2));
+    }
+
+    public void logDebugf(@NonNull String format, Object arg1, Object arg2, Object arg3) {
+        if (!DEBUG) return;
+        logDebug(String.format(format, arg1, arg2, arg3));
+    }
+
     public void logDebug(String title, Object object) {
         if (!DEBUG) return;
         log(title + ": " + object);
@@ -26,13 +26,13 @@ import com.wmods.tkkenhancer.xposed.core.components.SharedPreferencesWrapper;
 import com.wmods.tkkenhancer.xposed.core.components.TkContactTkk;
 import com.wmods.tkkenhancer.xposed.core.devkit.Unobfuscator;
 import com.wmods.tkkenhancer.xposed.core.devkit.UnobfuscatorCache;
-import com.wmods.tkkenhancer.xposed.features.others.DebugFeature;
 import com.wmods.tkkenhancer.xposed.spoofer.HookBL;
 import com.wmods.tkkenhancer.xposed.utils.DesignUtils;
 import com.wmods.tkkenhancer.xposed.utils.ReflectionUtils;
 import com.wmods.tkkenhancer.xposed.utils.ResId;
 import com.wmods.tkkenhancer.xposed.utils.Utils;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
@@ -40,7 +40,8 @@ import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
 import de.robv.android.xposed.XC_MethodHook;
@@ -55,24 +56,29 @@ public class FeatureLoader {
 
     public final static String PACKAGE_TKK = "com.zhiliaoapp.musically";
 
-    private static final ArrayList<ErrorItem> list = new ArrayList<>();
+    private static final List<ErrorItem> list = new CopyOnWriteArrayList<>();
     private static final List<String> FALLBACK_VERSIONS = Arrays.asList("43.xx", "44.xx", "45.xx");
     private static List<String> supportedVersions = FALLBACK_VERSIONS; // Initialize with fallback
     private static String currentVersion;
 
     public static void start(@NonNull ClassLoader loader, @NonNull XSharedPreferences pref, String sourceDir) {
 
-        if (!Unobfuscator.initWithPath(sourceDir)) {
-            XposedBridge.log("Can't init dexkit");
-            return;
+        StartupTrace.setEnabled(pref.getBoolean("enablelogs", true));
+        try (var ignored = StartupTrace.begin("Unobfuscator.initWithPath")) {
+            if (!Unobfuscator.initWithPath(sourceDir)) {
+                XposedBridge.log("Can't init dexkit");
+                return;
+            }
         }
         Feature.DEBUG = pref.getBoolean("enablelogs", true);
         Utils.xprefs = pref;
+        TkkSettings.update(pref);
 
         XposedHelpers.findAndHookMethod(Instrumentation.class, "callApplicationOnCreate", Application.class, new XC_MethodHook() {
             @SuppressWarnings("deprecation")
             protected void beforeHookedMethod(MethodHookParam param) throws Throwable {
                 mApp = (Application) param.args[0];
+                var startupSpan = StartupTrace.begin("callApplicationOnCreate");
 
                 // Inject Booloader Spoofer
                 if (pref.getBoolean("bootloader_spoofer", false)) {
@@ -81,7 +87,7 @@ public class FeatureLoader {
                 }
 
                 PackageManager packageManager = mApp.getPackageManager();
-                pref.registerOnSharedPreferenceChangeListener((sharedPreferences, s) -> pref.reload());
+                pref.registerOnSharedPreferenceChangeListener((sharedPreferences, s) -> TkkSettings.updateIfChanged(pref));
                 PackageInfo packageInfo = packageManager.getPackageInfo(mApp.getPackageName(), 0);
                 XposedBridge.log(packageInfo.versionName);
                 currentVersion = packageInfo.versionName;
@@ -114,100 +120,117 @@ public class FeatureLoader {
                 mApp.registerActivityLifecycleCallbacks(new TkCallback());
                 try {
                     var timemillis = System.currentTimeMillis();
-                    SharedPreferencesWrapper.hookInit(mApp.getClassLoader());
-                    UnobfuscatorCache.init(mApp);
-                    ReflectionUtils.initCache(mApp);
-                    
-                    // Check version support with improved pattern matching
-                    // Support patterns like "43.xx" which should match "43.0.0", "43.1.5", etc.
-                    // Ensure supportedVersions is not null or empty
-                    if (supportedVersions == null || supportedVersions.isEmpty()) {
-                        XposedBridge.log("WARNING: supportedVersions is null or empty, using fallback");
-                        supportedVersions = FALLBACK_VERSIONS;
+                    try (var ignored = StartupTrace.begin("SharedPreferencesWrapper.hookInit")) {
+                        SharedPreferencesWrapper.hookInit(mApp.getClassLoader());
+                    }
+                    try (var ignored = StartupTrace.begin("UnobfuscatorCache.init")) {
+                        UnobfuscatorCache.init(mApp);
+                    }
+                    try (var ignored = StartupTrace.begin("ReflectionUtils.initCache")) {
+                        ReflectionUtils.initCache(mApp);
                     }
-                    
-                    boolean isSupported = false;
-                    String matchedPattern = null;
-                    
-                    XposedBridge.log("Checking version " + packageInfo.versionName + " against patterns: " + String.join(", ", supportedVersions));
-                    
-                    for (String pattern : supportedVersions) {
-                        // Replace .xx with . (dot) to get version prefix
-                        // For example: "43.xx" becomes "43."
-                        String versionPrefix = pattern.replace(".xx", ".");
-                        
-                        XposedBridge.log("  Checking pattern '" + pattern + "' (prefix: '" + versionPrefix + "')");
-                        
-                        // Check if version matches the pattern
-                        // For pattern "43.xx", versionPrefix is "43."
-                        // We want to match "43.0.0", "43.1.5", but ensure proper major.minor matching
-                        boolean matches = false;
-                        if (packageInfo.versionName.equals(pattern)) {
-                            // Exact match (unlikely with .xx pattern but supports non-pattern versions)
-                            matches = true;
-                            XposedBridge.log("    -> Exact match!");
-                        } else if (packageInfo.versionName.length() >= versionPrefix.length() && 
-                                   packageInfo.versionName.startsWith(versionPrefix)) {
-                            // Version starts with prefix and has additional characters
-                            if (packageInfo.versionName.length() == versionPrefix.length()) {
-                                // Exact match with prefix (e.g., "43." matches "43.")
+                    try (var ignored = StartupTrace.begin("versionCheck")) {
+
+                        // Check version support with improved pattern matching
+                        // Support patterns like "43.xx" which should match "43.0.0", "43.1.5", etc.
+                        // Ensure supportedVersions is not null or empty
+                        if (supportedVersions == null || supportedVersions.isEmpty()) {
+                            XposedBridge.log("WARNING: supportedVersions is null or empty, using fallback");
+                            supportedVersions = FALLBACK_VERSIONS;
+                        }
+
+                        boolean isSupported = false;
+                        String matchedPattern = null;
+
+                        XposedBridge.log("Checking version " + packageInfo.versionName + " against patterns: " + String.join(", ", supportedVersions));
+
+                        for (String pattern : supportedVersions) {
+                            // Replace .xx with . (dot) to get version prefix
+                            // For example: "43.xx" becomes "43."
+                            String versionPrefix = pattern.replace(".xx", ".");
+
+                            XposedBridge.log("  Checking pattern '" + pattern + "' (prefix: '" + versionPrefix + "')");
+
+                            // Check if version matches the pattern
+                            // For pattern "43.xx", versionPrefix is "43."
+                            // We want to match "43.0.0", "43.1.5", but ensure proper major.minor matching
+                            boolean matches = false;
+                            if (packageInfo.versionName.equals(pattern)) {
+                                // Exact match (unlikely with .xx pattern but supports non-pattern versions)
                                 matches = true;
-                                XposedBridge.log("    -> Prefix exact match!");
+                                XposedBridge.log("    -> Exact match!");
+                            } else if (packageInfo.versionName.length() >= versionPrefix.length() && 
+                                       packageInfo.versionName.startsWith(versionPrefix)) {
+                                // Version starts with prefix and has additional characters
+                                if (packageInfo.versionName.length() == versionPrefix.length()) {
+                                    // Exact match with prefix (e.g., "43." matches "43.")
+                                    matches = true;
+                                    XposedBridge.log("    -> Prefix exact match!");
+                                } else {
+                                    // Check that the character after the prefix is a digit to ensure valid version format
+                                    // This prevents "43." from matching invalid versions like "43.abc"
+                                    char nextChar = packageInfo.versionName.charAt(versionPrefix.length());
+                                    matches = Character.isDigit(nextChar);
+                                    XposedBridge.log("    -> Next char '" + nextChar + "' is digit: " + matches);
+                                }
                             } else {
-                                // Check that the character after the prefix is a digit to ensure valid version format
-                                // This prevents "43." from matching invalid versions like "43.abc"
-                                char nextChar = packageInfo.versionName.charAt(versionPrefix.length());
-                                matches = Character.isDigit(nextChar);
-                                XposedBridge.log("    -> Next char '" + nextChar + "' is digit: " + matches);
+                                XposedBridge.log("    -> No match (version doesn't start with prefix)");
+                            }
+
+                            if (matches) {
+                                isSupported = true;
+                                matchedPattern = pattern;
+                                break;
                             }
-                        } else {
-                            XposedBridge.log("    -> No match (version doesn't start with prefix)");
-                        }
-                        
-                        if (matches) {
-                            isSupported = true;
-                            matchedPattern = pattern;
-                            break;
-                        }
-                    }
-                    
-                    if (!isSupported) {
-                        XposedBridge.log("Version check: TikTok " + packageInfo.versionName + " not in supported list: " + String.join(", ", supportedVersions));
-                        // Try to disable expiration version check
-                        // For TikTok, this may not be applicable, so we catch and log any errors
-                        try {
-                            disableExpirationVersion(mApp.getClassLoader());
-                        } catch (Exception expError) {
-                            XposedBridge.log("Note: Expiration version check not applicable for TikTok: " + expError.getMessage());
                         }
-                        if (!pref.getBoolean("bypass_version_check", false)) {
-                            // Ensure we have a valid list to display
-                            String versionsList = (supportedVersions != null && !supportedVersions.isEmpty()) 
-                                ? String.join(", ", supportedVersions) 
-                                : String.join(", ", FALLBACK_VERSIONS);
-                            
-                            String sb = "Unsupported version: " +
-                                    packageInfo.versionName +
-                                    "\n" +
-                                    "Supported versions: " + versionsList +
-                                    "\n" +
-                                    "Enable 'Bypass Version Check' in module settings to continue";
-                            throw new Exception(sb);
+
+                        if (!isSupported) {
+                            XposedBridge.log("Version check: TikTok " + packageInfo.versionName + " not in supported list: " + String.join(", ", supportedVersions));
+                            // Try to disable expiration version check
+                            // For TikTok, this may not be applicable, so we catch and log any errors
+                            try {
+                                disableExpirationVersion(mApp.getClassLoader());
+                            } catch (Exception expError) {
+                                XposedBridge.log("Note: Expiration version check not applicable for TikTok: " + expError.getMessage());
+                            }
+                            if (!pref.getBoolean("bypass_version_check", false)) {
+                                // Ensure we have a valid list to display
+                                String versionsList = (supportedVersions != null && !supportedVersions.isEmpty()) 
+                                    ? String.join(", ", supportedVersions) 
+                                    : String.join(", ", FALLBACK_VERSIONS);
+
+                                String sb = "Unsupported version: " +
+                                        packageInfo.versionName +
+                                        "\n" +
+                                        "Supported versions: " + versionsList +
+                                        "\n" +
+                                        "Enable 'Bypass Version Check' in module settings to continue";
+                                throw new Exception(sb);
+                            } else {
+                                XposedBridge.log("Version check bypassed by user preference");
+                            }
                         } else {
-                            XposedBridge.log("Version check bypassed by user preference");
+                            XposedBridge.log("TikTok version " + packageInfo.versionName + " is supported (matched pattern: " + matchedPattern + ")");
                         }
-                    } else {
-                        XposedBridge.log("TikTok version " + packageInfo.versionName + " is supported (matched pattern: " + matchedPattern + ")");
                     }
-                    initComponents(loader, pref);
+                    try (var ignored = StartupTrace.begin("initComponents")) {
+                        initComponents(loader, pref);
+                    }
                     // Register receivers AFTER initComponents to ensure privPrefs is initialized
                     registerReceivers();
-                    plugins(loader, pref, packageInfo.versionName);
+                    CompletableFuture<Void> pluginsDone;
+                    try (var ignored = StartupTrace.begin("plugins")) {
+                        pluginsDone = plugins(loader, pref, packageInfo.versionName);
+                    }
                     sendEnabledBroadcast(mApp);
 //                    XposedHelpers.setStaticIntField(XposedHelpers.findClass("com.tiktok.util.Log", loader), "level", 5);
                     var timemillis2 = System.currentTimeMillis() - timemillis;
                     XposedBridge.log("Loaded Hooks in " + timemillis2 + "ms");
+                    startupSpan.end();
+                    pluginsDone.whenComplete((v, t) -> StartupTrace.write(new File(mApp.getFilesDir(), "tkk_startup_trace.json")));
                 } catch (Throwable e) {
+                    startupSpan.end();
+                    StartupTrace.write(new File(mApp.getFilesDir(), "tkk_startup_trace.json"));
                     XposedBridge.log(e);
                     var error = new ErrorItem();
                     error.setPluginName("MainFeatures[Critical]");
@@ -356,7 +379,10 @@ public class FeatureLoader {
         }
     }
 
-    private static void plugins(@NonNull ClassLoader loader, @NonNull XSharedPreferences pref, @NonNull String versionTkk) throws Exception {
+    /**
+     * @return a future completed once every enabled feature, critical or not, has been installed
+     */
+    private static CompletableFuture<Void> plugins(@NonNull ClassLoader loader, @NonNull XSharedPreferences pref, @NonNull String versionTkk) throws Exception {
 
         // TikTok Features - Based on Smali Analysis
         // Repository: https://github.com/Eduardob3677/com_zhiliaoapp_musically_6
@@ -364,78 +390,97 @@ public class FeatureLoader {
         // Core working features + newly implemented features enabled
         // Features load asynchronously to prevent ANR during startup
         
-        var classes = new Class<?>[]{
+        var registry = List.of(
                 // Debug feature - always enabled for logging
-                DebugFeature.class,
-                
+                FeatureSpec.of("com.wmods.tkkenhancer.xposed.features.others.DebugFeature").critical(),
+
                 // ✅ WORKING FEATURES - Verified against smali
-                com.wmods.tkkenhancer.xposed.features.media.VideoDownload.class,      // Hooks: Video.getDownloadNoWatermarkAddr()
-                com.wmods.tkkenhancer.xposed.features.media.DownloadServiceHook.class, // Hooks: DownloadAwemeVideoServiceImpl for advanced download
-                com.wmods.tkkenhancer.xposed.features.media.AdBlocker.class,          // Hooks: Aweme.isAd(), isAdTraffic()
-                
+                FeatureSpec.of("com.wmods.tkkenhancer.xposed.features.media.VideoDownload").enabledBy("video_download").hooks("Video"),    // Hooks: Video.getDownloadNoWatermarkAddr()
+                FeatureSpec.of("com.wmods.tkkenhancer.xposed.features.media.DownloadServiceHook").enabledBy("download_service_hook")     // Hooks: DownloadAwemeVideoServiceImpl for advanced download
+                        .dependsOn("com.wmods.tkkenhancer.xposed.features.media.VideoDownload"),                                            // calls Video.getDownloadNoWatermarkAddr hooked by VideoDownload
+                FeatureSpec.of("com.wmods.tkkenhancer.xposed.features.media.AdBlocker").enabledBy("ad_blocker").critical().hooks("Aweme", "FeedItemList.getItems"), // Hooks: Aweme.isAd(), isAdTraffic()
+
                 // ✅ NEWLY IMPLEMENTED FEATURES - Enabled for testing
-                com.wmods.tkkenhancer.xposed.features.media.AutoPlayControl.class,    // Auto-play control with player analysis
-                com.wmods.tkkenhancer.xposed.features.media.StoryVideoSupport.class,  // Story video download
-                com.wmods.tkkenhancer.xposed.features.media.LiveStreamDownload.class, // Live stream download (placeholder)
-                com.wmods.tkkenhancer.xposed.features.privacy.AnalyticsBlocker.class, // Analytics blocking (minimal)
-                
+                FeatureSpec.of("com.wmods.tkkenhancer.xposed.features.media.AutoPlayControl").enabledBy("autoplay_control").critical(),   // Auto-play control with player analysis
+                FeatureSpec.of("com.wmods.tkkenhancer.xposed.features.media.StoryVideoSupport").enabledBy("story_download"),              // Story video download
+                FeatureSpec.of("com.wmods.tkkenhancer.xposed.features.media.LiveStreamDownload").enabledBy("live_stream_download"),       // Live stream download (placeholder)
+                FeatureSpec.of("com.wmods.tkkenhancer.xposed.features.privacy.AnalyticsBlocker").enabledBy("analytics_blocker").critical(), // Analytics blocking (minimal)
+
                 // ✅ NEW HOOKS - Based on smali analysis and verification
-                com.wmods.tkkenhancer.xposed.features.media.FeedScrollCustomizer.class,  // Feed scroll customization
-                com.wmods.tkkenhancer.xposed.features.media.RewardsIconHider.class,      // Hide TikTok Rewards icon
-                com.wmods.tkkenhancer.xposed.features.media.UIEnhancer.class,            // Additional UI enhancements
-                com.wmods.tkkenhancer.xposed.features.media.VideoQuality.class,          // Video quality control - uses video_quality pref
-                
+                FeatureSpec.of("com.wmods.tkkenhancer.xposed.features.media.FeedScrollCustomizer").enabledBy("feed_scroll_customizer"),   // Feed scroll customization
+                FeatureSpec.of("com.wmods.tkkenhancer.xposed.features.media.RewardsIconHider").enabledBy("hide_rewards_icon"),            // Hide TikTok Rewards icon
+                FeatureSpec.of("com.wmods.tkkenhancer.xposed.features.media.UIEnhancer").enabledBy("ui_enhancer"),                        // Additional UI enhancements
+                FeatureSpec.of("com.wmods.tkkenhancer.xposed.features.media.VideoQuality").enabledBy("video_quality").critical().hooks("Video"), // Video quality control - uses video_quality pref
+
                 // ✅ IMPROVED HOOKS - Verified against smali and corrected
-                com.wmods.tkkenhancer.xposed.features.media.CommentEnhancer.class,       // Comment.getStatus() - VERIFIED
-                com.wmods.tkkenhancer.xposed.features.media.ProfileEnhancer.class,       // User.isPrivateAccount() - VERIFIED
-                
+                FeatureSpec.of("com.wmods.tkkenhancer.xposed.features.media.CommentEnhancer").enabledBy("comment_enhancer"),              // Comment.getStatus() - VERIFIED
+                FeatureSpec.of("com.wmods.tkkenhancer.xposed.features.media.ProfileEnhancer").enabledBy("profile_enhancer"),              // User.isPrivateAccount() - VERIFIED
+
                 // 🆕 NEW MODS - Based on smali analysis from com_zhiliaoapp_musically_6
-                com.wmods.tkkenhancer.xposed.features.media.LiveStreamFeedControl.class, // Hide live streams from feed - Hooks: Aweme.isLive()
-                com.wmods.tkkenhancer.xposed.features.media.ImageReelControl.class,      // Hide image/photo reels from feed - Hooks: Aweme.isPhotoMode()
-                com.wmods.tkkenhancer.xposed.features.media.ProfileIconHider.class,      // Hide live/coin icons from profile
-                com.wmods.tkkenhancer.xposed.features.media.TabManager.class,            // Show/hide bottom navigation tabs
-        };
-        
-        XposedBridge.log("Loading TikTok Plugins (Core + New Features)");
-        
-        // Use single thread to prevent race conditions and CPU overload
-        var executorService = Executors.newFixedThreadPool(1);
-        var times = new ArrayList<String>();
-        
-        for (var classe : classes) {
-            CompletableFuture.runAsync(() -> {
-                var timemillis = System.currentTimeMillis();
-                try {
-                    var constructor = classe.getConstructor(ClassLoader.class, XSharedPreferences.class);
-                    var plugin = (Feature) constructor.newInstance(loader, pref);
+                FeatureSpec.of("com.wmods.tkkenhancer.xposed.features.media.LiveStreamFeedControl").enabledBy("hide_live_streams")        // Hide live streams from feed - Hooks: Aweme.isLive()
+                        .critical().hooks("Aweme", "FeedItemList.getItems"),
+                FeatureSpec.of("com.wmods.tkkenhancer.xposed.features.media.ImageReelControl").enabledBy("hide_image_reels")              // Hide image/photo reels from feed - Hooks: Aweme.isPhotoMode()
+                        .critical().hooks("Aweme", "FeedItemList.getItems"),
+                FeatureSpec.of("com.wmods.tkkenhancer.xposed.features.media.ProfileIconHider")                                            // Hide live/coin icons from profile
+                        .enabledBy("hide_profile_live_icon", "hide_profile_coin_icon").hooks("View.setVisibility"),
+                FeatureSpec.of("com.wmods.tkkenhancer.xposed.features.media.TabManager")                                                  // Show/hide bottom navigation tabs
+                        .enabledBy("hide_home_tab", "hide_friends_tab", "hide_create_tab", "hide_inbox_tab", "hide_profile_tab", "hide_shop_tab")
+                        .critical().hooks("View.setVisibility")
+        );
+
+        // Decide from one snapshot which features to load at all; disabled ones are never class loaded
+        var prefsSnapshot = TkkSettings.get().getAll();
+        var specs = new ArrayList<FeatureSpec>();
+        for (var spec : registry) {
+            if (spec.isEnabled(prefsSnapshot)) specs.add(spec);
+        }
+
+        XposedBridge.log("Loading TikTok Plugins (" + specs.size() + " of " + registry.size() + " enabled)");
+
+        // Independent features install in parallel; features sharing a hook target keep their declaration order
+        var scheduler = new FeatureScheduler(specs);
+        var times = new ConcurrentLinkedQueue<String>();
+
+        var all = scheduler.start(spec -> {
+            var timemillis = System.currentTimeMillis();
+            try (var ignored = StartupTrace.begin(spec.getName())) {
+                var classe = spec.loadClass();
+                var constructor = classe.getConstructor(ClassLoader.class, XSharedPreferences.class);
+                var plugin = constructor.newInstance(loader, pref);
+                try (var ignored2 = StartupTrace.begin(spec.getName() + ".doHook")) {
                     plugin.doHook();
-                    XposedBridge.log("✓ Loaded: " + classe.getSimpleName());
-                } catch (Throwable e) {
-                    XposedBridge.log("✗ Failed: " + classe.getSimpleName());
-                    XposedBridge.log(e);
-                    var error = new ErrorItem();
-                    error.setPluginName(classe.getSimpleName());
-                    error.setTiktokVersion(versionTkk);
-                    error.setModuleVersion(BuildConfig.VERSION_NAME);
-                    error.setMessage(e.getMessage());
-                    error.setError(Arrays.toString(Arrays.stream(e.getStackTrace()).filter(s -> !s.getClassName().startsWith("android") && !s.getClassName().startsWith("com.android")).map(StackTraceElement::toString).toArray()));
-                    list.add(error);
                 }
-                var timemillis2 = System.currentTimeMillis() - timemillis;
-                times.add("* Loaded Plugin " + classe.getSimpleName() + " in " + timemillis2 + "ms");
-            }, executorService);
-        }
-        
-        executorService.shutdown();
-        // Wait up to 15 seconds for all plugins to load
-        executorService.awaitTermination(15, TimeUnit.SECONDS);
-        
-        if (DebugFeature.DEBUG) {
-            for (var time : times) {
-                if (time != null)
+                XposedBridge.log("✓ Loaded: " + spec.getName());
+            } catch (Throwable e) {
+                XposedBridge.log("✗ Failed: " + spec.getName());
+                XposedBridge.log(e);
+                var error = new ErrorItem();
+                error.setPluginName(spec.getName());
+                error.setTiktokVersion(versionTkk);
+                error.setModuleVersion(BuildConfig.VERSION_NAME);
+                error.setMessage(e.getMessage());
+                error.setError(Arrays.toString(Arrays.stream(e.getStackTrace()).filter(s -> !s.getClassName().startsWith("android") && !s.getClassName().startsWith("com.android")).map(StackTraceElement::toString).toArray()));
+                list.add(error);
+            }
+            var timemillis2 = System.currentTimeMillis() - timemillis;
+            times.add("* Loaded Plugin " + spec.getName() + " in " + timemillis2 + "ms" + (spec.isCritical() ? " [critical]" : ""));
+        });
+
+        // Non critical features keep loading after TikTok draws its first frame
+        var done = all.whenComplete((v, t) -> {
+            UnobfuscatorCache.getInstance().flush();
+            if (Feature.DEBUG) {
+                for (var time : times) {
                     XposedBridge.log(time);
+                }
             }
+        });
+
+        // Wait up to 15 seconds for the critical plugins to load
+        try (var ignored = StartupTrace.begin("awaitCriticalFeatures")) {
+            scheduler.awaitCritical(15, TimeUnit.SECONDS);
         }
+        return done;
     }
 
     @Getter
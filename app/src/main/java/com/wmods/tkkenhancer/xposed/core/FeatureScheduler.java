@@ -0,0 +1,127 @@
+package com.wmods.tkkenhancer.xposed.core;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import de.robv.android.xposed.XposedBridge;
+
+/**
+ * Installs features on a small bounded pool, ordered by the dependencies and shared hook
+ * targets declared in their {@link FeatureSpec}.
+ */
+public class FeatureScheduler {
+
+    private static final int POOL_SIZE = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+    private static final ThreadPoolExecutor sExecutor;
+
+    static {
+        var count = new AtomicInteger();
+        sExecutor = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            var thread = new Thread(r, "TkkFeature-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // threads are only needed while TikTok starts
+        sExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    private final List<FeatureSpec> mSpecs;
+    private final Map<FeatureSpec, List<FeatureSpec>> mPredecessors = new HashMap<>();
+    private final Map<FeatureSpec, CompletableFuture<Void>> mFutures = new HashMap<>();
+
+    public FeatureScheduler(@NonNull List<FeatureSpec> specs) {
+        mSpecs = specs;
+        var byClass = new HashMap<String, FeatureSpec>();
+        for (var spec : specs) {
+            byClass.put(spec.className, spec);
+        }
+        var lastByTarget = new HashMap<String, FeatureSpec>();
+        for (var spec : specs) {
+            var predecessors = new ArrayList<FeatureSpec>();
+            for (var dependency : spec.dependencies) {
+                // a dependency that is not scheduled (e.g. disabled) does not hold the feature back
+                var dependencySpec = byClass.get(dependency);
+                if (dependencySpec != null) predecessors.add(dependencySpec);
+            }
+            for (var target : spec.hookTargets) {
+                var previous = lastByTarget.put(target, spec);
+                if (previous != null) predecessors.add(previous);
+            }
+            mPredecessors.put(spec, predecessors);
+        }
+    }
+
+    /**
+     * Schedules every feature. The runner is expected to handle its own errors; a failed feature
+     * does not stop the features that come after it.
+     *
+     * @return a future completed once every feature has run
+     */
+    public CompletableFuture<Void> start(@NonNull Consumer<FeatureSpec> runner) {
+        var visiting = new HashSet<FeatureSpec>();
+        for (var spec : mSpecs) {
+            schedule(spec, runner, visiting);
+        }
+        return CompletableFuture.allOf(mFutures.values().toArray(new CompletableFuture[0]));
+    }
+
+    private CompletableFuture<Void> schedule(FeatureSpec spec, Consumer<FeatureSpec> runner, Set<FeatureSpec> visiting) {
+        var future = mFutures.get(spec);
+        if (future != null) return future;
+        if (!visiting.add(spec)) {
+            throw new IllegalStateException("Feature dependency cycle at " + spec.getName());
+        }
+        var predecessors = mPredecessors.get(spec);
+        var before = new CompletableFuture[predecessors.size()];
+        for (int i = 0; i < before.length; i++) {
+            before[i] = schedule(predecessors.get(i), runner, visiting);
+        }
+        future = CompletableFuture.allOf(before)
+                .exceptionally(t -> null)
+                .thenRunAsync(() -> runner.accept(spec), sExecutor);
+        visiting.remove(spec);
+        mFutures.put(spec, future);
+        return future;
+    }
+
+    /**
+     * Blocks until every critical feature (and therefore everything it depends on) has run.
+     *
+     * @return false if the timeout elapsed first
+     */
+    public boolean awaitCritical(long timeout, TimeUnit unit) throws InterruptedException {
+        var critical = new ArrayList<CompletableFuture<Void>>();
+        for (var spec : mSpecs) {
+            if (spec.critical) critical.add(mFutures.get(spec));
+        }
+        try {
+            CompletableFuture.allOf(critical.toArray(new CompletableFuture[0])).get(timeout, unit);
+            return true;
+        } catch (TimeoutException e) {
+            var pending = new ArrayList<String>();
+            for (var spec : mSpecs) {
+                if (spec.critical && !mFutures.get(spec).isDone()) pending.add(spec.getName());
+            }
+            XposedBridge.log("Critical features still loading: " + String.join(", ", pending));
+            return false;
+        } catch (ExecutionException e) {
+            XposedBridge.log(e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.wmods.tkkenhancer.xposed.core;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Scheduling declaration of a {@link Feature} for {@link FeatureScheduler}.
+ * <p>
+ * A feature runs after every feature it {@link #dependsOn depends on}, and after every earlier
+ * declared feature that {@link #hooks hooks} one of the same targets, so callbacks on a shared
+ * method are always installed in declaration order. Everything else installs in parallel.
+ * Only {@link #critical() critical} features block TikTok startup.
+ * <p>
+ * Features are referenced by class name and carry the preference keys that enable them, so a
+ * disabled feature is filtered out from a single preferences snapshot before its class is ever
+ * loaded or instantiated.
+ */
+public class FeatureSpec {
+
+    final String className;
+    final Set<String> dependencies = new LinkedHashSet<>();
+    final Set<String> hookTargets = new LinkedHashSet<>();
+    final Set<String> enableKeys = new LinkedHashSet<>();
+    boolean critical;
+
+    private FeatureSpec(String className) {
+        this.className = className;
+    }
+
+    @NonNull
+    public static FeatureSpec of(@NonNull String className) {
+        return new FeatureSpec(className);
+    }
+
+    /**
+     * The feature is enabled if any of these boolean preferences is true.
+     * A feature without enable keys is always enabled.
+     */
+    public FeatureSpec enabledBy(String... keys) {
+        enableKeys.addAll(Arrays.asList(keys));
+        return this;
+    }
+
+    public boolean isEnabled(@NonNull Map<String, ?> prefs) {
+        if (enableKeys.isEmpty()) return true;
+        for (var key : enableKeys) {
+            if (Boolean.TRUE.equals(prefs.get(key))) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Hooks of this feature must be in place before TikTok finishes {@code Application.onCreate}.
+     */
+    public FeatureSpec critical() {
+        this.critical = true;
+        return this;
+    }
+
+    /**
+     * @param classNames features that must be installed first, if they are enabled
+     */
+    public FeatureSpec dependsOn(String... classNames) {
+        Collections.addAll(dependencies, classNames);
+        return this;
+    }
+
+    /**
+     * @param targets free form names of hooked methods or classes shared with other features
+     */
+    public FeatureSpec hooks(String... targets) {
+        hookTargets.addAll(Arrays.asList(targets));
+        return this;
+    }
+
+    @NonNull
+    public String getName() {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * Loads the feature class; only called for enabled features.
+     */
+    @NonNull
+    public Class<? extends Feature> loadClass() throws ClassNotFoundException {
+        return Class.forName(className, true, FeatureSpec.class.getClassLoader()).asSubclass(Feature.class);
+    }
+
+    public boolean isCritical() {
+        return critical;
+    }
+}
@@ -0,0 +1,129 @@
+package com.wmods.tkkenhancer.xposed.core;
+
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import de.robv.android.xposed.XposedBridge;
+
+/**
+ * Records spans of the hook pipeline while TikTok starts and exports them in the Chrome trace
+ * event format, which can be opened in Perfetto ({@code ui.perfetto.dev}) or {@code chrome://tracing}.
+ * <p>
+ * Spans are complete events per thread, so spans opened inside another span on the same thread
+ * show up nested. Usage:
+ * <pre>
+ * try (var ignored = StartupTrace.begin("UnobfuscatorCache.init")) { ... }
+ * </pre>
+ * When tracing is disabled {@link #begin} returns a shared no-op span and records nothing.
+ */
+public class StartupTrace {
+
+    private static final Span NO_OP = new Span(null, 0);
+
+    private static volatile boolean enabled;
+    private static long originNanos;
+    private static final ConcurrentLinkedQueue<Event> events = new ConcurrentLinkedQueue<>();
+
+    public static void setEnabled(boolean enable) {
+        if (enable && !enabled) originNanos = System.nanoTime();
+        enabled = enable;
+    }
+
+    @NonNull
+    public static Span begin(@NonNull String name) {
+        if (!enabled) return NO_OP;
+        return new Span(name, System.nanoTime());
+    }
+
+    /**
+     * Writes every span recorded so far and stops recording.
+     */
+    public static void write(@NonNull File file) {
+        if (!enabled) return;
+        enabled = false;
+        try {
+            int pid = Process.myPid();
+            var traceEvents = new JSONArray();
+            var threads = new HashMap<Long, String>();
+            for (var event : events) {
+                threads.put(event.tid, event.threadName);
+                traceEvents.put(new JSONObject()
+                        .put("name", event.name)
+                        .put("cat", "tkk")
+                        .put("ph", "X")
+                        .put("ts", (event.startNanos - originNanos) / 1000)
+                        .put("dur", Math.max(1, (event.endNanos - event.startNanos) / 1000))
+                        .put("pid", pid)
+                        .put("tid", event.tid));
+            }
+            for (var thread : threads.entrySet()) {
+                traceEvents.put(new JSONObject()
+                        .put("name", "thread_name")
+                        .put("ph", "M")
+                        .put("pid", pid)
+                        .put("tid", thread.getKey())
+                        .put("args", new JSONObject().put("name", thread.getValue())));
+            }
+            var trace = new JSONObject()
+                    .put("traceEvents", traceEvents)
+                    .put("displayTimeUnit", "ms");
+            try (var out = new FileOutputStream(file)) {
+                out.write(trace.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            XposedBridge.log("Startup trace with " + events.size() + " spans written to " + file.getAbsolutePath());
+        } catch (JSONException | IOException e) {
+            XposedBridge.log(e);
+        } finally {
+            events.clear();
+        }
+    }
+
+    public static class Span implements AutoCloseable {
+        private final String name;
+        private final long startNanos;
+
+        private Span(String name, long startNanos) {
+            this.name = name;
+            this.startNanos = startNanos;
+        }
+
+        public void end() {
+            if (name == null || !enabled) return;
+            var thread = Thread.currentThread();
+            events.add(new Event(name, startNanos, System.nanoTime(), thread.getId(), thread.getName()));
+        }
+
+        @Override
+        public void close() {
+            end();
+        }
+    }
+
+    private static class Event {
+        private final String name;
+        private final long startNanos;
+        private final long endNanos;
+        private final long tid;
+        private final String threadName;
+
+        private Event(String name, long startNanos, long endNanos, long tid, String threadName) {
+            this.name = name;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+            this.tid = tid;
+            this.threadName = threadName;
+        }
+    }
+}
@@ -94,7 +94,7 @@ public class TkkCore {
 
         // Initialize bridge if not in lite mode
         if (!pref.getBoolean("lite_mode", false)) {
-            try {
+            try (var ignored = StartupTrace.begin("TkkCore.initBridge")) {
                 initBridge(Utils.getApplication());
             } catch (Exception e) {
                 XposedBridge.log("Failed to init bridge: " + e.getMessage());
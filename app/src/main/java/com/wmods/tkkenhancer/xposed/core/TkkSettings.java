@@ -0,0 +1,82 @@
+package com.wmods.tkkenhancer.xposed.core;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import de.robv.android.xposed.XSharedPreferences;
+
+/**
+ * Immutable snapshot of the module preferences for hook callbacks.
+ * <p>
+ * {@link XSharedPreferences} getters take a lock and do a map lookup per call, which adds up in
+ * hooks that run for every feed item or video. Settings read by such hooks are parsed once into
+ * final fields here; the snapshot is published through a volatile reference and only rebuilt
+ * when the preferences file changes, so a callback reads {@code TkkSettings.get().field}.
+ */
+public final class TkkSettings {
+
+    private static final int DEFAULT_TARGET_BITRATE = 5000000;
+
+    private static volatile TkkSettings current = new TkkSettings(Collections.emptyMap());
+
+    public final boolean hideLiveStreams;
+    public final boolean hideImageReels;
+    public final boolean videoMaxFps;
+    public final int targetBitrate;
+
+    private final Map<String, ?> mValues;
+
+    private TkkSettings(Map<String, ?> values) {
+        mValues = values;
+        hideLiveStreams = getBoolean("hide_live_streams", false);
+        hideImageReels = getBoolean("hide_image_reels", false);
+        videoMaxFps = getBoolean("video_maxfps", false);
+        int bitrate;
+        try {
+            // ListPreference stores values as String
+            bitrate = Integer.parseInt(getString("target_bitrate", String.valueOf(DEFAULT_TARGET_BITRATE)));
+        } catch (NumberFormatException e) {
+            bitrate = DEFAULT_TARGET_BITRATE;
+        }
+        targetBitrate = bitrate;
+    }
+
+    @NonNull
+    public static TkkSettings get() {
+        return current;
+    }
+
+    /**
+     * Rebuilds the snapshot from the preferences file.
+     */
+    public static void update(@NonNull XSharedPreferences pref) {
+        current = new TkkSettings(Collections.unmodifiableMap(new HashMap<>(pref.getAll())));
+    }
+
+    /**
+     * Reloads and rebuilds only if the preferences file changed since the last load.
+     */
+    public static void updateIfChanged(@NonNull XSharedPreferences pref) {
+        if (!pref.hasFileChanged()) return;
+        pref.reload();
+        update(pref);
+    }
+
+    @NonNull
+    public Map<String, ?> getAll() {
+        return mValues;
+    }
+
+    public boolean getBoolean(String key, boolean defValue) {
+        return mValues.get(key) instanceof Boolean value ? value : defValue;
+    }
+
+    @Nullable
+    public String getString(String key, @Nullable String defValue) {
+        return mValues.get(key) instanceof String value ? value : defValue;
+    }
+}
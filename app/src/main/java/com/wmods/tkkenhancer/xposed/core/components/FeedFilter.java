@@ -0,0 +1,138 @@
+package com.wmods.tkkenhancer.xposed.core.components;
+
+import androidx.annotation.NonNull;
+
+import com.wmods.tkkenhancer.xposed.core.TkkSettings;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.robv.android.xposed.XC_MethodHook;
+import de.robv.android.xposed.XposedBridge;
+import de.robv.android.xposed.XposedHelpers;
+
+/**
+ * Owns the {@code FeedItemList.getItems} hook and removes feed items in a single pass.
+ * <p>
+ * Features {@link #addPredicate add} a named predicate made of boolean no-arg methods of the feed
+ * item; an item is dropped by the first enabled predicate with a method returning true. Whether a
+ * predicate is enabled is read from the {@link TkkSettings} snapshot on every pass, so turning a
+ * filter off applies without a restart. Methods are
+ * resolved once per item class and called through {@link XposedBridge#invokeOriginalMethod}, so
+ * features that also hook e.g. {@code isLive()} to return false do not blind the filter.
+ */
+public class FeedFilter {
+
+    private static final String FEED_ITEM_LIST_CLASS = "com.ss.android.ugc.aweme.feed.model.FeedItemList";
+
+    private static final ArrayList<Predicate> predicates = new ArrayList<>();
+    private static volatile Predicate[] compiled = new Predicate[0];
+    private static final ConcurrentHashMap<Class<?>, Method[][]> resolved = new ConcurrentHashMap<>();
+    private static boolean hooked;
+
+    /**
+     * @param name        shown in {@link #getStats()}
+     * @param enableKey   boolean preference that turns the predicate on
+     * @param methodNames boolean no-arg methods of the feed item, any of them returning true drops it
+     */
+    public static synchronized void addPredicate(@NonNull ClassLoader classLoader, @NonNull String name, @NonNull String enableKey, @NonNull String... methodNames) {
+        if (!hooked) {
+            var feedItemListClass = XposedHelpers.findClass(FEED_ITEM_LIST_CLASS, classLoader);
+            XposedHelpers.findAndHookMethod(feedItemListClass, "getItems", new XC_MethodHook() {
+                @Override
+                protected void afterHookedMethod(MethodHookParam param) throws Throwable {
+                    if (param.getResult() instanceof List<?> items) filter(items);
+                }
+            });
+            hooked = true;
+        }
+        predicates.add(new Predicate(name, enableKey, methodNames));
+        compiled = predicates.toArray(new Predicate[0]);
+        // method tables resolved so far have no column for the new predicate
+        resolved.clear();
+    }
+
+    private static void filter(List<?> items) {
+        var active = compiled;
+        var settings = TkkSettings.get();
+        var enabled = new boolean[active.length];
+        boolean any = false;
+        for (int p = 0; p < active.length; p++) {
+            enabled[p] = settings.getBoolean(active[p].enableKey, false);
+            any |= enabled[p];
+        }
+        if (!any) return;
+        var iterator = items.iterator();
+        while (iterator.hasNext()) {
+            var item = iterator.next();
+            if (item == null) continue;
+            var methods = resolved.computeIfAbsent(item.getClass(), cls -> resolve(cls, active));
+            if (methods.length != active.length) {
+                // resolved before a predicate was added
+                methods = resolve(item.getClass(), active);
+                resolved.put(item.getClass(), methods);
+            }
+            for (int p = 0; p < active.length; p++) {
+                if (enabled[p] && matches(methods[p], item)) {
+                    iterator.remove();
+                    active[p].dropped.incrementAndGet();
+                    break;
+                }
+            }
+        }
+    }
+
+    private static boolean matches(Method[] methods, Object item) {
+        for (var method : methods) {
+            try {
+                if (Boolean.TRUE.equals(XposedBridge.invokeOriginalMethod(method, item, null))) return true;
+            } catch (Throwable ignored) {
+            }
+        }
+        return false;
+    }
+
+    private static Method[][] resolve(Class<?> cls, Predicate[] active) {
+        var methods = new Method[active.length][];
+        for (int p = 0; p < active.length; p++) {
+            var found = new ArrayList<Method>();
+            for (var methodName : active[p].methodNames) {
+                try {
+                    var method = cls.getMethod(methodName);
+                    if (method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class) {
+                        found.add(method);
+                    }
+                } catch (NoSuchMethodException ignored) {
+                    // this item type has no such flag, it never matches
+                }
+            }
+            methods[p] = found.toArray(new Method[0]);
+        }
+        return methods;
+    }
+
+    @NonNull
+    public static String getStats() {
+        var sb = new StringBuilder("FeedFilter dropped:");
+        for (var predicate : compiled) {
+            sb.append(' ').append(predicate.name).append('=').append(predicate.dropped.get());
+        }
+        return sb.toString();
+    }
+
+    private static class Predicate {
+        private final String name;
+        private final String enableKey;
+        private final String[] methodNames;
+        private final AtomicLong dropped = new AtomicLong();
+
+        private Predicate(String name, String enableKey, String[] methodNames) {
+            this.name = name;
+            this.enableKey = enableKey;
+            this.methodNames = methodNames;
+        }
+    }
+}
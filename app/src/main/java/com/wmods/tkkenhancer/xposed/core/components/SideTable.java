@@ -0,0 +1,161 @@
+package com.wmods.tkkenhancer.xposed.core.components;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Module-owned metadata attached to TikTok objects, replacing
+ * {@code XposedHelpers.setAdditionalInstanceField}.
+ * <p>
+ * Objects are weak, identity-compared keys spread over independently locked stripes, so hooks on
+ * different threads rarely contend and nothing is shared with other modules. Values live in typed
+ * {@link Slot}s instead of a per-object string map. Each stripe keeps at most
+ * {@link #MAX_ENTRIES_PER_STRIPE} objects and drops the least recently used one beyond that.
+ */
+public class SideTable {
+
+    private static final int STRIPES = 16;
+    private static final int MAX_ENTRIES_PER_STRIPE = 256;
+
+    private static final Stripe[] stripes = new Stripe[STRIPES];
+    private static final AtomicInteger slotCount = new AtomicInteger();
+    private static final AtomicLong evicted = new AtomicLong();
+    private static final AtomicLong collected = new AtomicLong();
+
+    static {
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe();
+    }
+
+    /**
+     * Declares a slot; keep the result in a static final field.
+     */
+    @NonNull
+    public static <T> Slot<T> newSlot(@NonNull String name, @NonNull Class<T> type) {
+        return new Slot<>(name, type, slotCount.getAndIncrement());
+    }
+
+    public static <T> void set(@NonNull Object owner, @NonNull Slot<T> slot, @Nullable T value) {
+        stripeOf(owner).set(owner, slot.index, slot.type.cast(value));
+    }
+
+    @Nullable
+    public static <T> T get(@NonNull Object owner, @NonNull Slot<T> slot) {
+        return slot.type.cast(stripeOf(owner).get(owner, slot.index));
+    }
+
+    public static void remove(@NonNull Object owner, @NonNull Slot<?> slot) {
+        stripeOf(owner).set(owner, slot.index, null);
+    }
+
+    @NonNull
+    public static String getStats() {
+        int size = 0;
+        for (var stripe : stripes) size += stripe.size();
+        return "SideTable objects=" + size + " slots=" + slotCount.get()
+                + " evicted=" + evicted.get() + " collected=" + collected.get();
+    }
+
+    private static Stripe stripeOf(Object owner) {
+        int h = System.identityHashCode(owner);
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    public static class Slot<T> {
+        private final String name;
+        private final Class<T> type;
+        private final int index;
+
+        private Slot(String name, Class<T> type, int index) {
+            this.name = name;
+            this.type = type;
+            this.index = index;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private static class Stripe {
+        private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+        private final LinkedHashMap<Key, Object[]> entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object[]> eldest) {
+                if (size() <= MAX_ENTRIES_PER_STRIPE) return false;
+                evicted.incrementAndGet();
+                return true;
+            }
+        };
+
+        synchronized void set(Object owner, int index, Object value) {
+            expunge();
+            var lookup = new Key(owner, null);
+            var values = entries.get(lookup);
+            if (values == null) {
+                if (value == null) return;
+                values = new Object[Math.max(index + 1, slotCount.get())];
+                entries.put(new Key(owner, queue), values);
+            } else if (index >= values.length) {
+                if (value == null) return;
+                var grown = new Object[Math.max(index + 1, slotCount.get())];
+                System.arraycopy(values, 0, grown, 0, values.length);
+                values = grown;
+                // the map keeps its existing queued key
+                entries.put(lookup, values);
+            }
+            values[index] = value;
+        }
+
+        synchronized Object get(Object owner, int index) {
+            expunge();
+            var values = entries.get(new Key(owner, null));
+            return values == null || index >= values.length ? null : values[index];
+        }
+
+        synchronized int size() {
+            expunge();
+            return entries.size();
+        }
+
+        private void expunge() {
+            Object ref;
+            while ((ref = queue.poll()) != null) {
+                if (entries.remove(ref) != null) collected.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Weak identity key. Lookup keys are created without a queue and only live for the call.
+     */
+    private static class Key extends WeakReference<Object> {
+        private final int hash;
+
+        private Key(Object referent, ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other) || other.hash != hash) return false;
+            var referent = get();
+            return referent != null && referent == other.get();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.wmods.tkkenhancer.xposed.core.components;
+
+import android.view.View;
+import android.widget.ImageView;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Locale;
+
+import de.robv.android.xposed.XC_MethodHook;
+import de.robv.android.xposed.XposedBridge;
+import de.robv.android.xposed.XposedHelpers;
+
+/**
+ * Owns the global {@code View.setVisibility(int)} and {@code ImageView.setImageResource(int)} hooks
+ * shared by the features that hide views.
+ * <p>
+ * Features {@link #register} the resource entry name keywords of the views they hide. The first
+ * time a view id passes through a hook its entry name is matched against every target once, and
+ * the verdict is stored as a bitmask in an int keyed table. Every later call with that id, and
+ * every call on a view without an id, returns after one integer lookup without allocating.
+ */
+public class ViewHookDispatcher {
+
+    private static final int RESOLVED = 1 << 31;
+    private static final int MAX_TARGETS = 31;
+
+    private static final ArrayList<String[]> targets = new ArrayList<>();
+    private static volatile int visibilityMask;
+    private static volatile int imageMask;
+    private static volatile IdTable ids = new IdTable(256);
+    private static boolean visibilityHooked;
+    private static boolean imageHooked;
+
+    /**
+     * Hides views whose resource entry name contains any of the keywords.
+     *
+     * @param owner       feature name, only used for logging
+     * @param blockImages also drop {@code ImageView.setImageResource} on matching views
+     * @param keywords    lower case substrings of the resource entry name
+     */
+    public static synchronized void register(@NonNull String owner, boolean blockImages, @NonNull String... keywords) {
+        if (keywords.length == 0) return;
+        if (targets.size() == MAX_TARGETS) {
+            XposedBridge.log("ViewHookDispatcher: too many targets, ignoring " + owner);
+            return;
+        }
+        int bit = 1 << targets.size();
+        targets.add(keywords);
+        // verdicts cached so far do not know about the new target
+        ids = new IdTable(256);
+        visibilityMask |= bit;
+        if (!visibilityHooked) {
+            hookSetVisibility();
+            visibilityHooked = true;
+        }
+        if (blockImages) {
+            imageMask |= bit;
+            if (!imageHooked) {
+                hookSetImageResource();
+                imageHooked = true;
+            }
+        }
+    }
+
+    /**
+     * @return true if a registered target hides this view
+     */
+    public static boolean isTarget(View view) {
+        return (lookup(view) & visibilityMask) != 0;
+    }
+
+    private static void hookSetVisibility() {
+        XposedHelpers.findAndHookMethod(View.class, "setVisibility", int.class, new XC_MethodHook() {
+            @Override
+            protected void beforeHookedMethod(MethodHookParam param) throws Throwable {
+                if ((lookup((View) param.thisObject) & visibilityMask) == 0) return;
+                if ((int) param.args[0] != View.GONE) param.args[0] = View.GONE;
+            }
+        });
+    }
+
+    private static void hookSetImageResource() {
+        XposedHelpers.findAndHookMethod(ImageView.class, "setImageResource", int.class, new XC_MethodHook() {
+            @Override
+            protected void beforeHookedMethod(MethodHookParam param) throws Throwable {
+                var view = (ImageView) param.thisObject;
+                if ((lookup(view) & imageMask) == 0) return;
+                view.setVisibility(View.GONE);
+                param.setResult(null);
+            }
+        });
+    }
+
+    private static int lookup(View view) {
+        int id = view.getId();
+        if (id == View.NO_ID) return 0;
+        var table = ids;
+        int mask = table.get(id);
+        if (mask != 0) return mask;
+        mask = resolve(view, id);
+        table.put(id, mask);
+        return mask;
+    }
+
+    private static int resolve(View view, int id) {
+        String name;
+        try {
+            name = view.getResources().getResourceEntryName(id).toLowerCase(Locale.ROOT);
+        } catch (Exception e) {
+            // runtime generated id without an entry name
+            return RESOLVED;
+        }
+        int mask = RESOLVED;
+        synchronized (ViewHookDispatcher.class) {
+            for (int i = 0; i < targets.size(); i++) {
+                for (var keyword : targets.get(i)) {
+                    if (name.contains(keyword)) {
+                        mask |= 1 << i;
+                        break;
+                    }
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Open addressing int to int map; 0 is never stored as a value so it doubles as "absent".
+     * Readers never lock; writers lock and publish a grown copy.
+     */
+    private static class IdTable {
+        private volatile int[] keys;
+        private volatile int[] values;
+        private int size;
+
+        private IdTable(int capacity) {
+            keys = new int[capacity];
+            values = new int[capacity];
+        }
+
+        int get(int id) {
+            var k = keys;
+            var v = values;
+            if (k.length != v.length) return 0;
+            int mask = k.length - 1;
+            for (int i = mix(id) & mask; ; i = (i + 1) & mask) {
+                int value = v[i];
+                if (value == 0) return 0;
+                if (k[i] == id) return value;
+            }
+        }
+
+        synchronized void put(int id, int value) {
+            if ((size + 1) * 2 > keys.length) grow();
+            if (insert(keys, values, id, value)) size++;
+        }
+
+        private void grow() {
+            var newKeys = new int[keys.length * 2];
+            var newValues = new int[keys.length * 2];
+            for (int i = 0; i < keys.length; i++) {
+                if (values[i] != 0) insert(newKeys, newValues, keys[i], values[i]);
+            }
+            // publish keys first; readers skip lookups while the pair is mismatched
+            keys = newKeys;
+            values = newValues;
+        }
+
+        private static boolean insert(int[] k, int[] v, int id, int value) {
+            int mask = k.length - 1;
+            for (int i = mix(id) & mask; ; i = (i + 1) & mask) {
+                if (v[i] == 0) {
+                    k[i] = id;
+                    v[i] = value;
+                    return true;
+                }
+                if (k[i] == id) {
+                    v[i] = value;
+                    return false;
+                }
+            }
+        }
+
+        private static int mix(int id) {
+            int h = id * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
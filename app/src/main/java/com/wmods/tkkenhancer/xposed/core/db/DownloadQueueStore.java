@@ -0,0 +1,182 @@
+package com.wmods.tkkenhancer.xposed.core.db;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import androidx.annotation.NonNull;
+
+import com.wmods.tkkenhancer.xposed.utils.Utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Persistent queue of module downloads, so queued and interrupted jobs survive a TikTok restart,
+ * and the index of saved files used to skip downloads that are already on disk.
+ */
+public class DownloadQueueStore extends SQLiteOpenHelper {
+    private static DownloadQueueStore mInstance;
+    private SQLiteDatabase dbWrite;
+
+    public static final int STATUS_PENDING = 0;
+    public static final int STATUS_RUNNING = 1;
+    public static final int STATUS_DONE = 2;
+    public static final int STATUS_FAILED = 3;
+
+    private DownloadQueueStore(@NonNull Context context) {
+        super(context, "downloads.db", null, 1);
+    }
+
+    public static DownloadQueueStore getInstance() {
+        synchronized (DownloadQueueStore.class) {
+            if (mInstance == null || !mInstance.getReadableDatabase().isOpen()) {
+                mInstance = new DownloadQueueStore(Utils.getApplication());
+                mInstance.dbWrite = mInstance.getWritableDatabase();
+            }
+        }
+        return mInstance;
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase sqLiteDatabase) {
+        sqLiteDatabase.execSQL("CREATE TABLE IF NOT EXISTS jobs (_id INTEGER PRIMARY KEY AUTOINCREMENT, aweme_id TEXT, urls TEXT NOT NULL, host TEXT, file_name TEXT NOT NULL, priority INTEGER DEFAULT 0, status INTEGER DEFAULT 0, attempts INTEGER DEFAULT 0, next_attempt INTEGER DEFAULT 0, last_error TEXT, created INTEGER DEFAULT 0)");
+        sqLiteDatabase.execSQL("CREATE INDEX IF NOT EXISTS jobs_runnable ON jobs (status, next_attempt)");
+        // at most one queued or running job per aweme, whatever thread inserts it
+        sqLiteDatabase.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS jobs_active ON jobs (aweme_id) WHERE status IN (" + STATUS_PENDING + "," + STATUS_RUNNING + ")");
+        // keyed by aweme id without a rowid, the content hash is a 32 byte SHA-256 blob
+        sqLiteDatabase.execSQL("CREATE TABLE IF NOT EXISTS saved (aweme_id TEXT PRIMARY KEY, hash BLOB NOT NULL, size INTEGER NOT NULL, path TEXT NOT NULL) WITHOUT ROWID");
+        sqLiteDatabase.execSQL("CREATE INDEX IF NOT EXISTS saved_hash ON saved (hash)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase sqLiteDatabase, int oldVersion, int newVersion) {
+    }
+
+    /**
+     * @return the id of the new job, or -1 if the aweme already has a job that is queued, running or retrying
+     */
+    public synchronized long insertJob(String awemeId, List<String> urls, String host, String fileName, int priority) {
+        ContentValues values = new ContentValues();
+        values.put("aweme_id", awemeId);
+        values.put("urls", String.join("\n", urls));
+        values.put("host", host);
+        values.put("file_name", fileName);
+        values.put("priority", priority);
+        values.put("status", STATUS_PENDING);
+        values.put("created", System.currentTimeMillis());
+        return dbWrite.insertWithOnConflict("jobs", null, values, SQLiteDatabase.CONFLICT_IGNORE);
+    }
+
+    /**
+     * Pending jobs whose backoff has expired, highest priority first, then oldest first.
+     */
+    public synchronized List<Job> getRunnableJobs(long now, int limit) {
+        var jobs = new ArrayList<Job>();
+        try (Cursor query = dbWrite.query("jobs", null, "status=? AND next_attempt<=?", new String[]{String.valueOf(STATUS_PENDING), String.valueOf(now)}, null, null, "priority DESC, _id ASC", String.valueOf(limit))) {
+            while (query.moveToNext()) {
+                jobs.add(new Job(
+                        query.getLong(query.getColumnIndexOrThrow("_id")),
+                        query.getString(query.getColumnIndexOrThrow("aweme_id")),
+                        Arrays.asList(query.getString(query.getColumnIndexOrThrow("urls")).split("\n")),
+                        query.getString(query.getColumnIndexOrThrow("host")),
+                        query.getString(query.getColumnIndexOrThrow("file_name")),
+                        query.getInt(query.getColumnIndexOrThrow("attempts"))));
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * @return the earliest time after {@code now} a pending job in backoff becomes runnable, or -1 if there is none
+     */
+    public synchronized long getNextAttemptTime(long now) {
+        try (Cursor query = dbWrite.rawQuery("SELECT MIN(next_attempt) FROM jobs WHERE status=? AND next_attempt>?", new String[]{String.valueOf(STATUS_PENDING), String.valueOf(now)})) {
+            return query.moveToFirst() && !query.isNull(0) ? query.getLong(0) : -1;
+        }
+    }
+
+    public synchronized void setStatus(long id, int status, String error) {
+        ContentValues values = new ContentValues();
+        values.put("status", status);
+        values.put("last_error", error);
+        dbWrite.update("jobs", values, "_id=?", new String[]{String.valueOf(id)});
+    }
+
+    public synchronized void reschedule(long id, int attempts, long nextAttempt, String error) {
+        ContentValues values = new ContentValues();
+        values.put("status", STATUS_PENDING);
+        values.put("attempts", attempts);
+        values.put("next_attempt", nextAttempt);
+        values.put("last_error", error);
+        dbWrite.update("jobs", values, "_id=?", new String[]{String.valueOf(id)});
+    }
+
+    /**
+     * Jobs left running by a killed process go back to the queue; finished jobs are dropped.
+     */
+    public synchronized void recover() {
+        ContentValues values = new ContentValues();
+        values.put("status", STATUS_PENDING);
+        dbWrite.update("jobs", values, "status=?", new String[]{String.valueOf(STATUS_RUNNING)});
+        dbWrite.delete("jobs", "status=?", new String[]{String.valueOf(STATUS_DONE)});
+    }
+
+    /**
+     * @return the file the aweme was saved to, or null if it was never saved
+     */
+    public synchronized String getSavedPath(String awemeId) {
+        try (Cursor query = dbWrite.query("saved", new String[]{"path"}, "aweme_id=?", new String[]{awemeId}, null, null, null)) {
+            return query.moveToFirst() ? query.getString(0) : null;
+        }
+    }
+
+    /**
+     * @return a saved file with the same content, or null if there is none
+     */
+    public synchronized String findSavedPath(byte[] hash, long size) {
+        // selection arguments bind as text, so the blob goes in as a hex literal
+        var literal = new StringBuilder(hash.length * 2);
+        for (byte b : hash) literal.append(String.format("%02x", b));
+        try (Cursor query = dbWrite.rawQuery("SELECT path FROM saved WHERE hash=X'" + literal + "' AND size=" + size + " LIMIT 1", null)) {
+            return query.moveToFirst() ? query.getString(0) : null;
+        }
+    }
+
+    public synchronized void putSaved(String awemeId, byte[] hash, long size, String path) {
+        ContentValues values = new ContentValues();
+        values.put("aweme_id", awemeId);
+        values.put("hash", hash);
+        values.put("size", size);
+        values.put("path", path);
+        dbWrite.insertWithOnConflict("saved", null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    /**
+     * Forgets a file that no longer exists, for every aweme that pointed to it.
+     */
+    public synchronized void removeSaved(String path) {
+        dbWrite.delete("saved", "path=?", new String[]{path});
+    }
+
+    public static class Job {
+        public final long id;
+        public final String awemeId;
+        public final List<String> urls;
+        public final String host;
+        public final String fileName;
+        public final int attempts;
+
+        public Job(long id, String awemeId, List<String> urls, String host, String fileName, int attempts) {
+            this.id = id;
+            this.awemeId = awemeId;
+            this.urls = urls;
+            this.host = host;
+            this.fileName = fileName;
+            this.attempts = attempts;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.wmods.tkkenhancer.xposed.core.devkit;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+import de.robv.android.xposed.XposedBridge;
+
+/**
+ * Versioned, checksummed key/value file used by {@link UnobfuscatorCache}.
+ * <p>
+ * Layout: magic, format version, interned string table (every distinct key and value once),
+ * entry table of (key index, value index) pairs, and a CRC32 of everything before it.
+ * The file is memory-mapped and decoded in one pass on load; {@link #save()} writes a
+ * temporary file and atomically renames it over the old one, so readers never see a partial file.
+ * <p>
+ * Changes are write-behind: {@link #put}, {@link #remove} and {@link #clear} only update memory and
+ * queue a checksummed record that a dedicated writer thread appends to a journal next to the file.
+ * On load the journal is replayed over the snapshot up to the first torn record, which is then cut
+ * off, so a killed process keeps everything it managed to journal. {@link #save()} folds the journal into a new snapshot.
+ */
+public class BinaryCacheFile {
+
+    private static final int MAGIC = 0x544B4843; // "TKHC"
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int RECORD_PUT = 1;
+    private static final int RECORD_REMOVE = 2;
+    private static final int RECORD_CLEAR = 3;
+
+    private static final ExecutorService sWriter = Executors.newSingleThreadExecutor(r -> {
+        var thread = new Thread(r, "UnobfuscatorCacheWriter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final File mFile;
+    private final File mJournal;
+    private final ConcurrentHashMap<String, String> mEntries = new ConcurrentHashMap<>();
+    private volatile boolean mDirty;
+
+    private final Object mPendingLock = new Object();
+    private ByteArrayOutputStream mPending = new ByteArrayOutputStream();
+    private boolean mDrainScheduled;
+
+    private BinaryCacheFile(File file) {
+        mFile = file;
+        mJournal = new File(file.getPath() + ".journal");
+    }
+
+    @NonNull
+    public static BinaryCacheFile load(File file) {
+        var cacheFile = new BinaryCacheFile(file);
+        if (file.exists()) {
+            try (var raf = new RandomAccessFile(file, "r"); var channel = raf.getChannel()) {
+                var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                cacheFile.read(buffer);
+            } catch (Exception e) {
+                XposedBridge.log("Discarding unreadable cache " + file.getName() + ": " + e.getMessage());
+                cacheFile.mEntries.clear();
+                cacheFile.mDirty = true;
+            }
+        }
+        if (cacheFile.mJournal.exists()) {
+            cacheFile.replayJournal();
+        }
+        return cacheFile;
+    }
+
+    private void replayJournal() {
+        int replayed = 0;
+        long good = 0;
+        long length = mJournal.length();
+        try {
+            var buffer = ByteBuffer.wrap(Files.readAllBytes(mJournal.toPath()));
+            while (buffer.hasRemaining()) {
+                int type = buffer.getInt();
+                var key = readString(buffer);
+                var value = readString(buffer);
+                long checksum = buffer.getLong();
+                if (checksum != recordChecksum(type, key, value)) break;
+                switch (type) {
+                    case RECORD_PUT -> mEntries.put(key, value);
+                    case RECORD_REMOVE -> mEntries.remove(key);
+                    case RECORD_CLEAR -> mEntries.clear();
+                    default -> throw new IOException("unknown record " + type);
+                }
+                replayed++;
+                good = buffer.position();
+            }
+        } catch (Exception ignored) {
+            // torn tail from a killed process, keep what was replayed so far
+        }
+        if (replayed > 0) mDirty = true;
+        if (good < length) {
+            // cut the torn tail off, or records appended after it would be lost on the next replay
+            try (var raf = new RandomAccessFile(mJournal, "rw")) {
+                raf.setLength(good);
+            } catch (IOException e) {
+                XposedBridge.log(e);
+                mJournal.delete();
+            }
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) throws IOException {
+        var bytes = new byte[checkCount(buffer.getInt(), buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void read(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < 16) throw new IOException("truncated");
+        var crc = new CRC32();
+        var body = buffer.duplicate();
+        body.limit(buffer.limit() - 8);
+        crc.update(body);
+        if (crc.getValue() != buffer.getLong(buffer.limit() - 8)) throw new IOException("checksum mismatch");
+
+        if (buffer.getInt() != MAGIC) throw new IOException("bad magic");
+        if (buffer.getInt() != FORMAT_VERSION) throw new IOException("unsupported format");
+        var strings = new String[checkCount(buffer.getInt(), buffer)];
+        for (int i = 0; i < strings.length; i++) {
+            var bytes = new byte[checkCount(buffer.getInt(), buffer)];
+            buffer.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        int entries = checkCount(buffer.getInt(), buffer);
+        for (int i = 0; i < entries; i++) {
+            mEntries.put(strings[buffer.getInt()], strings[buffer.getInt()]);
+        }
+    }
+
+    private static int checkCount(int count, ByteBuffer buffer) throws IOException {
+        if (count < 0 || count > buffer.remaining()) throw new IOException("corrupt length");
+        return count;
+    }
+
+    @Nullable
+    public String get(String key) {
+        return mEntries.get(key);
+    }
+
+    public long getLong(String key, long defValue) {
+        var value = mEntries.get(key);
+        if (value == null) return defValue;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return defValue;
+        }
+    }
+
+    public boolean contains(String key) {
+        return mEntries.containsKey(key);
+    }
+
+    public void put(String key, String value) {
+        if (value.equals(mEntries.put(key, value))) return;
+        mDirty = true;
+        journal(RECORD_PUT, key, value);
+    }
+
+    public void remove(String key) {
+        if (mEntries.remove(key) == null) return;
+        mDirty = true;
+        journal(RECORD_REMOVE, key, "");
+    }
+
+    public void clear() {
+        mEntries.clear();
+        mDirty = true;
+        journal(RECORD_CLEAR, "", "");
+    }
+
+    public Map<String, String> snapshot() {
+        return new HashMap<>(mEntries);
+    }
+
+    public boolean isDirty() {
+        return mDirty;
+    }
+
+    /**
+     * Folds the journal into a new snapshot on the writer thread, if anything changed
+     * since the last load or save.
+     */
+    public void save() {
+        sWriter.execute(() -> {
+            drainJournal();
+            if (!mDirty) return;
+            mDirty = false;
+            try {
+                write(snapshot());
+                // everything journaled so far is in the snapshot; later records are still pending
+                mJournal.delete();
+            } catch (IOException e) {
+                mDirty = true;
+                XposedBridge.log(e);
+            }
+        });
+    }
+
+    private void journal(int type, String key, String value) {
+        // length-prefixed UTF-8 like the snapshot, so values of any size are journaled
+        var keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        var valueBytes = value.getBytes(StandardCharsets.UTF_8);
+        var record = ByteBuffer.allocate(4 + 4 + keyBytes.length + 4 + valueBytes.length + 8);
+        record.putInt(type);
+        record.putInt(keyBytes.length).put(keyBytes);
+        record.putInt(valueBytes.length).put(valueBytes);
+        record.putLong(recordChecksum(type, key, value));
+        synchronized (mPendingLock) {
+            mPending.write(record.array(), 0, record.capacity());
+            if (mDrainScheduled) return;
+            mDrainScheduled = true;
+        }
+        sWriter.execute(this::drainJournal);
+    }
+
+    private void drainJournal() {
+        byte[] records;
+        synchronized (mPendingLock) {
+            mDrainScheduled = false;
+            if (mPending.size() == 0) return;
+            records = mPending.toByteArray();
+            mPending = new ByteArrayOutputStream();
+        }
+        var parent = mJournal.getParentFile();
+        if (parent != null && !parent.exists()) parent.mkdirs();
+        try (var fos = new FileOutputStream(mJournal, true)) {
+            fos.write(records);
+            fos.getFD().sync();
+        } catch (IOException e) {
+            XposedBridge.log(e);
+        }
+    }
+
+    private static long recordChecksum(int type, String key, String value) {
+        var crc = new CRC32();
+        crc.update(type);
+        crc.update(key.getBytes(StandardCharsets.UTF_8));
+        crc.update(0);
+        crc.update(value.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    private void write(Map<String, String> entries) throws IOException {
+        var table = new LinkedHashMap<String, Integer>();
+        for (var entry : entries.entrySet()) {
+            table.putIfAbsent(entry.getKey(), table.size());
+            table.putIfAbsent(entry.getValue(), table.size());
+        }
+        var bytes = new ByteArrayOutputStream();
+        var out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(table.size());
+        for (var string : table.keySet()) {
+            var data = string.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(data.length);
+            out.write(data);
+        }
+        out.writeInt(entries.size());
+        for (var entry : entries.entrySet()) {
+            out.writeInt(table.get(entry.getKey()));
+            out.writeInt(table.get(entry.getValue()));
+        }
+        var crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeLong(crc.getValue());
+        out.flush();
+
+        var parent = mFile.getParentFile();
+        if (parent != null && !parent.exists()) parent.mkdirs();
+        var tmp = new File(mFile.getPath() + ".tmp");
+        try (var fos = new FileOutputStream(tmp)) {
+            bytes.writeTo(fos);
+            fos.getFD().sync();
+        }
+        Files.move(tmp.toPath(), mFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,242 @@
+package com.wmods.tkkenhancer.xposed.core.devkit;
+
+import android.content.pm.ApplicationInfo;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.luckypray.dexkit.DexKitBridge;
+import org.luckypray.dexkit.query.FindClass;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipFile;
+
+import de.robv.android.xposed.XposedHelpers;
+
+/**
+ * Set of the class names defined in the TikTok base and split APKs, so features can probe candidate
+ * names without letting {@link XposedHelpers#findClass} throw (and fill a stack trace) for every miss.
+ * <p>
+ * Names are stored as sorted 64-bit hashes: the file stays a few MB for hundreds of thousands of
+ * classes and is searched in place through the memory mapping instead of being decoded. A hash
+ * collision only means a missing class is looked up the normal way. The index is persisted next to
+ * the {@link UnobfuscatorCache} files with a key of the TikTok version and the APK files it was
+ * built from, so installing or removing a split rebuilds it.
+ */
+public class ClassIndex {
+
+    private static final int MAGIC = 0x544B4349; // "TKCI"
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_SIZE = 20;
+
+    /**
+     * Framework classes come from the boot class path and are never in the APK index.
+     */
+    private static final String[] BOOT_PACKAGES = {"android.", "java.", "javax.", "dalvik.", "libcore.", "sun.", "org.json.", "org.w3c.", "org.xml."};
+
+    private final LongBuffer mHashes;
+
+    private ClassIndex(LongBuffer hashes) {
+        mHashes = hashes;
+    }
+
+    /**
+     * Lists every class of the base APK through {@code dexkit}, which must be open on
+     * the first of {@code apks}, and of every split in {@code apks} that carries dex code.
+     *
+     * @throws IOException if a split cannot be read, as an index missing its classes would hide them
+     */
+    @NonNull
+    public static ClassIndex build(@NonNull DexKitBridge dexkit, @NonNull List<String> apks) throws IOException {
+        var hashes = new LongArrayBuilder();
+        for (var classData : dexkit.findClass(FindClass.create())) {
+            hashes.add(hash(classData.getName()));
+        }
+        for (var split : apks.subList(1, apks.size())) {
+            if (!hasDex(split)) continue;
+            try (var bridge = DexKitBridge.create(split)) {
+                for (var classData : bridge.findClass(FindClass.create())) {
+                    hashes.add(hash(classData.getName()));
+                }
+            } catch (Exception e) {
+                throw new IOException("Cannot index " + split, e);
+            }
+        }
+        var sorted = hashes.toArray();
+        Arrays.sort(sorted);
+        int unique = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (unique == 0 || sorted[unique - 1] != sorted[i]) sorted[unique++] = sorted[i];
+        }
+        return new ClassIndex(LongBuffer.wrap(Arrays.copyOf(sorted, unique)));
+    }
+
+    /**
+     * @return the base APK followed by the split APKs of {@code appInfo}
+     */
+    @NonNull
+    public static List<String> apkPaths(@NonNull ApplicationInfo appInfo) {
+        var apks = new ArrayList<String>();
+        apks.add(appInfo.sourceDir);
+        if (appInfo.splitSourceDirs != null) apks.addAll(Arrays.asList(appInfo.splitSourceDirs));
+        return apks;
+    }
+
+    /**
+     * Key of a persisted index: the TikTok version plus the path, size and time of every APK.
+     */
+    public static long sourceKey(long tiktokVersion, @NonNull List<String> apks) {
+        long key = hash(Long.toString(tiktokVersion));
+        for (var apk : apks) {
+            var file = new File(apk);
+            key = (key ^ hash(apk)) * 0x100000001b3L;
+            key = (key ^ file.length()) * 0x100000001b3L;
+            key = (key ^ file.lastModified()) * 0x100000001b3L;
+        }
+        return key;
+    }
+
+    private static boolean hasDex(String apk) throws IOException {
+        try (var zip = new ZipFile(apk)) {
+            return zip.getEntry("classes.dex") != null;
+        }
+    }
+
+    public boolean contains(@NonNull String className) {
+        long key = hash(className);
+        int low = 0;
+        int high = mHashes.limit() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = mHashes.get(mid);
+            if (value < key) low = mid + 1;
+            else if (value > key) high = mid - 1;
+            else return true;
+        }
+        return false;
+    }
+
+    public int size() {
+        return mHashes.limit();
+    }
+
+    /**
+     * @return the class, or null if it is neither in the APK nor loadable
+     */
+    @Nullable
+    public static Class<?> findClassIfExists(@NonNull String className, @NonNull ClassLoader classLoader) {
+        var cache = UnobfuscatorCache.getInstance();
+        var index = cache == null ? null : cache.getClassIndex();
+        if (index != null && !index.contains(className) && !isBootClass(className)) return null;
+        return XposedHelpers.findClassIfExists(className, classLoader);
+    }
+
+    /**
+     * @return the first of the candidate names that exists, or null if none does
+     */
+    @Nullable
+    public static Class<?> findFirstClass(@NonNull ClassLoader classLoader, @NonNull String... classNames) {
+        for (var className : classNames) {
+            var cls = findClassIfExists(className, classLoader);
+            if (cls != null) return cls;
+        }
+        return null;
+    }
+
+    private static boolean isBootClass(String className) {
+        for (var prefix : BOOT_PACKAGES) {
+            if (className.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 chars of the binary name.
+     */
+    private static long hash(String className) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < className.length(); i++) {
+            h ^= className.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /**
+     * @return the persisted index, or null if it is missing, corrupt or built for another {@link #sourceKey}
+     */
+    @Nullable
+    public static ClassIndex load(File file, long sourceKey) {
+        if (!file.exists()) return null;
+        try (var raf = new RandomAccessFile(file, "r"); var channel = raf.getChannel()) {
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE + 8) return null;
+            var crc = new CRC32();
+            var body = buffer.duplicate();
+            body.limit(buffer.limit() - 8);
+            crc.update(body);
+            if (crc.getValue() != buffer.getLong(buffer.limit() - 8)) return null;
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) return null;
+            if (buffer.getLong() != sourceKey) return null;
+            int count = buffer.getInt();
+            if (count < 0 || (long) count * 8 != buffer.remaining() - 8) return null;
+            buffer.limit(buffer.position() + count * 8);
+            return new ClassIndex(buffer.slice().asLongBuffer());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public void save(File file, long sourceKey) throws IOException {
+        int count = mHashes.limit();
+        var bytes = new ByteArrayOutputStream(HEADER_SIZE + count * 8 + 8);
+        var out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(sourceKey);
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            out.writeLong(mHashes.get(i));
+        }
+        var crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeLong(crc.getValue());
+        out.flush();
+
+        var parent = file.getParentFile();
+        if (parent != null && !parent.exists()) parent.mkdirs();
+        var tmp = new File(file.getPath() + ".tmp");
+        try (var fos = new FileOutputStream(tmp)) {
+            bytes.writeTo(fos);
+            fos.getFD().sync();
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static class LongArrayBuilder {
+        private long[] mValues = new long[1 << 16];
+        private int mSize;
+
+        void add(long value) {
+            if (mSize == mValues.length) mValues = Arrays.copyOf(mValues, mSize * 2);
+            mValues[mSize++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(mValues, mSize);
+        }
+    }
+}
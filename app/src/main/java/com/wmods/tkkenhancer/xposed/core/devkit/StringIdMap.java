@@ -0,0 +1,62 @@
+package com.wmods.tkkenhancer.xposed.core.devkit;
+
+import androidx.annotation.NonNull;
+
+/**
+ * String to resource id map with open addressing over a {@code String[]} and an {@code int[]},
+ * so resolved ids are kept and returned without boxing.
+ */
+class StringIdMap {
+
+    static final int MISSING = Integer.MIN_VALUE;
+
+    private String[] mKeys = new String[64];
+    private int[] mValues = new int[64];
+    private int mSize;
+
+    synchronized int get(@NonNull String key) {
+        int mask = mKeys.length - 1;
+        for (int i = mix(key.hashCode()) & mask; ; i = (i + 1) & mask) {
+            var existing = mKeys[i];
+            if (existing == null) return MISSING;
+            if (existing.equals(key)) return mValues[i];
+        }
+    }
+
+    synchronized void put(@NonNull String key, int value) {
+        if ((mSize + 1) * 2 > mKeys.length) resize();
+        if (insert(mKeys, mValues, key, value)) mSize++;
+    }
+
+    private void resize() {
+        var keys = new String[mKeys.length * 2];
+        var values = new int[keys.length];
+        for (int i = 0; i < mKeys.length; i++) {
+            if (mKeys[i] != null) insert(keys, values, mKeys[i], mValues[i]);
+        }
+        mKeys = keys;
+        mValues = values;
+    }
+
+    /**
+     * @return true if the key was not present yet
+     */
+    private static boolean insert(String[] keys, int[] values, String key, int value) {
+        int mask = keys.length - 1;
+        for (int i = mix(key.hashCode()) & mask; ; i = (i + 1) & mask) {
+            if (keys[i] == null) {
+                keys[i] = key;
+                values[i] = value;
+                return true;
+            }
+            if (keys[i].equals(key)) {
+                values[i] = value;
+                return false;
+            }
+        }
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
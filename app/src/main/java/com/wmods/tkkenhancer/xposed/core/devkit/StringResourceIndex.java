@@ -0,0 +1,161 @@
+package com.wmods.tkkenhancer.xposed.core.devkit;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Reverse index from normalized string resource text to resource id.
+ * <p>
+ * Kept as a sorted {@code String[]} with a parallel {@code int[]} of ids and searched with a binary
+ * search, so lookups neither rebuild a map nor box ids. The index is persisted next to the
+ * {@link UnobfuscatorCache} files together with the TikTok version it was built for, and is only
+ * rebuilt from the APK when that version changes.
+ */
+public class StringResourceIndex {
+
+    private static final int MAGIC = 0x544B5349; // "TKSI"
+    private static final int FORMAT_VERSION = 1;
+
+    private final String[] mKeys;
+    private final int[] mIds;
+
+    private StringResourceIndex(String[] keys, int[] ids) {
+        mKeys = keys;
+        mIds = ids;
+    }
+
+    /**
+     * Builds an index from parallel lists. When a key occurs more than once the last id wins.
+     */
+    @NonNull
+    public static StringResourceIndex of(List<String> keys, List<Integer> ids) {
+        var order = new Integer[keys.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        // stable sort keeps insertion order among equal keys
+        Arrays.sort(order, Comparator.comparing(keys::get));
+        var sortedKeys = new String[order.length];
+        var sortedIds = new int[order.length];
+        int size = 0;
+        for (var index : order) {
+            var key = keys.get(index);
+            if (size > 0 && sortedKeys[size - 1].equals(key)) size--;
+            sortedKeys[size] = key;
+            sortedIds[size] = ids.get(index);
+            size++;
+        }
+        return new StringResourceIndex(Arrays.copyOf(sortedKeys, size), Arrays.copyOf(sortedIds, size));
+    }
+
+    /**
+     * Same normalization the cache always used: lower case with whitespace removed.
+     */
+    @NonNull
+    public static String normalize(String text) {
+        var lower = text.toLowerCase();
+        StringBuilder sb = null;
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r') {
+                if (sb == null) sb = new StringBuilder(lower.length()).append(lower, 0, i);
+            } else if (sb != null) {
+                sb.append(c);
+            }
+        }
+        return sb == null ? lower : sb.toString();
+    }
+
+    /**
+     * @param normalized text already passed through {@link #normalize}
+     * @return the resource id, or -1 if no string resource has this text
+     */
+    public int find(String normalized) {
+        int index = Arrays.binarySearch(mKeys, normalized);
+        return index < 0 ? -1 : mIds[index];
+    }
+
+    public int size() {
+        return mKeys.length;
+    }
+
+    /**
+     * @return the persisted index, or null if it is missing, corrupt or built for another TikTok version
+     */
+    @Nullable
+    public static StringResourceIndex load(File file, long tiktokVersion) {
+        if (!file.exists()) return null;
+        try (var raf = new RandomAccessFile(file, "r"); var channel = raf.getChannel()) {
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 28) return null;
+            var crc = new CRC32();
+            var body = buffer.duplicate();
+            body.limit(buffer.limit() - 8);
+            crc.update(body);
+            if (crc.getValue() != buffer.getLong(buffer.limit() - 8)) return null;
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) return null;
+            if (buffer.getLong() != tiktokVersion) return null;
+            int count = buffer.getInt();
+            if (count < 0 || count > buffer.remaining()) return null;
+            var keys = new String[count];
+            var ids = new int[count];
+            for (int i = 0; i < count; i++) {
+                ids[i] = buffer.getInt();
+                keys[i] = readString(buffer);
+            }
+            return new StringResourceIndex(keys, ids);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) throw new IOException("corrupt length");
+        var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public void save(File file, long tiktokVersion) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        var out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(tiktokVersion);
+        out.writeInt(mKeys.length);
+        for (int i = 0; i < mKeys.length; i++) {
+            out.writeInt(mIds[i]);
+            var data = mKeys[i].getBytes(StandardCharsets.UTF_8);
+            out.writeInt(data.length);
+            out.write(data);
+        }
+        var crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeLong(crc.getValue());
+        out.flush();
+
+        var parent = file.getParentFile();
+        if (parent != null && !parent.exists()) parent.mkdirs();
+        var tmp = new File(file.getPath() + ".tmp");
+        try (var fos = new FileOutputStream(tmp)) {
+            bytes.writeTo(fos);
+            fos.getFD().sync();
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
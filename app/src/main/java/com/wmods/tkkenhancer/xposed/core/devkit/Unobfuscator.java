@@ -54,6 +54,9 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import de.robv.android.xposed.XposedBridge;
@@ -64,7 +67,14 @@ public class Unobfuscator {
     private static final String TAG = "Unobfuscator";
     private static DexKitBridge dexkit;
 
-    public static final HashMap<String, Class<?>> cacheClasses = new HashMap<>();
+    public static final ConcurrentHashMap<String, Class<?>> cacheClasses = new ConcurrentHashMap<>();
+
+    /**
+     * DexKit already parallelizes each query internally, so concurrent callers are bounded
+     * instead of serialized to avoid oversubscribing the CPU while TikTok is starting.
+     */
+    private static final Semaphore queryPermits = new Semaphore(Math.max(2, Runtime.getRuntime().availableProcessors() / 2));
+    private static final ThreadLocal<int[]> queryDepth = ThreadLocal.withInitial(() -> new int[1]);
 
     static {
         System.loadLibrary("dexkit");
@@ -76,16 +86,35 @@ public class Unobfuscator {
         } catch (Exception e) {
             return false;
         }
+        declareBatchGroups();
         return true;
     }
 
+    static DexKitBridge getDexKit() {
+        return dexkit;
+    }
+
+    /**
+     * String groups resolved together by {@link UnobfuscatorBatch} on the first string search.
+     * Keys must match the cache keys used by the corresponding loaders.
+     */
+    private static void declareBatchGroups() {
+        UnobfuscatorBatch.declareClass("TikTokVideoClass", StringMatchType.Contains, VIDEO_CLASS_STRINGS);
+        UnobfuscatorBatch.declareClass("TikTokFeedItemClass", StringMatchType.Contains, FEED_ITEM_CLASS_STRINGS);
+        UnobfuscatorBatch.declareClass("TikTokDownloadServiceClass", StringMatchType.Contains, DOWNLOAD_SERVICE_CLASS_STRINGS);
+        UnobfuscatorBatch.declareClass("TikTokAdClass", StringMatchType.Contains, AD_CLASS_STRINGS);
+        UnobfuscatorBatch.declareClass("TikTokVideoPlayerClass", StringMatchType.Contains, VIDEO_PLAYER_CLASS_STRINGS);
+        UnobfuscatorBatch.declareClass("TikTokStoryClass", StringMatchType.Contains, STORY_CLASS_STRINGS);
+        UnobfuscatorBatch.declareClass("TikTokBitrateSelectorClass", StringMatchType.Contains, BITRATE_SELECTOR_CLASS_STRINGS);
+        UnobfuscatorBatch.declareClass("TikTokUrlModelClass", StringMatchType.Contains, URL_MODEL_CLASS_STRINGS);
+        UnobfuscatorBatch.declareClass("loadMaterialShapeDrawableClass", StringMatchType.Contains, "Compatibility shadow requested");
+        UnobfuscatorBatch.declareMethod("loadExpirationClass", StringMatchType.Contains, "software_forced_expiration");
+        UnobfuscatorBatch.declareMethod("loadFeedAutoPlayMethods", StringMatchType.Contains, "feed_player", "auto_play");
+    }
+
     // TODO: Functions to find classes and methods
-    public synchronized static Method findFirstMethodUsingStrings(ClassLoader classLoader, StringMatchType type, String... strings) throws Exception {
-        MethodMatcher matcher = new MethodMatcher();
-        for (String string : strings) {
-            matcher.addUsingString(string, type);
-        }
-        MethodDataList result = dexkit.findMethod(FindMethod.create().matcher(matcher));
+    public static Method findFirstMethodUsingStrings(ClassLoader classLoader, StringMatchType type, String... strings) throws Exception {
+        MethodDataList result = findMethodDataUsingStrings(type, strings);
         if (result.isEmpty()) return null;
         for (MethodData methodData : result) {
             if (methodData.isMethod()) return methodData.getMethodInstance(classLoader);
@@ -93,12 +122,12 @@ public class Unobfuscator {
         return null;
     }
 
-    public synchronized static Method findFirstMethodUsingStringsFilter(ClassLoader classLoader, String packageFilter, StringMatchType type, String... strings) throws Exception {
+    public static Method findFirstMethodUsingStringsFilter(ClassLoader classLoader, String packageFilter, StringMatchType type, String... strings) throws Exception {
         MethodMatcher matcher = new MethodMatcher();
         for (String string : strings) {
             matcher.addUsingString(string, type);
         }
-        MethodDataList result = dexkit.findMethod(FindMethod.create().searchPackages(packageFilter).matcher(matcher));
+        MethodDataList result = query(() -> dexkit.findMethod(FindMethod.create().searchPackages(packageFilter).matcher(matcher)));
         if (result.isEmpty()) return null;
 
         for (MethodData methodData : result) {
@@ -107,68 +136,97 @@ public class Unobfuscator {
         throw new NoSuchMethodException();
     }
 
-    public synchronized static Method[] findAllMethodUsingStrings(ClassLoader classLoader, StringMatchType type, String... strings) {
-        MethodMatcher matcher = new MethodMatcher();
-        for (String string : strings) {
-            matcher.addUsingString(string, type);
-        }
-        MethodDataList result = dexkit.findMethod(FindMethod.create().matcher(matcher));
+    public static Method[] findAllMethodUsingStrings(ClassLoader classLoader, StringMatchType type, String... strings) {
+        MethodDataList result = findMethodDataUsingStrings(type, strings);
         if (result.isEmpty()) return new Method[0];
         return result.stream().filter(MethodData::isMethod).map(methodData -> convertRealMethod(methodData, classLoader)).filter(Objects::nonNull).toArray(Method[]::new);
     }
 
-    public synchronized static Class<?> findFirstClassUsingStrings(ClassLoader classLoader, StringMatchType type, String... strings) throws Exception {
-        var matcher = new ClassMatcher();
-        for (String string : strings) {
-            matcher.addUsingString(string, type);
-        }
-        var result = dexkit.findClass(FindClass.create().matcher(matcher));
+    public static Class<?> findFirstClassUsingStrings(ClassLoader classLoader, StringMatchType type, String... strings) throws Exception {
+        var result = findClassDataUsingStrings(type, strings);
         if (result.isEmpty()) return null;
         return result.get(0).getInstance(classLoader);
     }
 
 
-    public synchronized static Class<?>[] findAllClassUsingStrings(ClassLoader classLoader, StringMatchType type, String... strings) throws Exception {
-        var matcher = new ClassMatcher();
-        for (String string : strings) {
-            matcher.addUsingString(string, type);
-        }
-        var result = dexkit.findClass(FindClass.create().matcher(matcher));
+    public static Class<?>[] findAllClassUsingStrings(ClassLoader classLoader, StringMatchType type, String... strings) throws Exception {
+        var result = findClassDataUsingStrings(type, strings);
         if (result.isEmpty()) return null;
         return result.stream().map(classData -> convertRealClass(classData, classLoader)).filter(Objects::nonNull).toArray(Class[]::new);
     }
 
 
-    public synchronized static Class<?> findFirstClassUsingStringsFilter(ClassLoader classLoader, String packageFilter, StringMatchType type, String... strings) throws Exception {
+    private static MethodDataList findMethodDataUsingStrings(StringMatchType type, String... strings) {
+        return query(() -> {
+            var batched = UnobfuscatorBatch.findMethods(dexkit, type, strings);
+            if (batched != null) return batched;
+            MethodMatcher matcher = new MethodMatcher();
+            for (String string : strings) {
+                matcher.addUsingString(string, type);
+            }
+            return dexkit.findMethod(FindMethod.create().matcher(matcher));
+        });
+    }
+
+    private static ClassDataList findClassDataUsingStrings(StringMatchType type, String... strings) {
+        return query(() -> {
+            var batched = UnobfuscatorBatch.findClasses(dexkit, type, strings);
+            if (batched != null) return batched;
+            var matcher = new ClassMatcher();
+            for (String string : strings) {
+                matcher.addUsingString(string, type);
+            }
+            return dexkit.findClass(FindClass.create().matcher(matcher));
+        });
+    }
+
+    /**
+     * Runs a DexKit query under one of the {@link #queryPermits}. Queries nested in another query's
+     * arguments run under the permit the thread already holds.
+     */
+    private static <T> T query(Supplier<T> supplier) {
+        var depth = queryDepth.get();
+        if (depth[0] > 0) return supplier.get();
+        queryPermits.acquireUninterruptibly();
+        depth[0]++;
+        try {
+            return supplier.get();
+        } finally {
+            depth[0]--;
+            queryPermits.release();
+        }
+    }
+
+    public static Class<?> findFirstClassUsingStringsFilter(ClassLoader classLoader, String packageFilter, StringMatchType type, String... strings) throws Exception {
         var matcher = new ClassMatcher();
         for (String string : strings) {
             matcher.addUsingString(string, type);
         }
-        var result = dexkit.findClass(FindClass.create().searchPackages(packageFilter).matcher(matcher));
+        var result = query(() -> dexkit.findClass(FindClass.create().searchPackages(packageFilter).matcher(matcher)));
         if (result.isEmpty()) return null;
         return result.get(0).getInstance(classLoader);
     }
 
-    public synchronized static Class<?> findFirstClassUsingName(ClassLoader classLoader, StringMatchType type, String name) throws Exception {
+    public static Class<?> findFirstClassUsingName(ClassLoader classLoader, StringMatchType type, String name) throws Exception {
         return UnobfuscatorCache.getInstance().getClass(classLoader, name, () -> {
-            var result = dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().className(name, type)));
+            var result = query(() -> dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().className(name, type))));
             if (result.isEmpty())
                 throw new ClassNotFoundException("Class not found: " + name);
             return result.get(0).getInstance(classLoader);
         });
     }
 
-    public synchronized static String getMethodDescriptor(Method method) {
+    public static String getMethodDescriptor(Method method) {
         if (method == null) return null;
         return method.getDeclaringClass().getName() + "->" + method.getName() + "(" + Arrays.stream(method.getParameterTypes()).map(Class::getName).collect(Collectors.joining(",")) + ")";
     }
 
-    public synchronized static String getFieldDescriptor(Field field) {
+    public static String getFieldDescriptor(Field field) {
         return field.getDeclaringClass().getName() + "->" + field.getName() + ":" + field.getType().getName();
     }
 
     @Nullable
-    public synchronized static Method convertRealMethod(MethodData methodData, ClassLoader classLoader) {
+    public static Method convertRealMethod(MethodData methodData, ClassLoader classLoader) {
         try {
             return methodData.getMethodInstance(classLoader);
         } catch (Exception e) {
@@ -177,7 +235,7 @@ public class Unobfuscator {
     }
 
     @Nullable
-    public synchronized static Class<?> convertRealClass(ClassData classData, ClassLoader classLoader) {
+    public static Class<?> convertRealClass(ClassData classData, ClassLoader classLoader) {
         try {
             return classData.getInstance(classLoader);
         } catch (Exception e) {
@@ -197,13 +255,13 @@ public class Unobfuscator {
     // loadMediaQualityOriginalVideoFields, loadMediaQualityVideoFields, loadMaterialShapeDrawableClass
 
     // TODO: Classes and Methods for FreezeSeen
-    public synchronized static Method loadFreezeSeenMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> UnobfuscatorCache.getInstance().getMethod(classLoader, () -> findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "presencestatemanager/setAvailable/new-state")));
+    public static Method loadFreezeSeenMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadFreezeSeenMethod", () -> UnobfuscatorCache.getInstance().getMethod(classLoader, "loadFreezeSeenMethod", () -> findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "presencestatemanager/setAvailable/new-state")));
     }
 
     // TODO: Classes and Methods for GhostMode
-    public synchronized static Method loadGhostModeMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadGhostModeMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadGhostModeMethod", () -> {
             Method method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "HandleMeComposing/sendComposing");
             if (method == null) throw new Exception("GhostMode method not found");
             if (method.getParameterTypes().length > 2 && method.getParameterTypes()[2] == int.class)
@@ -214,17 +272,17 @@ public class Unobfuscator {
 
     // TODO: Classes and Methods for Receipt
 
-    public synchronized static Method loadReceiptMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadReceiptMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadReceiptMethod", () -> {
             var classDeviceJid = Unobfuscator.findFirstClassUsingName(classLoader, StringMatchType.EndsWith, "jid.DeviceJid");
             var classPhoneUserJid = Unobfuscator.findFirstClassUsingName(classLoader, StringMatchType.EndsWith, "jid.PhoneUserJid");
-            var methods = dexkit.findMethod(
+            var methods = query(() -> dexkit.findMethod(
                     FindMethod.create()
                             .matcher(MethodMatcher.create()
                                     .addUsingString("receipt")
                                     .paramCount(5, 8)
                             )
-            );
+            ));
 
             for (var method : methods) {
                 var params = method.getParamTypeNames();
@@ -236,22 +294,22 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadReceiptOutsideChat(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadReceiptOutsideChat(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadReceiptOutsideChat", () -> {
             var method = loadReceiptMethod(classLoader);
             if (method == null) throw new Exception("Receipt method not found");
-            var classData = dexkit.getClassData(method.getDeclaringClass());
+            var classData = query(() -> dexkit.getClassData(method.getDeclaringClass()));
             if (classData == null) throw new Exception("Receipt method not found");
-            var methodResult = classData.findMethod(new FindMethod().matcher(new MethodMatcher().addUsingString("sender")));
+            var methodResult = query(() -> classData.findMethod(new FindMethod().matcher(new MethodMatcher().addUsingString("sender"))));
             if (methodResult.isEmpty()) throw new Exception("Receipt method not found");
             return methodResult.get(0).getMethodInstance(classLoader);
         });
     }
 
-    public synchronized static Method loadReceiptInChat(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadReceiptInChat(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadReceiptInChat", () -> {
             var method = loadReceiptMethod(classLoader);
-            var methodDataList = dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("callCreatorJid").addUsingString("reject").addInvoke(DexSignUtil.getMethodDescriptor(method))));
+            var methodDataList = query(() -> dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("callCreatorJid").addUsingString("reject").addInvoke(DexSignUtil.getMethodDescriptor(method)))));
             if (methodDataList.isEmpty()) throw new Exception("Receipt method not found");
             return methodDataList.get(0).getMethodInstance(classLoader);
         });
@@ -259,10 +317,10 @@ public class Unobfuscator {
 
     // TODO: Classes and Methods for HideForward
 
-    public synchronized static Method loadForwardTagMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadForwardTagMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadForwardTagMethod", () -> {
             Class<?> messageInfoClass = loadFMessageClass(classLoader);
-            var methodList = dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("chatInfo/incrementUnseenImportantMessageCount")));
+            var methodList = query(() -> dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("chatInfo/incrementUnseenImportantMessageCount"))));
             if (methodList.isEmpty()) throw new Exception("ForwardTag method support not found");
             var invokes = methodList.get(0).getInvokes();
             for (var invoke : invokes) {
@@ -279,16 +337,16 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Field loadBroadcastTagField(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(classLoader, () -> {
+    public static Field loadBroadcastTagField(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(classLoader, "loadBroadcastTagField", () -> {
             var fmessage = loadFMessageClass(classLoader);
-            var clazzData = dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().addUsingString("UPDATE_MESSAGE_MAIN_BROADCAST_SCAN_SQL")));
+            var clazzData = query(() -> dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().addUsingString("UPDATE_MESSAGE_MAIN_BROADCAST_SCAN_SQL"))));
             if (clazzData.isEmpty()) throw new Exception("BroadcastTag class not found");
-            var methodData = dexkit.findMethod(FindMethod.create().searchInClass(clazzData).matcher(MethodMatcher.create().usingStrings("participant_hash", "view_mode", "broadcast")));
+            var methodData = query(() -> dexkit.findMethod(FindMethod.create().searchInClass(clazzData).matcher(MethodMatcher.create().usingStrings("participant_hash", "view_mode", "broadcast"))));
 
             // 2.25.18.xx, they splitted method and moved to the fmessage
             if (methodData.isEmpty()) {
-                methodData = dexkit.findMethod(FindMethod.create().searchInClass(clazzData).matcher(MethodMatcher.create().usingStrings("received_timestamp", "view_mode", "message")));
+                methodData = query(() -> dexkit.findMethod(FindMethod.create().searchInClass(clazzData).matcher(MethodMatcher.create().usingStrings("received_timestamp", "view_mode", "message"))));
                 if (!methodData.isEmpty()) {
                     var calledMethods = methodData.get(0).getInvokes();
                     for (var cmethod : calledMethods) {
@@ -318,7 +376,7 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?> loadForwardClassMethod(ClassLoader classLoader) {
+    public static Class<?> loadForwardClassMethod(ClassLoader classLoader) {
         try {
             return UnobfuscatorCache.getInstance().getClass(classLoader, "loadForwardClassMethod", () -> {
                 // Try newer version first (2.25.37+, 2.26.1+)
@@ -353,20 +411,21 @@ public class Unobfuscator {
 
 
     // TODO: Classes and Methods for HideView
-    public synchronized static Method loadHideViewSendReadJob(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
-            var classData = dexkit.getClassData(findFirstClassUsingName(classLoader, StringMatchType.EndsWith, "SendReadReceiptJob"));
-            var methodResult = classData.findMethod(new FindMethod().matcher(new MethodMatcher().addUsingString("receipt", StringMatchType.Equals)));
+    public static Method loadHideViewSendReadJob(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadHideViewSendReadJob", () -> {
+            var jobClass = findFirstClassUsingName(classLoader, StringMatchType.EndsWith, "SendReadReceiptJob");
+            var classData = query(() -> dexkit.getClassData(jobClass));
+            var methodResult = query(() -> classData.findMethod(new FindMethod().matcher(new MethodMatcher().addUsingString("receipt", StringMatchType.Equals))));
             if (methodResult.isEmpty()) {
-                methodResult = classData.getSuperClass().findMethod(new FindMethod().matcher(new MethodMatcher().addUsingString("receipt", StringMatchType.Equals)));
+                methodResult = query(() -> classData.getSuperClass().findMethod(new FindMethod().matcher(new MethodMatcher().addUsingString("receipt", StringMatchType.Equals))));
             }
             if (methodResult.isEmpty()) throw new Exception("HideViewSendReadJob method not found");
             return methodResult.get(0).getMethodInstance(classLoader);
         });
     }
 
-    public synchronized static Method loadHideViewInChatMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadHideViewInChatMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadHideViewInChatMethod", () -> {
             var strings = new String[]{
                     "ReadReceipts/sendReceiptForIncomingMessage", "ReadReceipts/sendDeliveryReadReceipt", "ReadReceipts/acknowledgeMessageIfNeeded", "ReadReceipts/sendDeliveryReceiptIfNotRetry"
             };
@@ -378,8 +437,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?> loadFMessageClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadFMessageClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadFMessageClass", () -> {
             var messageClass = findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "FMessage/getSenderUserJid/key.id");
             if (messageClass == null) throw new Exception("Message class not found");
             return messageClass;
@@ -388,9 +447,9 @@ public class Unobfuscator {
 
     // TODO: Classes and Methods for XChatFilter
 
-    public synchronized static Method loadTabListMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
-            var classData = dexkit.findClass(FindClass.create().searchPackages("X.").matcher(ClassMatcher.create().addUsingString("mainContainer")));
+    public static Method loadTabListMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadTabListMethod", () -> {
+            var classData = query(() -> dexkit.findClass(FindClass.create().searchPackages("X.").matcher(ClassMatcher.create().addUsingString("mainContainer"))));
             if (classData.isEmpty()) throw new Exception("mainContainer class not found");
             var classMain = classData.get(0).getInstance(classLoader);
             Method method = Arrays.stream(classMain.getDeclaredMethods()).parallel().filter(m -> m.getName().equals("onCreate")).findFirst().orElse(null);
@@ -399,16 +458,16 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadGetTabMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadGetTabMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadGetTabMethod", () -> {
             Method result = findFirstMethodUsingStringsFilter(classLoader, "X.", StringMatchType.Contains, "No HomeFragment mapping for community tab id:");
             if (result == null) throw new Exception("GetTab method not found");
             return result;
         });
     }
 
-    public synchronized static Method loadTabFragmentMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadTabFragmentMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadTabFragmentMethod", () -> {
             Class<?> clsFrag = XposedHelpers.findClass("com.whatsapp.conversationslist.ConversationsFragment", classLoader);
             Method result = Arrays.stream(clsFrag.getDeclaredMethods()).parallel().filter(m -> m.getParameterTypes().length == 0 && m.getReturnType().equals(List.class)).findFirst().orElse(null);
             if (result == null) throw new Exception("TabFragment method not found");
@@ -416,27 +475,27 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadTabNameMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadTabNameMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadTabNameMethod", () -> {
             int id = UnobfuscatorCache.getInstance().getOfuscateIDString("updates");
             if (id < 1) throw new Exception("TabName ID not found");
-            MethodDataList result = dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().returnType(String.class).usingNumbers(id)));
+            MethodDataList result = query(() -> dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().returnType(String.class).usingNumbers(id))));
             if (result.isEmpty()) throw new Exception("TabName method not found");
             return result.get(0).getMethodInstance(classLoader);
         });
     }
 
-    public synchronized static Method loadFabMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
-            ClassData classData = dexkit.getClassData("com.whatsapp.conversationslist.ConversationsFragment");
-            var result = classData.findMethod(FindMethod.create().matcher(MethodMatcher.create().paramCount(0).usingNumbers(200).returnType(int.class)));
+    public static Method loadFabMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadFabMethod", () -> {
+            ClassData classData = query(() -> dexkit.getClassData("com.whatsapp.conversationslist.ConversationsFragment"));
+            var result = query(() -> classData.findMethod(FindMethod.create().matcher(MethodMatcher.create().paramCount(0).usingNumbers(200).returnType(int.class))));
             if (result.isEmpty()) throw new Exception("Fab method not found");
             return result.get(0).getMethodInstance(classLoader);
         });
     }
 
-    public synchronized static Method loadIconTabMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadIconTabMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadIconTabMethod", () -> {
             Method result = findFirstMethodUsingStringsFilter(classLoader, "X.", StringMatchType.Contains, "homeFabManager");
             if (result == null) throw new Exception("IconTab method not found");
             return result;
@@ -444,8 +503,8 @@ public class Unobfuscator {
     }
 
 
-    public synchronized static Method loadTabCountMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadTabCountMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadTabCountMethod", () -> {
             Method result = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "required free space should be > 0");
             if (result == null) throw new Exception("TabCount method not found");
             return result;
@@ -453,52 +512,52 @@ public class Unobfuscator {
     }
 
 
-    public synchronized static Method loadEnableCountTabMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadEnableCountTabMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadEnableCountTabMethod", () -> {
             var result = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "Tried to set badge for invalid");
             if (result == null) throw new Exception("EnableCountTab method not found");
             return result;
         });
     }
 
-    public synchronized static Constructor loadEnableCountTabConstructor1(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getConstructor(classLoader, () -> {
+    public static Constructor loadEnableCountTabConstructor1(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getConstructor(classLoader, "loadEnableCountTabConstructor1", () -> {
             var countMethod = loadEnableCountTabMethod(classLoader);
             var indiceClass = countMethod.getParameterTypes()[1];
-            var result = dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().superClass(indiceClass.getName()).addMethod(MethodMatcher.create().paramCount(1))));
+            var result = query(() -> dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().superClass(indiceClass.getName()).addMethod(MethodMatcher.create().paramCount(1)))));
             if (result.isEmpty()) throw new Exception("EnableCountTab method not found");
             return result.get(0).getInstance(classLoader).getConstructors()[0];
         });
     }
 
-    public synchronized static Constructor loadEnableCountTabConstructor2(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getConstructor(classLoader, () -> {
+    public static Constructor loadEnableCountTabConstructor2(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getConstructor(classLoader, "loadEnableCountTabConstructor2", () -> {
             var countTabConstructor1 = loadEnableCountTabConstructor1(classLoader);
             var indiceClass = countTabConstructor1.getParameterTypes()[0];
-            var result = dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().superClass(indiceClass.getName()).addMethod(MethodMatcher.create().paramCount(1).addParamType(int.class))));
+            var result = query(() -> dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().superClass(indiceClass.getName()).addMethod(MethodMatcher.create().paramCount(1).addParamType(int.class)))));
             if (result.isEmpty()) throw new Exception("EnableCountTab method not found");
             return result.get(0).getInstance(classLoader).getConstructors()[0];
         });
     }
 
-    public synchronized static Constructor loadEnableCountTabConstructor3(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getConstructor(classLoader, () -> {
+    public static Constructor loadEnableCountTabConstructor3(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getConstructor(classLoader, "loadEnableCountTabConstructor3", () -> {
             var countTabConstructor1 = loadEnableCountTabConstructor1(classLoader);
             var indiceClass = countTabConstructor1.getParameterTypes()[0];
-            var result = dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().superClass(indiceClass.getName()).addMethod(MethodMatcher.create().paramCount(0))));
+            var result = query(() -> dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().superClass(indiceClass.getName()).addMethod(MethodMatcher.create().paramCount(0)))));
             if (result.isEmpty()) throw new Exception("EnableCountTab method not found");
             return result.get(0).getInstance(classLoader).getConstructors()[0];
         });
     }
     // TODO: Classes and methods to TimeToSeconds
 
-    public synchronized static Method loadTimeToSecondsMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadTimeToSecondsMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadTimeToSecondsMethod", () -> {
             Class<?> cls = findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "aBhHKm");
             if (cls == null) throw new Exception("TimeToSeconds class not found");
-            var clsData = dexkit.getClassData(cls);
+            var clsData = query(() -> dexkit.getClassData(cls));
             var method = XposedHelpers.findMethodBestMatch(Calendar.class, "setTimeInMillis", long.class);
-            var result = clsData.findMethod(new FindMethod().matcher(new MethodMatcher().addInvoke(DexSignUtil.getMethodDescriptor(method)).returnType(String.class).paramCount(2)));
+            var result = query(() -> clsData.findMethod(new FindMethod().matcher(new MethodMatcher().addInvoke(DexSignUtil.getMethodDescriptor(method)).returnType(String.class).paramCount(2))));
             if (result.isEmpty()) throw new Exception("TimeToSeconds method not found");
             return result.get(0).getMethodInstance(classLoader);
         });
@@ -506,8 +565,8 @@ public class Unobfuscator {
 
     // TODO: Classes and methods to DndMode
 
-    public synchronized static Method loadDndModeMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadDndModeMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadDndModeMethod", () -> {
             var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Equals, "MessageHandler/start");
             if (method == null) throw new Exception("DndMode method not found");
             return method;
@@ -515,19 +574,19 @@ public class Unobfuscator {
     }
 
     // TODO: Classes and methods to MediaQuality
-    public synchronized static Method loadMediaQualityVideoMethod2(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadMediaQualityVideoMethod2(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadMediaQualityVideoMethod2", () -> {
             var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "getCorrectedResolution");
             if (method == null) throw new Exception("MediaQualityVideo method not found");
             return method;
         });
     }
 
-    public synchronized static HashMap<String, Field> loadMediaQualityVideoFields(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMapField(classLoader, () -> {
+    public static HashMap<String, Field> loadMediaQualityVideoFields(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMapField(classLoader, "loadMediaQualityVideoFields", () -> {
             var method = loadMediaQualityVideoMethod2(classLoader);
             var methodString = method.getReturnType().getDeclaredMethod("toString");
-            var methodData = dexkit.getMethodData(methodString);
+            var methodData = query(() -> dexkit.getMethodData(methodString));
             var usingFields = Objects.requireNonNull(methodData).getUsingFields();
             var usingStrings = Objects.requireNonNull(methodData).getUsingStrings();
             var result = new HashMap<String, Field>();
@@ -540,8 +599,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static HashMap<String, Field> loadMediaQualityOriginalVideoFields(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMapField(classLoader, () -> {
+    public static HashMap<String, Field> loadMediaQualityOriginalVideoFields(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMapField(classLoader, "loadMediaQualityOriginalVideoFields", () -> {
             var method = loadMediaQualityVideoMethod2(classLoader);
             Method methodString;
             try {
@@ -549,7 +608,7 @@ public class Unobfuscator {
             } catch (Exception e) {
                 return new HashMap<>();
             }
-            var methodData = dexkit.getMethodData(methodString);
+            var methodData = query(() -> dexkit.getMethodData(methodString));
             var usingFields = Objects.requireNonNull(methodData).getUsingFields();
             var usingStrings = Objects.requireNonNull(methodData).getUsingStrings();
             var result = new HashMap<String, Field>();
@@ -565,18 +624,18 @@ public class Unobfuscator {
     // TODO: Classes and methods to ShareLimit
 
 
-    public synchronized static Method loadShareLimitMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadShareLimitMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadShareLimitMethod", () -> {
             var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "send_max_video_duration");
             if (method == null) throw new Exception("ShareLimit method not found");
             return method;
         });
     }
 
-    public synchronized static Field loadShareMapItemField(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(classLoader, () -> {
+    public static Field loadShareMapItemField(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(classLoader, "loadShareMapItemField", () -> {
             var shareLimitMethod = loadShareLimitMethod(classLoader);
-            var methodData = dexkit.getMethodData(shareLimitMethod);
+            var methodData = query(() -> dexkit.getMethodData(shareLimitMethod));
             var usingFields = Objects.requireNonNull(methodData).getUsingFields();
             for (var ufield : usingFields) {
                 var field = ufield.getField().getFieldInstance(classLoader);
@@ -588,8 +647,8 @@ public class Unobfuscator {
 
     // TODO: Classes and methods to StatusDownload
 
-    public synchronized static Method loadStatusActivePage(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadStatusActivePage(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadStatusActivePage", () -> {
             var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "playbackFragment/setPageActive");
             if (method == null) throw new Exception("StatusActivePage method not found");
             return method;
@@ -597,8 +656,8 @@ public class Unobfuscator {
     }
 
 
-    public synchronized static Class<?> loadMenuManagerClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadMenuManagerClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadMenuManagerClass", () -> {
             var methods = findAllMethodUsingStrings(classLoader, StringMatchType.Contains, "MenuPopupHelper cannot be used without an anchor");
             for (var method : methods) {
                 if (method.getReturnType() == void.class) return method.getDeclaringClass();
@@ -607,10 +666,10 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadMenuStatusMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadMenuStatusMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadMenuStatusMethod", () -> {
             var id = Utils.getID("menuitem_conversations_message_contact", "id");
-            var methods = dexkit.findMethod(new FindMethod().matcher(new MethodMatcher().addUsingNumber(id)));
+            var methods = query(() -> dexkit.findMethod(new FindMethod().matcher(new MethodMatcher().addUsingNumber(id))));
             if (methods.isEmpty()) throw new Exception("MenuStatus method not found");
             return methods.get(0).getMethodInstance(loader);
         });
@@ -618,9 +677,9 @@ public class Unobfuscator {
 
     // TODO: Classes and methods to ViewOnce
 
-    public synchronized static Method[] loadViewOnceMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethods(classLoader, () -> {
-            var method = dexkit.findMethod(new FindMethod().matcher(new MethodMatcher().addUsingString("INSERT_VIEW_ONCE_SQL", StringMatchType.Contains)));
+    public static Method[] loadViewOnceMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethods(classLoader, "loadViewOnceMethod", () -> {
+            var method = query(() -> dexkit.findMethod(new FindMethod().matcher(new MethodMatcher().addUsingString("INSERT_VIEW_ONCE_SQL", StringMatchType.Contains))));
             if (method.isEmpty()) throw new Exception("ViewOnce method not found");
             var methodData = method.get(0);
             var listMethods = methodData.getInvokes();
@@ -628,7 +687,7 @@ public class Unobfuscator {
             for (MethodData m : listMethods) {
                 var mInstance = m.getMethodInstance(classLoader);
                 if (mInstance.getDeclaringClass().isInterface() && mInstance.getDeclaringClass().getMethods().length == 2) {
-                    ClassDataList listClasses = dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().addInterface(mInstance.getDeclaringClass().getName())));
+                    ClassDataList listClasses = query(() -> dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().addInterface(mInstance.getDeclaringClass().getName()))));
                     for (ClassData c : listClasses) {
                         Class<?> clazz = c.getInstance(classLoader);
                         for (Method m2 : clazz.getDeclaredMethods()) {
@@ -649,8 +708,8 @@ public class Unobfuscator {
     /**
      * @noinspection SimplifyOptionalCallChains
      */
-    public synchronized static Method loadViewOnceDownloadMenuMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadViewOnceDownloadMenuMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadViewOnceDownloadMenuMethod", () -> {
             var clazz = XposedHelpers.findClass("com.whatsapp.mediaview.MediaViewFragment", classLoader);
             var method = Arrays.stream(clazz.getDeclaredMethods()).filter(m -> m.getParameterCount() == 2 &&
                     Objects.equals(m.getParameterTypes()[0], Menu.class) &&
@@ -665,40 +724,40 @@ public class Unobfuscator {
 
     // TODO: Methods and Classes for Change Colors
 
-    public synchronized static Class<?> loadExpandableWidgetClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class<?> loadExpandableWidgetClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadExpandableWidgetClass", () -> {
             var clazz = findFirstClassUsingStrings(loader, StringMatchType.Contains, "expandableWidgetHelper");
             if (clazz == null) throw new Exception("ExpandableWidgetHelper class not found");
             return clazz;
         });
     }
 
-    public synchronized static Class<?> loadMaterialShapeDrawableClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class<?> loadMaterialShapeDrawableClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadMaterialShapeDrawableClass", () -> {
             var clazz = findFirstClassUsingStrings(loader, StringMatchType.Contains, "Compatibility shadow requested");
             if (clazz == null) throw new Exception("MaterialShapeDrawable class not found");
             return clazz;
         });
     }
 
-    public synchronized static Method loadPropsBooleanMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadPropsBooleanMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadPropsBooleanMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "Unknown BooleanField");
             if (method == null) throw new Exception("Props method not found");
             return method;
         });
     }
 
-    public synchronized static Method loadPropsIntegerMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadPropsIntegerMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadPropsIntegerMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "Unknown IntField");
             if (method == null) throw new Exception("Props method not found");
             return method;
         });
     }
 
-    public synchronized static Method loadPropsJsonMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadPropsJsonMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadPropsJsonMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "Unknown JsonField");
             if (method == null) throw new Exception("Props method not found");
             return method;
@@ -707,40 +766,40 @@ public class Unobfuscator {
 
 
     private static ClassData loadAntiRevokeImplClass() throws Exception {
-        var classes = dexkit.findClass(new FindClass().matcher(new ClassMatcher().addUsingString("smb_eu_tos_update_url")));
+        var classes = query(() -> dexkit.findClass(new FindClass().matcher(new ClassMatcher().addUsingString("smb_eu_tos_update_url"))));
         if (classes.isEmpty()) throw new Exception("AntiRevokeImpl class not found");
         return classes.get(0);
     }
 
-    public synchronized static Method loadAntiRevokeOnStartMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadAntiRevokeOnStartMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadAntiRevokeOnStartMethod", () -> {
             Class<?> conversation = XposedHelpers.findClass("com.whatsapp.Conversation", loader);
             var classData = loadAntiRevokeImplClass();
-            MethodDataList mdOnStart = dexkit.findMethod(
+            MethodDataList mdOnStart = query(() -> dexkit.findMethod(
                     FindMethod.create().searchInClass(List.of(dexkit.getClassData(conversation)))
                             .matcher(MethodMatcher.create().addInvoke(Objects.requireNonNull(classData).getDescriptor() + "->onStart()V"))
-            );
+            ));
             if (mdOnStart.isEmpty()) throw new Exception("AntiRevokeOnStart method not found");
             return mdOnStart.get(0).getMethodInstance(loader);
         });
     }
 
-    public synchronized static Method loadHomeConversationFragmentMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadHomeConversationFragmentMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadHomeConversationFragmentMethod", () -> {
             var homeClass = TkkCore.getHomeActivityClass(loader);
             var convFragment = XposedHelpers.findClass("com.whatsapp.ConversationFragment", loader);
-            MethodData method = dexkit.findMethod(FindMethod.create()
+            MethodData method = query(() -> dexkit.findMethod(FindMethod.create()
                     .searchInClass(
                             Collections.singletonList(
                                     dexkit.getClassData(homeClass)))
-                    .matcher(MethodMatcher.create().returnType(convFragment))).singleOrNull();
+                    .matcher(MethodMatcher.create().returnType(convFragment)))).singleOrNull();
             if (method == null) throw new Exception("HomeConversationFragmentMethod not found");
             return method.getMethodInstance(loader);
         });
     }
 
-    public synchronized static Field loadAntiRevokeConvFragmentField(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(loader, () -> {
+    public static Field loadAntiRevokeConvFragmentField(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(loader, "loadAntiRevokeConvFragmentField", () -> {
             Class<?> chatClass = findFirstClassUsingStrings(loader, StringMatchType.Contains, "conversation/createconversation");
             Class<?> conversation = XposedHelpers.findClass("com.whatsapp.ConversationFragment", loader);
             Field field = ReflectionUtils.getFieldByType(conversation, chatClass);
@@ -749,8 +808,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Field loadAntiRevokeConvChatField(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(loader, () -> {
+    public static Field loadAntiRevokeConvChatField(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(loader, "loadAntiRevokeConvChatField", () -> {
             Class<?> chatClass = findFirstClassUsingStrings(loader, StringMatchType.Contains, "conversation/createconversation");
             Class<?> conversation = XposedHelpers.findClass("com.whatsapp.Conversation", loader);
             Field field = ReflectionUtils.getFieldByType(conversation, chatClass);
@@ -759,8 +818,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Field loadAntiRevokeChatJidField(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(loader, () -> {
+    public static Field loadAntiRevokeChatJidField(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(loader, "loadAntiRevokeChatJidField", () -> {
             Class<?> chatClass = findFirstClassUsingStrings(loader, StringMatchType.Contains, "conversation/createconversation");
             Class<?> jidClass = Unobfuscator.findFirstClassUsingName(loader, StringMatchType.EndsWith, "jid.Jid");
             Field field = ReflectionUtils.getFieldByExtendType(chatClass, jidClass);
@@ -769,17 +828,17 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadAntiRevokeMessageMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadAntiRevokeMessageMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadAntiRevokeMessageMethod", () -> {
             Method method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "msgstore/edit/revoke");
             if (method == null) throw new Exception("AntiRevokeMessage method not found");
             return method;
         });
     }
 
-    public synchronized static Field loadMessageKeyField(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(loader, () -> {
-            var classList = dexkit.findClass(new FindClass().matcher(new ClassMatcher().fieldCount(3).addMethod(new MethodMatcher().addUsingString("Key").name("toString"))));
+    public static Field loadMessageKeyField(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(loader, "loadMessageKeyField", () -> {
+            var classList = query(() -> dexkit.findClass(new FindClass().matcher(new ClassMatcher().fieldCount(3).addMethod(new MethodMatcher().addUsingString("Key").name("toString")))));
             if (classList.isEmpty()) throw new Exception("MessageKey class not found");
             for (ClassData classData : classList) {
                 Class<?> keyMessageClass = classData.getInstance(loader);
@@ -792,8 +851,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadAntiRevokeBubbleMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadAntiRevokeBubbleMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadAntiRevokeBubbleMethod", () -> {
             Class<?> bubbleClass = findFirstClassUsingStrings(loader, StringMatchType.Contains, "ConversationRow/setUpUserNameInGroupView");
             if (bubbleClass == null) throw new Exception("AntiRevokeBubble method not found");
             var result = Arrays.stream(bubbleClass.getMethods()).filter(m -> m.getParameterCount() > 1 && m.getParameterTypes()[0] == ViewGroup.class && m.getParameterTypes()[1] == TextView.class).findFirst().orElse(null);
@@ -802,10 +861,10 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadUnknownStatusPlaybackMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadUnknownStatusPlaybackMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadUnknownStatusPlaybackMethod", () -> {
             var statusPlaybackClass = XposedHelpers.findClass("com.whatsapp.status.playback.fragment.StatusPlaybackContactFragment", loader);
-            var refreshCurrentPage = dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("playbackFragment/refreshCurrentPageSubTitle message is empty"))).get(0);
+            var refreshCurrentPage = query(() -> dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("playbackFragment/refreshCurrentPageSubTitle message is empty")))).get(0);
             var invokes = refreshCurrentPage.getInvokes();
             
             // Try to find method with 3+ parameters (older versions)
@@ -828,32 +887,32 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class loadStatusPlaybackViewClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class loadStatusPlaybackViewClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadStatusPlaybackViewClass", () -> {
             var ids = List.of(Utils.getID("status_header", "id"), Utils.getID("menu", "id"));
-            var clazz = dexkit.findClass(
+            var clazz = query(() -> dexkit.findClass(
                     FindClass.create().matcher(
                             ClassMatcher.create().addMethod(
                                     MethodMatcher.create().usingNumbers(ids)
                             )
                     )
-            );
+            ));
             if (clazz.isEmpty()) throw new Exception("Not Found StatusPlaybackViewClass");
             return clazz.get(0).getInstance(loader);
         });
     }
 
 
-    public synchronized static Method loadBlueOnReplayMessageJobMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadBlueOnReplayMessageJobMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadBlueOnReplayMessageJobMethod", () -> {
             var result = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "SendE2EMessageJob/onRun");
             if (result == null) throw new Exception("BlueOnReplayMessageJob method not found");
             return result;
         });
     }
 
-    public synchronized static Method loadBlueOnReplayWaJobManagerMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadBlueOnReplayWaJobManagerMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadBlueOnReplayWaJobManagerMethod", () -> {
             var result = findFirstClassUsingStrings(loader, StringMatchType.Contains, "WaJobManager/start");
             var job = XposedHelpers.findClass("org.whispersystems.jobqueue.Job", loader);
             if (result == null) throw new Exception("BlueOnReplayWaJobManager method not found");
@@ -863,8 +922,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class loadArchiveChatClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class loadArchiveChatClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadArchiveChatClass", () -> {
             var clazz = findFirstClassUsingStrings(loader, StringMatchType.Contains, "archive/set-content-indicator-to-empty");
             if (clazz == null)
                 clazz = findFirstClassUsingStrings(loader, StringMatchType.Contains, "archive/Unsupported mode in ArchivePreviewView:");
@@ -874,28 +933,29 @@ public class Unobfuscator {
     }
 
 
-    public synchronized static Method loadAntiRevokeOnCallReceivedMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadAntiRevokeOnCallReceivedMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadAntiRevokeOnCallReceivedMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "voip/callStateChangedOnUIThread");
             if (method == null) throw new Exception("OnCallReceiver method not found");
             return method;
         });
     }
 
-    public synchronized static Method loadOnChangeStatus(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadOnChangeStatus(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadOnChangeStatus", () -> {
             Method method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "ConversationViewFiller/setParentGroupProfilePhoto");
             if (method == null) throw new Exception("OnChangeStatus method not found");
 
             // for 19.xx, the current implementation returns wrong method
             if (method.getParameterCount() < 6) {
-                ClassData declaringClassData = dexkit.getClassData(method.getDeclaringClass());
+                var declaringClass = method.getDeclaringClass();
+                ClassData declaringClassData = query(() -> dexkit.getClassData(declaringClass));
                 if (declaringClassData == null)
                     throw new Exception("OnChangeStatus method not found");
 
                 Class<?> arg1Class = loadWaContactClass(loader);
-                MethodDataList methodData = declaringClassData.findMethod(
-                        FindMethod.create().matcher(MethodMatcher.create().paramCount(6, 8)));
+                MethodDataList methodData = query(() -> declaringClassData.findMethod(
+                        FindMethod.create().matcher(MethodMatcher.create().paramCount(6, 8))));
 
                 for (var methodItem : methodData) {
                     var paramTypes = methodItem.getParamTypes();
@@ -912,8 +972,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?> loadViewHolder(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class<?> loadViewHolder(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadViewHolder", () -> {
             Method method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "conversations/click/jid ");
             if (method == null || method.getParameterCount() == 0)
                 throw new RuntimeException("ViewHolder not found!");
@@ -921,26 +981,26 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Field loadViewHolderField1(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(loader, () -> {
+    public static Field loadViewHolderField1(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(loader, "loadViewHolderField1", () -> {
             Class<?> class1 = loadOnChangeStatus(loader).getDeclaringClass().getSuperclass();
             return ReflectionUtils.getFieldByType(class1, loadViewHolder(loader));
         });
     }
 
-    public synchronized static Method loadStatusUserMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadStatusUserMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadStatusUserMethod", () -> {
             var id = UnobfuscatorCache.getInstance().getOfuscateIDString("lastseensun%s");
             if (id < 1) throw new Exception("GetStatusUser ID not found");
-            var result = dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingNumber(id).returnType(String.class)));
+            var result = query(() -> dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingNumber(id).returnType(String.class))));
             if (result.isEmpty()) throw new Exception("GetStatusUser method not found");
             return result.get(result.size() - 1).getMethodInstance(loader);
         });
     }
 
-    public synchronized static Method loadSendPresenceMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
-            var methodData = dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("app/send-presence-subscription jid=")));
+    public static Method loadSendPresenceMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadSendPresenceMethod", () -> {
+            var methodData = query(() -> dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("app/send-presence-subscription jid="))));
             if (methodData.isEmpty()) throw new Exception("SendPresence method not found");
             var methodCallers = methodData.get(0).getCallers();
             if (methodCallers.isEmpty()) {
@@ -948,7 +1008,7 @@ public class Unobfuscator {
                 var superMethodInterfaces = method.getDeclaredClass().getInterfaces();
                 if (superMethodInterfaces.isEmpty())
                     throw new Exception("SendPresence method interface list empty");
-                var superMethod = superMethodInterfaces.get(0).findMethod(FindMethod.create().matcher(MethodMatcher.create().name(method.getName()))).firstOrNull();
+                var superMethod = query(() -> superMethodInterfaces.get(0).findMethod(FindMethod.create().matcher(MethodMatcher.create().name(method.getName())))).firstOrNull();
                 if (superMethod == null)
                     throw new Exception("SendPresence method interface method not found");
                 methodCallers = superMethod.getCallers();
@@ -960,32 +1020,32 @@ public class Unobfuscator {
     }
 
 
-    public synchronized static Method loadPinnedHashSetMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadPinnedHashSetMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadPinnedHashSetMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "getPinnedJids/QUERY_CHAT_SETTINGS");
             if (method == null) throw new Exception("PinnedHashSet method not found");
             return method;
         });
     }
 
-    public synchronized static Method loadGetFiltersMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadGetFiltersMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadGetFiltersMethod", () -> {
             var clazzFilters = findFirstClassUsingStrings(loader, StringMatchType.Contains, "conversations/filter/performFiltering");
             if (clazzFilters == null) throw new RuntimeException("Filters class not found");
             return Arrays.stream(clazzFilters.getDeclaredMethods()).parallel().filter(m -> m.getName().equals("publishResults")).findFirst().orElse(null);
         });
     }
 
-    public synchronized static Method loadPinnedInChatMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
-            var method = dexkit.findMethod(new FindMethod().matcher(new MethodMatcher().addUsingNumber(3732).returnType(int.class)));
+    public static Method loadPinnedInChatMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadPinnedInChatMethod", () -> {
+            var method = query(() -> dexkit.findMethod(new FindMethod().matcher(new MethodMatcher().addUsingNumber(3732).returnType(int.class))));
             if (method.isEmpty()) throw new RuntimeException("PinnedInChat method not found");
             return method.get(0).getMethodInstance(loader);
         });
     }
 
-    public synchronized static Method loadBlueOnReplayCreateMenuConversationMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadBlueOnReplayCreateMenuConversationMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadBlueOnReplayCreateMenuConversationMethod", () -> {
             var conversationClass = XposedHelpers.findClass("com.whatsapp.Conversation", loader);
             if (conversationClass == null)
                 throw new RuntimeException("BlueOnReplayCreateMenuConversation class not found");
@@ -996,8 +1056,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadBlueOnReplayViewButtonMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadBlueOnReplayViewButtonMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadBlueOnReplayViewButtonMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "PLAYBACK_PAGE_ITEM_ON_CREATE_VIEW_END");
             if (method == null)
                 throw new RuntimeException("BlueOnReplayViewButton method not found");
@@ -1005,11 +1065,11 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Field loadBlueOnReplayViewButtonOutSideField(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(loader, () -> {
+    public static Field loadBlueOnReplayViewButtonOutSideField(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(loader, "loadBlueOnReplayViewButtonOutSideField", () -> {
             var method = loadBlueOnReplayViewButtonMethod(loader);
             var clazz = method.getDeclaringClass();
-            var methodData = dexkit.getMethodData(method);
+            var methodData = query(() -> dexkit.getMethodData(method));
             var fields = methodData.getUsingFields();
             for (var ufield : fields) {
                 var field = ufield.getField().getFieldInstance(loader);
@@ -1020,8 +1080,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadBlueOnReplayStatusViewMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadBlueOnReplayStatusViewMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadBlueOnReplayStatusViewMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "StatusPlaybackPage/onViewCreated");
             if (method == null)
                 throw new RuntimeException("BlueOnReplayViewButton method not found");
@@ -1029,19 +1089,19 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadChatLimitDeleteMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadChatLimitDeleteMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadChatLimitDeleteMethod", () -> {
             var clazz = findFirstClassUsingStrings(loader, StringMatchType.Contains, "app/time server update processed");
             if (clazz == null) throw new RuntimeException("ChatLimitDelete class not found");
             var method = Arrays.stream(clazz.getDeclaredMethods()).filter(m -> m.getReturnType().equals(long.class) && Modifier.isStatic(m.getModifiers())).findFirst().orElse(null);
             if (method == null) {
-                var methodList = Objects.requireNonNull(dexkit.getClassData(clazz)).findMethod(new FindMethod().matcher(new MethodMatcher().opCodes(new OpCodesMatcher().opNames(
+                var methodList = query(() -> Objects.requireNonNull(dexkit.getClassData(clazz)).findMethod(new FindMethod().matcher(new MethodMatcher().opCodes(new OpCodesMatcher().opNames(
                         List.of("invoke-static",
                                 "move-result-wide", "iget-wide", "const-wide/16", "cmp-long",
                                 "if-eqz", "iget-wide", "add-long/2addr", "return-wide",
                                 "iget-wide", "cmp-long", "if-eqz", "iget-wide",
                                 "goto", "invoke-static", "move-result-wide", "iget-wide",
-                                "sub-long/2addr", "return-wide")))));
+                                "sub-long/2addr", "return-wide"))))));
                 if (methodList.isEmpty())
                     throw new RuntimeException("ChatLimitDelete method not found");
                 method = methodList.get(0).getMethodInstance(loader);
@@ -1050,18 +1110,18 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadChatLimitDelete2Method(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadChatLimitDelete2Method(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadChatLimitDelete2Method", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "pref_revoke_admin_nux", "dialog/delete no messages");
             if (method == null) throw new RuntimeException("ChatLimitDelete2 method not found");
             return method;
         });
     }
 
-    public synchronized static Method loadNewMessageMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadNewMessageMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadNewMessageMethod", () -> {
             var clazzMessageName = loadFMessageClass(loader).getName();
-            var listMethods = dexkit.findMethod(FindMethod.create().searchPackages("com.whatsapp").matcher(MethodMatcher.create().addUsingString("extra_payment_note", StringMatchType.Equals)));
+            var listMethods = query(() -> dexkit.findMethod(FindMethod.create().searchPackages("com.whatsapp").matcher(MethodMatcher.create().addUsingString("extra_payment_note", StringMatchType.Equals))));
             if (listMethods.isEmpty()) throw new Exception("NewMessage method not found");
             var invokes = listMethods.get(0).getInvokes();
             var method = invokes.parallelStream().filter(invoke -> clazzMessageName.equals(invoke.getDeclaredClass().getName()) && invoke.getReturnType() != null && invoke.getReturnType().getName().equals("java.lang.String")).findFirst().orElse(null);
@@ -1070,17 +1130,17 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadOriginalMessageKey(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadOriginalMessageKey(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadOriginalMessageKey", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "FMessageUtil/getOriginalMessageKeyIfEdited");
             if (method == null) throw new RuntimeException("MessageEdit method not found");
             return method;
         });
     }
 
-    public synchronized static Method loadNewMessageWithMediaMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
-            var methodList = dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("INSERT_TABLE_MESSAGE_QUOTED", StringMatchType.Equals)));
+    public static Method loadNewMessageWithMediaMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadNewMessageWithMediaMethod", () -> {
+            var methodList = query(() -> dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("INSERT_TABLE_MESSAGE_QUOTED", StringMatchType.Equals))));
             if (methodList.isEmpty()) throw new Exception("NewMessageWithMedia method not found");
             var methodData = methodList.get(0);
             var invokes = methodData.getInvokes();
@@ -1091,17 +1151,18 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadMessageEditMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadMessageEditMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadMessageEditMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "MessageEditInfoStore/insertEditInfo/missing");
             if (method == null) throw new RuntimeException("MessageEdit method not found");
             return method;
         });
     }
 
-    public synchronized static Method loadCallerMessageEditMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
-            var methodData1 = dexkit.getMethodData(loadMessageEditMethod(loader));
+    public static Method loadCallerMessageEditMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadCallerMessageEditMethod", () -> {
+            var editMethod = loadMessageEditMethod(loader);
+            var methodData1 = query(() -> dexkit.getMethodData(editMethod));
             var FMessage = loadFMessageClass(loader);
             var invokes = methodData1.getInvokes();
             for (var methodData : invokes) {
@@ -1119,11 +1180,11 @@ public class Unobfuscator {
     }
 
 
-    public synchronized static Method loadGetEditMessageMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadGetEditMessageMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadGetEditMessageMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "MessageEditInfoStore/insertEditInfo/missing");
             if (method == null) throw new RuntimeException("GetEditMessage method not found");
-            var methodData = dexkit.getMethodData(DexSignUtil.getMethodDescriptor(method));
+            var methodData = query(() -> dexkit.getMethodData(DexSignUtil.getMethodDescriptor(method)));
             if (methodData == null) throw new RuntimeException("GetEditMessage method not found");
             var invokes = methodData.getInvokes();
             for (var invoke : invokes) {
@@ -1145,13 +1206,15 @@ public class Unobfuscator {
     /**
      * @noinspection DataFlowIssue
      */
-    public synchronized static Field loadSetEditMessageField(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(loader, () -> {
+    public static Field loadSetEditMessageField(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(loader, "loadSetEditMessageField", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "CoreMessageStore/updateCheckoutMessageWithTransactionInfo");
             if (method == null)
                 method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "UPDATE_MESSAGE_ADD_ON_FLAGS_MAIN_SQL");
-            var classData = dexkit.getClassData(loadFMessageClass(loader));
-            var methodData = dexkit.getMethodData(DexSignUtil.getMethodDescriptor(method));
+            var fMessageClass = loadFMessageClass(loader);
+            var classData = query(() -> dexkit.getClassData(fMessageClass));
+            var descriptor = DexSignUtil.getMethodDescriptor(method);
+            var methodData = query(() -> dexkit.getMethodData(descriptor));
             var usingFields = methodData.getUsingFields();
             for (var f : usingFields) {
                 var field = f.getField();
@@ -1166,13 +1229,13 @@ public class Unobfuscator {
     /**
      * @noinspection DataFlowIssue
      */
-    public synchronized static Method loadEditMessageShowMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
-            var classData = dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().addUsingString("ConversationRow/setUpUsernameInGroupView"))).singleOrNull();
+    public static Method loadEditMessageShowMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadEditMessageShowMethod", () -> {
+            var classData = query(() -> dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().addUsingString("ConversationRow/setUpUsernameInGroupView")))).singleOrNull();
             var fields = classData.getFields().stream().filter(f -> f.getType().getName().equals(TextView.class.getName())).collect(Collectors.toList());
             if (fields.isEmpty()) throw new RuntimeException("EditMessageShow fields not found");
             for (var field : fields) {
-                var result = classData.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingField(field.getDescriptor()).paramCount(1))).singleOrNull();
+                var result = query(() -> classData.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingField(field.getDescriptor()).paramCount(1)))).singleOrNull();
                 if (result != null)
                     return result.getMethodInstance(loader);
             }
@@ -1183,10 +1246,10 @@ public class Unobfuscator {
     /**
      * @noinspection DataFlowIssue
      */
-    public synchronized static Field loadEditMessageViewField(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(loader, () -> {
+    public static Field loadEditMessageViewField(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(loader, "loadEditMessageViewField", () -> {
             var method = loadEditMessageShowMethod(loader);
-            var methodData = dexkit.getMethodData(DexSignUtil.getMethodDescriptor(method));
+            var methodData = query(() -> dexkit.getMethodData(DexSignUtil.getMethodDescriptor(method)));
             var fields = methodData.getUsingFields();
             for (var ufield : fields) {
                 var field = ufield.getField();
@@ -1201,18 +1264,18 @@ public class Unobfuscator {
     /**
      * @noinspection DataFlowIssue
      */
-    public synchronized static Class loadDialogViewClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class loadDialogViewClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadDialogViewClass", () -> {
             var id = Utils.getID("touch_outside", "id");
-            var result = dexkit.findMethod(new FindMethod().matcher(new MethodMatcher().addUsingNumber(id).returnType(FrameLayout.class)));
+            var result = query(() -> dexkit.findMethod(new FindMethod().matcher(new MethodMatcher().addUsingNumber(id).returnType(FrameLayout.class))));
             if (result.isEmpty()) throw new RuntimeException("DialogView class not found");
             return result.get(0).getDeclaredClass().getInstance(loader);
         });
     }
 
-    public synchronized static Constructor loadRecreateFragmentConstructor(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getConstructor(loader, () -> {
-            var data = dexkit.findMethod(FindMethod.create().searchPackages("X.").matcher(MethodMatcher.create().addUsingString("Instantiated fragment")));
+    public static Constructor loadRecreateFragmentConstructor(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getConstructor(loader, "loadRecreateFragmentConstructor", () -> {
+            var data = query(() -> dexkit.findMethod(FindMethod.create().searchPackages("X.").matcher(MethodMatcher.create().addUsingString("Instantiated fragment"))));
             if (data.isEmpty()) throw new RuntimeException("RecreateFragment method not found");
             if (!data.single().isConstructor())
                 throw new RuntimeException("RecreateFragment method not found");
@@ -1221,8 +1284,8 @@ public class Unobfuscator {
     }
 
 
-    public synchronized static Method loadOnTabItemAddMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadOnTabItemAddMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadOnTabItemAddMethod", () -> {
             var result = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "Maximum number of items supported by");
             if (result == null) throw new RuntimeException("OnTabItemAdd method not found");
             return result;
@@ -1230,8 +1293,8 @@ public class Unobfuscator {
     }
 
 
-    public synchronized static Method loadGetViewConversationMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadGetViewConversationMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadGetViewConversationMethod", () -> {
             var clazz = XposedHelpers.findClass("com.whatsapp.conversationslist.ConversationsFragment", loader);
             var method = Arrays.stream(clazz.getDeclaredMethods()).filter(m -> m.getParameterCount() == 3 && m.getReturnType().equals(View.class) && m.getParameterTypes()[1].equals(LayoutInflater.class)).findFirst().orElse(null);
             if (method == null) throw new RuntimeException("GetViewConversation method not found");
@@ -1242,8 +1305,8 @@ public class Unobfuscator {
     /**
      * @noinspection SimplifyStreamApiCallChains
      */
-    public synchronized static Method loadOnMenuItemSelected(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadOnMenuItemSelected(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadOnMenuItemSelected", () -> {
             var aClass = XposedHelpers.findClass("androidx.viewpager.widget.ViewPager", loader);
             var result = Arrays.stream(aClass.getDeclaredMethods()).
                     filter(m -> m.getParameterCount() == 4 &&
@@ -1257,14 +1320,14 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadOnUpdateStatusChanged(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadOnUpdateStatusChanged(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadOnUpdateStatusChanged", () -> {
             var clazz = getClassByName("UpdatesViewModel", loader);
-            var clazzData = dexkit.getClassData(clazz);
+            var clazzData = query(() -> dexkit.getClassData(clazz));
             var methodSeduleche = XposedHelpers.findMethodBestMatch(Timer.class, "schedule", TimerTask.class, long.class, long.class);
-            var result = dexkit.findMethod(new FindMethod().searchInClass(List.of(clazzData)).matcher(new MethodMatcher().addInvoke(DexSignUtil.getMethodDescriptor(methodSeduleche))));
+            var result = query(() -> dexkit.findMethod(new FindMethod().searchInClass(List.of(clazzData)).matcher(new MethodMatcher().addInvoke(DexSignUtil.getMethodDescriptor(methodSeduleche)))));
             if (result.isEmpty())
-                result = dexkit.findMethod(new FindMethod().searchInClass(List.of(clazzData)).matcher(new MethodMatcher().addUsingString("UpdatesViewModel/Scheduled updates list refresh")));
+                result = query(() -> dexkit.findMethod(new FindMethod().searchInClass(List.of(clazzData)).matcher(new MethodMatcher().addUsingString("UpdatesViewModel/Scheduled updates list refresh"))));
             if (result.isEmpty())
                 throw new RuntimeException("OnUpdateStatusChanged method not found");
             return result.get(0).getMethodInstance(loader);
@@ -1274,10 +1337,10 @@ public class Unobfuscator {
     /**
      * @noinspection DataFlowIssue
      */
-    public synchronized static Field loadGetInvokeField(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(loader, () -> {
+    public static Field loadGetInvokeField(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(loader, "loadGetInvokeField", () -> {
             var method = loadOnUpdateStatusChanged(loader);
-            var methodData = dexkit.getMethodData(DexSignUtil.getMethodDescriptor(method));
+            var methodData = query(() -> dexkit.getMethodData(DexSignUtil.getMethodDescriptor(method)));
             var fields = methodData.getUsingFields();
             var field = fields.stream().map(UsingFieldData::getField).filter(f -> f.getDeclaredClass().equals(methodData.getDeclaredClass())).findFirst().orElse(null);
             if (field == null) throw new RuntimeException("GetInvokeField method not found");
@@ -1285,53 +1348,53 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?> loadStatusInfoClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class<?> loadStatusInfoClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadStatusInfoClass", () -> {
             var clazz = findFirstClassUsingStrings(loader, StringMatchType.Contains, "ContactStatusDataItem");
             if (clazz == null) throw new RuntimeException("StatusInfo class not found");
             return clazz;
         });
     }
 
-    public synchronized static Class loadStatusListUpdatesClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class loadStatusListUpdatesClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadStatusListUpdatesClass", () -> {
             var clazz = findFirstClassUsingStrings(loader, StringMatchType.Contains, "StatusListUpdates");
             if (clazz == null) throw new RuntimeException("StatusListUpdates class not found");
             return clazz;
         });
     }
 
-    public synchronized static Class loadTabFrameClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class loadTabFrameClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadTabFrameClass", () -> {
             var clazz = findFirstClassUsingStrings(loader, StringMatchType.Contains, "android:menu:presenters");
             if (clazz == null) throw new RuntimeException("TabFrame class not found");
             return clazz;
         });
     }
 
-    public synchronized static Class loadRemoveChannelRecClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class loadRemoveChannelRecClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadRemoveChannelRecClass", () -> {
             var clazz = findFirstClassUsingStrings(loader, StringMatchType.Contains, "hasNewsletterSubscriptions");
             if (clazz == null) throw new RuntimeException("RemoveChannelRec class not found");
             return clazz;
         });
     }
 
-    public synchronized static Class loadFilterAdaperClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
-            var clazzList = dexkit.findClass(new FindClass().matcher(new ClassMatcher().addMethod(new MethodMatcher().addUsingString("CONTACTS_FILTER").paramCount(1).addParamType(int.class))));
+    public static Class loadFilterAdaperClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadFilterAdaperClass", () -> {
+            var clazzList = query(() -> dexkit.findClass(new FindClass().matcher(new ClassMatcher().addMethod(new MethodMatcher().addUsingString("CONTACTS_FILTER").paramCount(1).addParamType(int.class)))));
             if (clazzList.isEmpty()) throw new RuntimeException("FilterAdapter class not found");
             return clazzList.get(0).getInstance(loader);
         });
     }
 
-    public synchronized static Constructor loadSeeMoreConstructor(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getConstructor(loader, () -> {
-            var classList = dexkit.findClass(FindClass.create().matcher(ClassMatcher.create()
+    public static Constructor loadSeeMoreConstructor(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getConstructor(loader, "loadSeeMoreConstructor", () -> {
+            var classList = query(() -> dexkit.findClass(FindClass.create().matcher(ClassMatcher.create()
                     .addMethod(MethodMatcher.create().addUsingNumber(16384).addUsingNumber(512).addUsingNumber(64).addUsingNumber(16))
                     .addMethod(MethodMatcher.create().paramCount(2).paramTypes(int.class, boolean.class))
                     .addMethod(MethodMatcher.create().paramCount(2, 3).paramTypes(int.class, int.class, int.class))
-            ));
+            )));
 
             if (classList.isEmpty()) throw new RuntimeException("SeeMore constructor 1 not found");
             var clazzData = classList.get(0);
@@ -1344,8 +1407,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method[] loadSendStickerMethods(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethods(loader, () -> {
+    public static Method[] loadSendStickerMethods(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethods(loader, "loadSendStickerMethods", () -> {
             var methods = findAllMethodUsingStrings(loader, StringMatchType.Contains, "StickerGridViewItem.StickerLocal");
             if (methods == null) throw new RuntimeException("SendSticker method not found");
             return methods;
@@ -1353,11 +1416,11 @@ public class Unobfuscator {
 
     }
 
-    public synchronized static Method loadMaterialAlertDialog(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadMaterialAlertDialog(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadMaterialAlertDialog", () -> {
             var callConfirmationFragment = XposedHelpers.findClass("com.whatsapp.calling.fragment.CallConfirmationFragment", loader);
             var method = ReflectionUtils.findMethodUsingFilter(callConfirmationFragment, m -> m.getParameterCount() == 1 && m.getParameterTypes()[0].equals(android.os.Bundle.class));
-            var methodData = dexkit.getMethodData(method);
+            var methodData = query(() -> dexkit.getMethodData(method));
             var invokes = methodData.getInvokes();
             for (var invoke : invokes) {
                 if (invoke.isMethod() && Modifier.isStatic(invoke.getModifiers()) && invoke.getParamCount() == 1 && invoke.getParamTypes().get(0).getName().equals(Context.class.getName())) {
@@ -1373,17 +1436,17 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadGetIntPreferences(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
-            var methodList = dexkit.findMethod(new FindMethod().matcher(new MethodMatcher().paramCount(2).addParamType(SharedPreferences.class).addParamType(String.class).modifiers(Modifier.STATIC | Modifier.PUBLIC).returnType(int.class)));
+    public static Method loadGetIntPreferences(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadGetIntPreferences", () -> {
+            var methodList = query(() -> dexkit.findMethod(new FindMethod().matcher(new MethodMatcher().paramCount(2).addParamType(SharedPreferences.class).addParamType(String.class).modifiers(Modifier.STATIC | Modifier.PUBLIC).returnType(int.class))));
             if (methodList.isEmpty())
                 throw new RuntimeException("CallConfirmationLimit method not found");
             return methodList.get(0).getMethodInstance(loader);
         });
     }
 
-    public synchronized static Field loadProfileInfoField(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(loader, () -> {
+    public static Field loadProfileInfoField(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(loader, "loadProfileInfoField", () -> {
             var clazz = findFirstClassUsingStrings(loader, StringMatchType.Contains, "[obfuscated]@%s");
             if (clazz == null) throw new RuntimeException("ProfileInfo class not found");
             var fieldList = ReflectionUtils.getFieldsByExtendType(clazz, Unobfuscator.findFirstClassUsingName(loader, StringMatchType.EndsWith, "jid.Jid"));
@@ -1392,38 +1455,38 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadAudioProximitySensorMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadAudioProximitySensorMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadAudioProximitySensorMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "messageaudioplayer/onearproximity");
             if (method == null) throw new RuntimeException("ProximitySensor method not found");
             return method;
         });
     }
 
-    public synchronized static Method loadGroupAdminMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
-            var method = dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().name("setupUsernameInGroupViewContainer")));
+    public static Method loadGroupAdminMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadGroupAdminMethod", () -> {
+            var method = query(() -> dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().name("setupUsernameInGroupViewContainer"))));
             if (method.isEmpty())
                 throw new RuntimeException("GroupAdmin method not found");
             return method.get(0).getMethodInstance(loader);
         });
     }
 
-    public synchronized static Method loadJidFactory(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadJidFactory(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadJidFactory", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "lid_me", "status_me", "s.whatsapp.net");
             if (method == null) throw new RuntimeException("JidFactory method not found");
             return method;
         });
     }
 
-    public synchronized static Method loadGroupCheckAdminMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadGroupCheckAdminMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadGroupCheckAdminMethod", () -> {
 
-            var classData = dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().addUsingString("saveGroupParticipants/INSERT_GROUP_PARTICIPANT_USER"))).singleOrNull();
+            var classData = query(() -> dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().addUsingString("saveGroupParticipants/INSERT_GROUP_PARTICIPANT_USER")))).singleOrNull();
             var GroupChatClass = findFirstClassUsingName(loader, StringMatchType.EndsWith, "GroupChatInfoActivity");
             var onCreateMenu = ReflectionUtils.findMethodUsingFilter(GroupChatClass, method -> method.getName().equals("onCreateContextMenu"));
-            var onCreateMenuData = dexkit.getMethodData(onCreateMenu);
+            var onCreateMenuData = query(() -> dexkit.getMethodData(onCreateMenu));
             var invokes = onCreateMenuData.getInvokes().stream().filter(m -> Objects.equals(m.getDeclaredClassName(), classData.getName())).collect(Collectors.toList());
             for (var invoke : invokes) {
                 var invokeMethod = invoke.getMethodInstance(loader);
@@ -1439,17 +1502,17 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Constructor loadStartPrefsConfig(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getConstructor(loader, () -> {
-            var results = dexkit.findMethod(new FindMethod().matcher(new MethodMatcher().addUsingString("startup_migrated_version")));
+    public static Constructor loadStartPrefsConfig(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getConstructor(loader, "loadStartPrefsConfig", () -> {
+            var results = query(() -> dexkit.findMethod(new FindMethod().matcher(new MethodMatcher().addUsingString("startup_migrated_version"))));
             if (results.isEmpty())
                 throw new RuntimeException("StartPrefsConfig constructor not found");
             return results.get(0).getConstructorInstance(loader);
         });
     }
 
-    public synchronized static Method loadCheckOnlineMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadCheckOnlineMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadCheckOnlineMethod", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "MessageHandler/handleConnectionThreadReady connectionready");
             if (method == null)
                 method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "app/xmpp/recv/handle_available");
@@ -1458,34 +1521,34 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadEphemeralInsertdb(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
-            var method = dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("expire_timestamp").addUsingString("ephemeral_initiated_by_me").addUsingString("ephemeral_trigger").returnType(ContentValues.class)));
+    public static Method loadEphemeralInsertdb(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadEphemeralInsertdb", () -> {
+            var method = query(() -> dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("expire_timestamp").addUsingString("ephemeral_initiated_by_me").addUsingString("ephemeral_trigger").returnType(ContentValues.class))));
             if (method.isEmpty()) throw new RuntimeException("FieldExpireTime method not found");
             var methodData = method.get(0);
             return methodData.getMethodInstance(loader);
         });
     }
 
-    public synchronized static Method loadDefEmojiClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadDefEmojiClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadDefEmojiClass", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "emojis.oba");
             if (method == null) throw new RuntimeException("DefEmoji class not found");
             return method;
         });
     }
 
-    public synchronized static Class loadVideoViewContainerClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class loadVideoViewContainerClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadVideoViewContainerClass", () -> {
             var clazz = findFirstClassUsingStrings(loader, StringMatchType.Contains, "frame_visibility_serial_worker");
             if (clazz == null) throw new RuntimeException("VideoViewContainer class not found");
             return clazz;
         });
     }
 
-    public synchronized static Class loadImageVewContainerClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
-            var clazzList = dexkit.findClass(new FindClass().matcher(new ClassMatcher().addMethod(new MethodMatcher().addUsingNumber(Utils.getID("hd_invisible_touch", "id")).addUsingNumber(Utils.getID("control_btn", "id")))));
+    public static Class loadImageVewContainerClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadImageVewContainerClass", () -> {
+            var clazzList = query(() -> dexkit.findClass(new FindClass().matcher(new ClassMatcher().addMethod(new MethodMatcher().addUsingNumber(Utils.getID("hd_invisible_touch", "id")).addUsingNumber(Utils.getID("control_btn", "id"))))));
             if (clazzList.isEmpty())
                 throw new RuntimeException("ImageViewContainer class not found");
             return clazzList.get(0).getInstance(loader);
@@ -1493,11 +1556,11 @@ public class Unobfuscator {
     }
 
 
-    public synchronized static Method getFilterInitMethod(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method getFilterInitMethod(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "getFilterInitMethod", () -> {
             var filterAdaperClass = Unobfuscator.loadFilterAdaperClass(loader);
             var constructor = filterAdaperClass.getConstructors()[0];
-            var methods = dexkit.findMethod(new FindMethod().matcher(new MethodMatcher().addInvoke(DexSignUtil.getMethodDescriptor(constructor))));
+            var methods = query(() -> dexkit.findMethod(new FindMethod().matcher(new MethodMatcher().addInvoke(DexSignUtil.getMethodDescriptor(constructor)))));
             if (methods.isEmpty()) throw new RuntimeException("FilterInit method not found");
             var cFrag = XposedHelpers.findClass("com.whatsapp.conversationslist.ConversationsFragment", loader);
             var method = methods.stream().filter(m -> Arrays.asList(1, 2).contains(m.getParamCount()) && m.getParamTypes().get(0).getName().equals(cFrag.getName())).findFirst().orElse(null);
@@ -1514,48 +1577,48 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class getFilterView(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class getFilterView(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "getFilterView", () -> {
             var filter_id = Utils.getID("conversations_swipe_to_reveal_filters_stub", "id");
-            var results = dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().addMethod(MethodMatcher.create().addUsingNumber(filter_id))));
+            var results = query(() -> dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().addMethod(MethodMatcher.create().addUsingNumber(filter_id)))));
             if (results.isEmpty()) throw new RuntimeException("FilterView class not found");
             return results.get(0).getInstance(loader);
         });
     }
 
-    public synchronized static Class loadActionUser(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
-            var classData = dexkit.getClassData("com.whatsapp.conversation.selection.SingleSelectedMessageActivity");
+    public static Class loadActionUser(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadActionUser", () -> {
+            var classData = query(() -> dexkit.getClassData("com.whatsapp.conversation.selection.SingleSelectedMessageActivity"));
             if (classData == null)
                 throw new RuntimeException("SingleSelectedMessage class not found");
             var fields = classData.getFields().stream().map(FieldData::getType).collect(Collectors.toList());
             var fmessage = loadFMessageClass(loader);
-            var classResult = dexkit.findClass(FindClass.create().searchIn(fields).matcher(ClassMatcher.create().addMethod(MethodMatcher.create().paramCount(3).paramTypes(fmessage, String.class, boolean.class))));
+            var classResult = query(() -> dexkit.findClass(FindClass.create().searchIn(fields).matcher(ClassMatcher.create().addMethod(MethodMatcher.create().paramCount(3).paramTypes(fmessage, String.class, boolean.class)))));
             if (classResult.isEmpty())
                 throw new RuntimeException("ActionUser class not found");
             return classResult.get(0).getInstance(loader);
         });
     }
 
-    public synchronized static Method loadOnPlaybackFinished(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadOnPlaybackFinished(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadOnPlaybackFinished", () -> {
             var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "playbackPage/onPlaybackContentFinished");
             if (method == null) throw new RuntimeException("OnPlaybackFinished method not found");
             return method;
         });
     }
 
-    public synchronized static Method loadNextStatusRunMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
-            var methodList = dexkit.findMethod(new FindMethod().matcher(new MethodMatcher().addUsingString("playMiddleTone").name("run")));
+    public static Method loadNextStatusRunMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadNextStatusRunMethod", () -> {
+            var methodList = query(() -> dexkit.findMethod(new FindMethod().matcher(new MethodMatcher().addUsingString("playMiddleTone").name("run"))));
             if (methodList.isEmpty()) throw new RuntimeException("RunNextStatus method not found");
             return methodList.get(0).getMethodInstance(classLoader);
         });
     }
 
-    public synchronized static Method loadOnInsertReceipt(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
-            var method = dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("INSERT_RECEIPT_USER").paramCount(1))).singleOrNull();
+    public static Method loadOnInsertReceipt(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadOnInsertReceipt", () -> {
+            var method = query(() -> dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("INSERT_RECEIPT_USER").paramCount(1)))).singleOrNull();
             if (method == null)
                 throw new RuntimeException("OnInsertReceipt method not found");
             return method.getMethodInstance(classLoader);
@@ -1563,13 +1626,13 @@ public class Unobfuscator {
 
     }
 
-    public synchronized static Method loadSendAudioTypeMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadSendAudioTypeMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadSendAudioTypeMethod", () -> {
             var classMsgReplyAct = Unobfuscator.findFirstClassUsingName(classLoader, StringMatchType.EndsWith, "MessageReplyActivity");
             if (classMsgReplyAct == null)
                 throw new ClassNotFoundException("Class MessageReplyActivity not found");
             var method = classMsgReplyAct.getMethod("onActivityResult", int.class, int.class, android.content.Intent.class);
-            var methodData = Objects.requireNonNull(dexkit.getMethodData(method));
+            var methodData = Objects.requireNonNull(query(() -> dexkit.getMethodData(method)));
             var invokes = methodData.getInvokes();
             for (var invoke : invokes) {
                 if (!invoke.isMethod()) continue;
@@ -1583,9 +1646,9 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Field loadOriginFMessageField(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(classLoader, () -> {
-            var result = dexkit.findMethod(new FindMethod().matcher(new MethodMatcher().addUsingString("audio/ogg; codecs=opu").paramCount(0).returnType(boolean.class)));
+    public static Field loadOriginFMessageField(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(classLoader, "loadOriginFMessageField", () -> {
+            var result = query(() -> dexkit.findMethod(new FindMethod().matcher(new MethodMatcher().addUsingString("audio/ogg; codecs=opu").paramCount(0).returnType(boolean.class))));
             var clazz = loadFMessageClass(classLoader);
             if (result.isEmpty()) throw new RuntimeException("OriginFMessageField not found");
             var fields = result.get(0).getUsingFields();
@@ -1599,8 +1662,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadForwardAudioTypeMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadForwardAudioTypeMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadForwardAudioTypeMethod", () -> {
             var results = findAllMethodUsingStrings(classLoader, StringMatchType.Contains, "FMessageFactory/newFMessageForForward/thumbnail");
             if (results == null || results.length < 1)
                 throw new RuntimeException("ForwardAudioType method not found");
@@ -1615,52 +1678,52 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class loadFragmentLoader(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class loadFragmentLoader(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadFragmentLoader", () -> {
             var clazz = findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "not associated with a fragment manager.");
             if (clazz == null) throw new RuntimeException("FragmentLoader class not found");
             return clazz;
         });
     }
 
-    public synchronized static Method loadShowDialogStatusMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadShowDialogStatusMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadShowDialogStatusMethod", () -> {
             var clazz = loadFragmentLoader(classLoader);
             var frag = classLoader.loadClass("androidx.fragment.app.DialogFragment");
-            var result = dexkit.findMethod(FindMethod.create().matcher(
+            var result = query(() -> dexkit.findMethod(FindMethod.create().matcher(
                             MethodMatcher.create().paramCount(2).addParamType(frag).addParamType(clazz)
                                     .returnType(void.class).modifiers(Modifier.PUBLIC | Modifier.STATIC)
                                     .opNames(List.of("iget-boolean", "if-nez"), OpCodeMatchType.Contains)
                     )
-            );
+            ));
             if (result.isEmpty()) throw new RuntimeException("showDialogStatus not found");
             return result.get(0).getMethodInstance(classLoader);
         });
     }
 
-    public synchronized static Method loadPlaybackSpeed(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadPlaybackSpeed(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadPlaybackSpeed", () -> {
             var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "heroaudioplayer/setPlaybackSpeed");
             if (method == null) throw new RuntimeException("PlaybackSpeed method not found");
             return method;
         });
     }
 
-//    public synchronized static Method loadArchiveCheckLockedChatsMethod(ClassLoader classLoader) throws Exception {
+//    public static Method loadArchiveCheckLockedChatsMethod(ClassLoader classLoader) throws Exception {
 //        var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "conversationsfragment/verticalswipetorevealbehavior");
 //        if (method == null) throw new RuntimeException("ArchiveCheckLockedChats method not found");
 //        return method;
 //    }
 //
-//    public synchronized static Method loadArchiveCheckLockedChatsMethod2(ClassLoader classLoader) throws Exception {
+//    public static Method loadArchiveCheckLockedChatsMethod2(ClassLoader classLoader) throws Exception {
 //        var methods = findAllMethodUsingStrings(classLoader, StringMatchType.Contains, "registration_device_id");
 //        if (methods.length == 0)
 //            throw new RuntimeException("ArchiveCheckLockedChats method not found");
 //        return Arrays.stream(methods).filter(m -> m.getReturnType().equals(boolean.class) && m.getParameterTypes().length == 0).findFirst().orElse(null);
 //    }
 //
-//    public synchronized static Class<?> loadArchiveLockedChatClass(ClassLoader classLoader) throws Exception {
-//        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+//    public static Class<?> loadArchiveLockedChatClass(ClassLoader classLoader) throws Exception {
+//        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadPlaybackSpeed", () -> {
 //            var clazzList = dexkit.findClass(new FindClass().matcher(new ClassMatcher().addMethod(new MethodMatcher().name("setLockedRowVisibility")).addMethod(new MethodMatcher().name("setEnableStateForChatLock"))));
 //            if (clazzList.isEmpty())
 //                throw new RuntimeException("ArchiveLockedChatFrame class not found");
@@ -1668,25 +1731,25 @@ public class Unobfuscator {
 //        });
 //    }
 
-    public synchronized static Method loadListUpdateItems(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
-            var method = dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("Running diff util, updates list size", StringMatchType.Contains)));
+    public static Method loadListUpdateItems(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadListUpdateItems", () -> {
+            var method = query(() -> dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("Running diff util, updates list size", StringMatchType.Contains))));
             if (method.isEmpty())
                 throw new RuntimeException("ListUpdateItems method not found");
             return method.get(0).getMethodInstance(classLoader);
         });
     }
 
-    public synchronized static Class loadHeaderChannelItemClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class loadHeaderChannelItemClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadHeaderChannelItemClass", () -> {
             var clazz = findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "statusTilesEnabled");
             if (clazz == null) throw new RuntimeException("HeaderChannelItem class not found");
             return clazz;
         });
     }
 
-    public synchronized static Class loadListChannelItemClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class loadListChannelItemClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadListChannelItemClass", () -> {
             var clazz = findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "isMuteIndicatorEnabled");
             if (clazz == null) throw new RuntimeException("NewsletterDataItem class not found");
             return clazz;
@@ -1694,13 +1757,13 @@ public class Unobfuscator {
     }
 
 
-    public synchronized static Method[] loadTextStatusData(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethods(classLoader, () -> {
-            var methods = dexkit.findMethod(
+    public static Method[] loadTextStatusData(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethods(classLoader, "loadTextStatusData", () -> {
+            var methods = query(() -> dexkit.findMethod(
                     FindMethod.create().matcher(
                             MethodMatcher.create().addParamType("com.whatsapp.TextData")
                     )
-            );
+            ));
             if (methods.isEmpty())
                 throw new RuntimeException("loadTextStatusData method not found");
 
@@ -1708,8 +1771,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Class<?> loadExpirationClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadExpirationClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadExpirationClass", () -> {
             var methods = findAllMethodUsingStrings(classLoader, StringMatchType.Contains, "software_forced_expiration");
             var expirationMethod = Arrays.stream(methods).filter(methodData -> methodData.getReturnType().equals(Date.class)).findFirst().orElse(null);
             if (expirationMethod == null) throw new RuntimeException("Expiration class not found");
@@ -1718,40 +1781,40 @@ public class Unobfuscator {
     }
 
 
-    public synchronized static Class<?> loadAbsViewHolder(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadAbsViewHolder(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadAbsViewHolder", () -> {
             var clazz = findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "not recyclable");
             if (clazz == null) throw new RuntimeException("AbsViewHolder class not found");
             return clazz;
         });
     }
 
-    public synchronized static Method loadFragmentViewMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadFragmentViewMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadFragmentViewMethod", () -> {
             var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "this was called before onCreateView()");
             if (method == null) throw new RuntimeException("FragmentView method not found");
             return method;
         });
     }
 
-    public synchronized static Method loadCopiedMessageMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadCopiedMessageMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadCopiedMessageMethod", () -> {
             var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "conversation/copymessage");
             if (method == null) throw new RuntimeException("CopiedMessage method not found");
             return method;
         });
     }
 
-    public synchronized static Class<?> loadSenderPlayedClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadSenderPlayedClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadSenderPlayedClass", () -> {
             var clazz = findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "sendmethods/sendClearDirty");
             if (clazz == null) throw new RuntimeException("SenderPlayed class not found");
             return clazz;
         });
     }
 
-    public synchronized static Method loadSenderPlayedMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadSenderPlayedMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadSenderPlayedMethod", () -> {
             var clazz = loadSenderPlayedClass(classLoader);
             var abstractMediaMessageClass = Unobfuscator.loadAbstractMediaMessageClass(classLoader);
             var interfaces = abstractMediaMessageClass.getInterfaces();
@@ -1778,7 +1841,7 @@ public class Unobfuscator {
             if (methodResult == null) {
                 var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "mediaHash and fileType not both present for upload URL generation");
                 if (method != null) {
-                    var cMethods = dexkit.getMethodData(method).getInvokes();
+                    var cMethods = query(() -> dexkit.getMethodData(method)).getInvokes();
                     Collections.reverse(cMethods);
                     for (var cmethod : cMethods) {
                         if (cmethod.isMethod() && cmethod.getParamCount() == 1) {
@@ -1797,8 +1860,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadSenderPlayedBusiness(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadSenderPlayedBusiness(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadSenderPlayedBusiness", () -> {
             var loadSenderPlayed = loadSenderPlayedClass(classLoader);
             var foundMethod = ReflectionUtils.findMethodUsingFilter(loadSenderPlayed, method -> method.getParameterCount() > 0 && method.getParameterTypes()[0] == Set.class);
             if (foundMethod == null)
@@ -1807,11 +1870,12 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Field loadMediaTypeField(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(classLoader, () -> {
-            var methodData = dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("conversation/refresh")));
+    public static Field loadMediaTypeField(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getField(classLoader, "loadMediaTypeField", () -> {
+            var methodData = query(() -> dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("conversation/refresh"))));
             if (methodData.isEmpty()) throw new RuntimeException("MediaType: aux method not found");
-            var fclass = dexkit.getClassData(loadFMessageClass(classLoader));
+            var fMessageClass = loadFMessageClass(classLoader);
+            var fclass = query(() -> dexkit.getClassData(fMessageClass));
             var usingFields = methodData.get(0).getUsingFields();
             for (var f : usingFields) {
                 var field = f.getField();
@@ -1824,17 +1888,17 @@ public class Unobfuscator {
 
     }
 
-    public synchronized static Method loadBubbleDrawableMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
-            var methodData = dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("Unreachable code: direction=").returnType(Drawable.class)));
+    public static Method loadBubbleDrawableMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadBubbleDrawableMethod", () -> {
+            var methodData = query(() -> dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("Unreachable code: direction=").returnType(Drawable.class))));
             if (methodData.isEmpty()) throw new Exception("BubbleDrawable method not found");
             return methodData.get(0).getMethodInstance(classLoader);
         });
     }
 
-    public synchronized static Method loadBallonDateDrawable(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
-            var methodData = dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("Unreachable code: direction=").returnType(Rect.class)));
+    public static Method loadBallonDateDrawable(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadBallonDateDrawable", () -> {
+            var methodData = query(() -> dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString("Unreachable code: direction=").returnType(Rect.class))));
             if (methodData.isEmpty()) throw new Exception("LoadDateWrapper method not found");
             var clazz = methodData.get(0).getMethodInstance(classLoader).getDeclaringClass();
             var method = ReflectionUtils.findMethodUsingFilterIfExists(clazz, m -> List.of(1, 2).contains(m.getParameterCount()) && m.getParameterTypes()[0].equals(int.class) && m.getReturnType().equals(Drawable.class));
@@ -1843,8 +1907,8 @@ public class Unobfuscator {
         });
     }
 
-    public synchronized static Method loadBallonBorderDrawable(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadBallonBorderDrawable(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadBallonBorderDrawable", () -> {
             var clazz = loadBallonDateDrawable(classLoader).getDeclaringClass();
             var method = ReflectionUtils.findMethodUsingFilterIfExists(clazz, m -> m.getParameterCount() == 3 && m.getReturnType().equals(Drawable.class));
             if (method == null) throw new RuntimeException("Ballon Border method not found");
@@ -1852,48 +1916,48 @@ public class Unobfuscator {
         });
     }
 
-    public static synchronized Method[] loadRootDetector(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethods(classLoader, () -> {
+    public static Method[] loadRootDetector(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethods(classLoader, "loadRootDetector", () -> {
             var methods = findAllMethodUsingStrings(classLoader, StringMatchType.Contains, "/system/bin/su");
             if (methods.length == 0) throw new RuntimeException("RootDetector method not found");
             return methods;
         });
     }
 
-    public static synchronized Method loadCheckEmulator(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadCheckEmulator(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadCheckEmulator", () -> {
             var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "Android SDK built for x86");
             if (method == null) throw new RuntimeException("CheckEmulator method not found");
             return method;
         });
     }
 
-    public static synchronized Method loadCheckCustomRom(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadCheckCustomRom(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadCheckCustomRom", () -> {
             var method = findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "cyanogen");
             if (method == null) throw new RuntimeException("CheckCustomRom method not found");
             return method;
         });
     }
 
-    public static synchronized Method loadTranscribeMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "transcribe: starting transcription"));
+    public static Method loadTranscribeMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadTranscribeMethod", () -> findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "transcribe: starting transcription"));
     }
 
-    public static synchronized Method loadCheckSupportLanguage(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "Unsupported language"));
+    public static Method loadCheckSupportLanguage(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadCheckSupportLanguage", () -> findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "Unsupported language"));
     }
 
-    public static synchronized Class loadTranscriptSegment(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "TranscriptionSegment("));
+    public static Class loadTranscriptSegment(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadTranscriptSegment", () -> findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "TranscriptionSegment("));
     }
 
-    public static synchronized Method loadStateChangeMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "presencestatemanager/startTransitionToUnavailable/new-state"));
+    public static Method loadStateChangeMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadStateChangeMethod", () -> findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "presencestatemanager/startTransitionToUnavailable/new-state"));
     }
 
-    public static synchronized Method loadCachedMessageStoreKey(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> {
+    public static Method loadCachedMessageStoreKey(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadCachedMessageStoreKey", () -> {
             var method = findFirstMethodUsingStrings(loader, StringMatchType.Contains, "CachedMessageStore/getAvailableMessage/key");
             if (method == null)
                 throw new RuntimeException("CachedMessageStore class not found");
@@ -1901,10 +1965,10 @@ public class Unobfuscator {
         });
     }
 
-    public static synchronized Class loadAbstractMediaMessageClass(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(loader, () -> {
+    public static Class loadAbstractMediaMessageClass(ClassLoader loader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(loader, "loadAbstractMediaMessageClass", () -> {
             for (var str : List.of("first_viewed_timestamp", "Field is set but is null in MediaDataV2")) {
-                var classList = dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().addUsingString(str)));
+                var classList = query(() -> dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().addUsingString(str))));
                 for (var clazz : classList) {
                     var clazzInstance = clazz.getInstance(loader);
                     if (FMessageTkk.checkUnsafeIsFMessage(loader, clazzInstance))
@@ -1916,7 +1980,7 @@ public class Unobfuscator {
     }
 
     public static Class<?> loadFragmentClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadFragmentClass", () -> {
             var clazz = findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "mFragmentId=#");
             if (clazz == null) throw new RuntimeException("Fragment class not found");
             return clazz;
@@ -1924,17 +1988,17 @@ public class Unobfuscator {
     }
 
     public static Method loadMediaQualitySelectionMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
-            var methodData = dexkit.findMethod(FindMethod.create().matcher(
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadMediaQualitySelectionMethod", () -> {
+            var methodData = query(() -> dexkit.findMethod(FindMethod.create().matcher(
                     MethodMatcher.create().addUsingString("enable_media_quality_tool").
                             returnType(boolean.class)
-            ));
+            )));
 
             if (methodData.isEmpty()) {
-                methodData = dexkit.findMethod(FindMethod.create().matcher(
+                methodData = query(() -> dexkit.findMethod(FindMethod.create().matcher(
                         MethodMatcher.create().addUsingString("show_media_quality_toggle").
                                 returnType(boolean.class)
-                ));
+                )));
             }
 
             if (methodData.isEmpty())
@@ -1944,10 +2008,10 @@ public class Unobfuscator {
     }
 
     public static Field loadFmessageTimestampField(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getField(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getField(classLoader, "loadFmessageTimestampField", () -> {
             var fmessageClass = loadFMessageClass(classLoader);
             var chatLimitDelete2Method = Unobfuscator.loadChatLimitDelete2Method(classLoader);
-            var usingFields = dexkit.getMethodData(chatLimitDelete2Method).getUsingFields();
+            var usingFields = query(() -> dexkit.getMethodData(chatLimitDelete2Method)).getUsingFields();
             for (var uField : usingFields) {
                 var field = uField.getField();
                 if (field.getDeclaredClass().getName().equals(fmessageClass.getName())
@@ -1960,7 +2024,7 @@ public class Unobfuscator {
     }
 
     public static Class<?> loadStatusDistributionClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadStatusDistributionClass", () -> {
             var clazz = findFirstClassUsingStrings(classLoader, StringMatchType.Equals, "Only set a valid status distribution mode");
             if (clazz == null) throw new RuntimeException("StatusDistribution not found!");
             return clazz;
@@ -1969,20 +2033,20 @@ public class Unobfuscator {
 
 
     public static Class<?> loadFilterItemClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
-            var methodList = dexkit.findMethod(FindMethod.create().matcher(
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadFilterItemClass", () -> {
+            var methodList = query(() -> dexkit.findMethod(FindMethod.create().matcher(
                     MethodMatcher.create().addUsingNumber(Utils.getID("invisible_height_placeholder", "id"))
                             .addUsingNumber(Utils.getID("container_view", "id"))
-            ));
+            )));
             if (!methodList.isEmpty())
                 return methodList.get(0).getClassInstance(classLoader);
 
             for (var s : List.of("ConversationsFilter/selectFilter", "has_seen_detected_outcomes_nux")) {
                 var applyClazz = findFirstClassUsingStrings(classLoader, StringMatchType.Contains, s);
                 if (applyClazz == null) continue;
-                methodList = dexkit.findMethod(FindMethod.create().matcher(
+                methodList = query(() -> dexkit.findMethod(FindMethod.create().matcher(
                         MethodMatcher.create().paramTypes(View.class, applyClazz)
-                ));
+                )));
                 if (!methodList.isEmpty()) return methodList.get(0).getClassInstance(classLoader);
             }
             throw new RuntimeException("FilterItemClass Not Found");
@@ -1990,19 +2054,19 @@ public class Unobfuscator {
     }
 
     public static Class[] loadProximitySensorListenerClasses(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClasses(classLoader, () -> {
-            var classDataList = dexkit.findClass(
-                    FindClass.create().matcher(ClassMatcher.create().addInterface(SensorEventListener.class.getName())));
+        return UnobfuscatorCache.getInstance().getClasses(classLoader, "loadProximitySensorListenerClasses", () -> {
+            var classDataList = query(() -> dexkit.findClass(
+                    FindClass.create().matcher(ClassMatcher.create().addInterface(SensorEventListener.class.getName()))));
             if (classDataList.isEmpty()) throw new Exception("Class SensorEventListener not found");
             return classDataList.stream().map(classData -> convertRealClass(classData, classLoader)).filter(Objects::nonNull).toArray(Class[]::new);
         });
     }
 
     public static Class<?> loadRefreshStatusClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadRefreshStatusClass", () -> {
             var strings = new String[]{"liveStatusUpdatesActive", "Statuses refreshed"};
             for (var s : strings) {
-                MethodDataList methods = dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString(s, StringMatchType.Contains)));
+                MethodDataList methods = query(() -> dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingString(s, StringMatchType.Contains))));
                 if (methods.isEmpty())
                     continue;
                 return methods.get(0).getClassInstance(classLoader);
@@ -2016,9 +2080,9 @@ public class Unobfuscator {
             );
 
             var constant = 0x3684;
-            MethodDataList methods = dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingNumber(constant).opCodes(
+            MethodDataList methods = query(() -> dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingNumber(constant).opCodes(
                     OpCodesMatcher.create().opNames(opcodes).matchType(OpCodeMatchType.Contains)
-            )));
+            ))));
             if (methods.size() == 1)
                 return methods.get(0).getClassInstance(classLoader);
             throw new Exception("Refresh Status Class Not Found!");
@@ -2026,24 +2090,26 @@ public class Unobfuscator {
     }
 
     public static Method loadTcTokenMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "GET_RECEIVED_TOKEN_AND_TIMESTAMP_BY_JID"));
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadTcTokenMethod", () -> findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "GET_RECEIVED_TOKEN_AND_TIMESTAMP_BY_JID"));
     }
 
     public static Class<?> getClassByName(String className, ClassLoader classLoader) throws ClassNotFoundException {
-        if (cacheClasses.containsKey(className))
-            return cacheClasses.get(className);
-        var classDataList = dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().className(className, StringMatchType.EndsWith)));
-        if (classDataList.isEmpty())
-            throw new RuntimeException("Class " + className + " not found!");
-        var clazz = classDataList.get(0).getInstance(classLoader);
-        cacheClasses.put(className, clazz);
-        return clazz;
+        return cacheClasses.computeIfAbsent(className, name -> {
+            var classDataList = query(() -> dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().className(name, StringMatchType.EndsWith))));
+            if (classDataList.isEmpty())
+                throw new RuntimeException("Class " + name + " not found!");
+            try {
+                return classDataList.get(0).getInstance(classLoader);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
     }
 
     public static Class loadVoipManager(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadVoipManager", () -> {
             var voipClass = TkkCore.getVoipManagerClass(classLoader);
-            var superClasses = dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().superClass(voipClass.getName())));
+            var superClasses = query(() -> dexkit.findClass(FindClass.create().matcher(ClassMatcher.create().superClass(voipClass.getName()))));
             if (superClasses.isEmpty())
                 throw new ClassNotFoundException("VoipManager Class not found");
             for (var supclass : superClasses) {
@@ -2055,29 +2121,50 @@ public class Unobfuscator {
     }
 
     public static Class loadWaContactClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "problematic contact:"));
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadWaContactClass", () -> findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "problematic contact:"));
 
     }
 
 
     public static Method loadViewAddSearchBarMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "HeaderFooterRecyclerViewAdapter/addHeaderViewItemIfNeeded/duplicate-item"));
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadViewAddSearchBarMethod", () -> findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "HeaderFooterRecyclerViewAdapter/addHeaderViewItemIfNeeded/duplicate-item"));
+    }
+
+    public static Method[] loadFeedAutoPlayMethods(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethods(classLoader, "loadFeedAutoPlayMethods", () -> {
+            var methods = Arrays.stream(findAllMethodUsingStrings(classLoader, StringMatchType.Contains, "feed_player", "auto_play"))
+                    .filter(method -> method.getReturnType() == boolean.class)
+                    .toArray(Method[]::new);
+            if (methods.length == 0) throw new NoSuchMethodException("Feed auto-play methods not found");
+            return methods;
+        });
     }
 
     public static Method loadMenuSearchMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> dexkit.findMethod(FindMethod.create().matcher(MethodMatcher.create().addUsingNumber(8013).paramCount(0).returnType(boolean.class))).single().getMethodInstance(classLoader));
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadMenuSearchMethod", () -> {
+            MethodDataList methodData = query(() -> dexkit.findMethod(FindMethod.create()
+                    .matcher(MethodMatcher.create().addUsingNumber(8013)
+                            .paramCount(0)
+                            .returnType(boolean.class)
+                    )));
+            if (methodData.size() != 1)
+                throw new NoSuchMethodError("MenuSearch method not found");
+
+            return methodData.get(0).getMethodInstance(classLoader);
+        });
     }
 
 
     public static Method loadAddOptionSearchBarMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
-            var classData = Objects.requireNonNull(dexkit.getClassData(TkkCore.getHomeActivityClass(classLoader)));
-            MethodDataList methodData = classData.findMethod(FindMethod.create()
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadAddOptionSearchBarMethod", () -> {
+            var homeClass = TkkCore.getHomeActivityClass(classLoader);
+            var classData = Objects.requireNonNull(query(() -> dexkit.getClassData(homeClass)));
+            MethodDataList methodData = query(() -> classData.findMethod(FindMethod.create()
                     .matcher(MethodMatcher.create().addUsingNumber(Utils.getID("menuitem_search", "id"))
                             .addUsingNumber(200)
                             .paramCount(1)
                             .addParamType(Menu.class)
-                    ));
+                    )));
             if (methodData.isEmpty())
                 throw new NoSuchMethodError("MenuSearch not found in HomeActivity");
 
@@ -2086,28 +2173,37 @@ public class Unobfuscator {
     }
 
     public static Method loadAddMenuAndroidX(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "Maximum number of items supported by"));
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadAddMenuAndroidX", () -> findFirstMethodUsingStrings(classLoader, StringMatchType.Contains, "Maximum number of items supported by"));
     }
 
     public static Method loadConvertLidToJid(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> findFirstMethodUsingStrings(loader, StringMatchType.Contains, "WaJidMapRepository/getPhoneJidByAccountUserJid"));
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadConvertLidToJid", () -> findFirstMethodUsingStrings(loader, StringMatchType.Contains, "WaJidMapRepository/getPhoneJidByAccountUserJid"));
     }
 
     public static Method loadConvertJidToLid(ClassLoader loader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(loader, () -> findFirstMethodUsingStrings(loader, StringMatchType.Contains, "WaJidMapRepository/getAccountUserJidByPhoneJid"));
+        return UnobfuscatorCache.getInstance().getMethod(loader, "loadConvertJidToLid", () -> findFirstMethodUsingStrings(loader, StringMatchType.Contains, "WaJidMapRepository/getAccountUserJidByPhoneJid"));
     }
 
     public static Class loadWaContactData(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> findFirstClassUsingStrings(classLoader, StringMatchType.EndsWith, "WaContactData"));
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadWaContactData", () -> findFirstClassUsingStrings(classLoader, StringMatchType.EndsWith, "WaContactData"));
     }
 
     // ========== TikTok-specific Methods ==========
 
+    private static final String[] VIDEO_CLASS_STRINGS = {"download_no_watermark_addr", "download_addr"};
+    private static final String[] FEED_ITEM_CLASS_STRINGS = {"aweme", "video", "author"};
+    private static final String[] DOWNLOAD_SERVICE_CLASS_STRINGS = {"DownloadService", "aweme"};
+    private static final String[] AD_CLASS_STRINGS = {"commercialize", "ad"};
+    private static final String[] VIDEO_PLAYER_CLASS_STRINGS = {"player", "video", "play"};
+    private static final String[] STORY_CLASS_STRINGS = {"story", "awemes", "userInfo"};
+    private static final String[] BITRATE_SELECTOR_CLASS_STRINGS = {"bitrate", "selector"};
+    private static final String[] URL_MODEL_CLASS_STRINGS = {"url_list", "url_key"};
+
     /**
      * Load TikTok Video model class
      * This class contains video information including download URLs (with and without watermark)
      */
-    public synchronized static Class<?> loadTikTokVideoClass(ClassLoader classLoader) throws Exception {
+    public static Class<?> loadTikTokVideoClass(ClassLoader classLoader) throws Exception {
         return UnobfuscatorCache.getInstance().getClass(classLoader, "TikTokVideoClass", () -> {
             try {
                 // Try standard class name first
@@ -2118,7 +2214,7 @@ public class Unobfuscator {
                     return XposedHelpers.findClass("com.ss.android.ugc.aweme.video.Video", classLoader);
                 } catch (Throwable e2) {
                     // Use DexKit to find by characteristics
-                    return findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "download_no_watermark_addr", "download_addr");
+                    return findFirstClassUsingStrings(classLoader, StringMatchType.Contains, VIDEO_CLASS_STRINGS);
                 }
             }
         });
@@ -2128,13 +2224,13 @@ public class Unobfuscator {
      * Load TikTok Feed model class
      * This class represents feed items (Aweme)
      */
-    public synchronized static Class<?> loadTikTokFeedItemClass(ClassLoader classLoader) throws Exception {
+    public static Class<?> loadTikTokFeedItemClass(ClassLoader classLoader) throws Exception {
         return UnobfuscatorCache.getInstance().getClass(classLoader, "TikTokFeedItemClass", () -> {
             try {
                 return XposedHelpers.findClass("com.ss.android.ugc.aweme.feed.model.Aweme", classLoader);
             } catch (Throwable e) {
                 // Use DexKit to find by characteristics
-                return findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "aweme", "video", "author");
+                return findFirstClassUsingStrings(classLoader, StringMatchType.Contains, FEED_ITEM_CLASS_STRINGS);
             }
         });
     }
@@ -2142,7 +2238,7 @@ public class Unobfuscator {
     /**
      * Load TikTok Download Service class
      */
-    public synchronized static Class<?> loadTikTokDownloadServiceClass(ClassLoader classLoader) throws Exception {
+    public static Class<?> loadTikTokDownloadServiceClass(ClassLoader classLoader) throws Exception {
         return UnobfuscatorCache.getInstance().getClass(classLoader, "TikTokDownloadServiceClass", () -> {
             try {
                 return XposedHelpers.findClass("com.ss.android.ugc.aweme.download.component_api.DownloadServiceManager", classLoader);
@@ -2150,7 +2246,7 @@ public class Unobfuscator {
                 try {
                     return XposedHelpers.findClass("com.ss.android.ugc.aweme.download.DownloadAwemeVideoServiceImpl", classLoader);
                 } catch (Throwable e2) {
-                    return findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "DownloadService", "aweme");
+                    return findFirstClassUsingStrings(classLoader, StringMatchType.Contains, DOWNLOAD_SERVICE_CLASS_STRINGS);
                 }
             }
         });
@@ -2159,7 +2255,7 @@ public class Unobfuscator {
     /**
      * Load TikTok Ad/Commercialize class
      */
-    public synchronized static Class<?> loadTikTokAdClass(ClassLoader classLoader) throws Exception {
+    public static Class<?> loadTikTokAdClass(ClassLoader classLoader) throws Exception {
         return UnobfuscatorCache.getInstance().getClass(classLoader, "TikTokAdClass", () -> {
             try {
                 return XposedHelpers.findClass("com.ss.android.ugc.aweme.commercialize.media.impl.utils.CommercializeMediaServiceImpl", classLoader);
@@ -2167,7 +2263,7 @@ public class Unobfuscator {
                 try {
                     return XposedHelpers.findClass("com.bytedance.ies.ugc.aweme.commercialize.splash.service.CommercializeSplashServiceImpl", classLoader);
                 } catch (Throwable e2) {
-                    return findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "commercialize", "ad");
+                    return findFirstClassUsingStrings(classLoader, StringMatchType.Contains, AD_CLASS_STRINGS);
                 }
             }
         });
@@ -2176,7 +2272,7 @@ public class Unobfuscator {
     /**
      * Load TikTok Video Player class
      */
-    public synchronized static Class<?> loadTikTokVideoPlayerClass(ClassLoader classLoader) throws Exception {
+    public static Class<?> loadTikTokVideoPlayerClass(ClassLoader classLoader) throws Exception {
         return UnobfuscatorCache.getInstance().getClass(classLoader, "TikTokVideoPlayerClass", () -> {
             try {
                 return XposedHelpers.findClass("com.ss.android.ugc.aweme.player.sdk.api.OnUIPlayListener", classLoader);
@@ -2184,7 +2280,7 @@ public class Unobfuscator {
                 try {
                     return XposedHelpers.findClass("com.ss.android.ugc.aweme.video.VideoBitmapManager", classLoader);
                 } catch (Throwable e2) {
-                    return findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "player", "video", "play");
+                    return findFirstClassUsingStrings(classLoader, StringMatchType.Contains, VIDEO_PLAYER_CLASS_STRINGS);
                 }
             }
         });
@@ -2194,8 +2290,8 @@ public class Unobfuscator {
      * Find method to get no-watermark video URL
      * Based on smali analysis: getDownloadNoWatermarkAddr()Lcom/ss/android/ugc/aweme/base/model/UrlModel;
      */
-    public synchronized static Method loadTikTokNoWatermarkUrlMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadTikTokNoWatermarkUrlMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadTikTokNoWatermarkUrlMethod", () -> {
             Class<?> videoClass = loadTikTokVideoClass(classLoader);
             if (videoClass == null) throw new Exception("Video class not found");
             
@@ -2221,8 +2317,8 @@ public class Unobfuscator {
      * Find method to check if feed item is an ad
      * Based on smali analysis: isAd()Z
      */
-    public synchronized static Method loadTikTokIsAdMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadTikTokIsAdMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadTikTokIsAdMethod", () -> {
             Class<?> feedItemClass = loadTikTokFeedItemClass(classLoader);
             if (feedItemClass == null) throw new Exception("Feed item class not found");
             
@@ -2256,13 +2352,13 @@ public class Unobfuscator {
      * Load TikTok Story model class
      * Based on smali analysis: com.ss.android.ugc.aweme.story.model.Story
      */
-    public synchronized static Class<?> loadTikTokStoryClass(ClassLoader classLoader) throws Exception {
+    public static Class<?> loadTikTokStoryClass(ClassLoader classLoader) throws Exception {
         return UnobfuscatorCache.getInstance().getClass(classLoader, "TikTokStoryClass", () -> {
             try {
                 return XposedHelpers.findClass("com.ss.android.ugc.aweme.story.model.Story", classLoader);
             } catch (Throwable e) {
                 // Use DexKit to find by characteristics
-                return findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "story", "awemes", "userInfo");
+                return findFirstClassUsingStrings(classLoader, StringMatchType.Contains, STORY_CLASS_STRINGS);
             }
         });
     }
@@ -2271,7 +2367,7 @@ public class Unobfuscator {
      * Load TikTok Bitrate Selector class
      * Based on smali analysis: com.ss.android.ugc.aweme.bitrateselector.impl.DTBitrateSelectorServiceImpl
      */
-    public synchronized static Class<?> loadTikTokBitrateSelectorClass(ClassLoader classLoader) throws Exception {
+    public static Class<?> loadTikTokBitrateSelectorClass(ClassLoader classLoader) throws Exception {
         return UnobfuscatorCache.getInstance().getClass(classLoader, "TikTokBitrateSelectorClass", () -> {
             try {
                 return XposedHelpers.findClass("com.ss.android.ugc.aweme.bitrateselector.impl.DTBitrateSelectorServiceImpl", classLoader);
@@ -2280,7 +2376,7 @@ public class Unobfuscator {
                     return XposedHelpers.findClass("com.ss.android.ugc.aweme.video.bitrate.RateSettingCombineModel", classLoader);
                 } catch (Throwable e2) {
                     // Use DexKit to find by characteristics
-                    return findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "bitrate", "selector");
+                    return findFirstClassUsingStrings(classLoader, StringMatchType.Contains, BITRATE_SELECTOR_CLASS_STRINGS);
                 }
             }
         });
@@ -2290,8 +2386,8 @@ public class Unobfuscator {
      * Load method to get download address with watermark
      * Based on smali analysis: getDownloadAddr()Lcom/ss/android/ugc/aweme/base/model/UrlModel;
      */
-    public synchronized static Method loadTikTokDownloadUrlMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadTikTokDownloadUrlMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadTikTokDownloadUrlMethod", () -> {
             Class<?> videoClass = loadTikTokVideoClass(classLoader);
             if (videoClass == null) throw new Exception("Video class not found");
             
@@ -2314,8 +2410,8 @@ public class Unobfuscator {
      * Load method to check if video is ad traffic
      * Based on smali analysis: isAdTraffic()Z
      */
-    public synchronized static Method loadTikTokIsAdTrafficMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadTikTokIsAdTrafficMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadTikTokIsAdTrafficMethod", () -> {
             Class<?> feedItemClass = loadTikTokFeedItemClass(classLoader);
             if (feedItemClass == null) throw new Exception("Feed item class not found");
             
@@ -2332,12 +2428,12 @@ public class Unobfuscator {
      * Load TikTok UrlModel class
      * This class contains URL lists for video downloads
      */
-    public synchronized static Class<?> loadTikTokUrlModelClass(ClassLoader classLoader) throws Exception {
+    public static Class<?> loadTikTokUrlModelClass(ClassLoader classLoader) throws Exception {
         return UnobfuscatorCache.getInstance().getClass(classLoader, "TikTokUrlModelClass", () -> {
             try {
                 return XposedHelpers.findClass("com.ss.android.ugc.aweme.base.model.UrlModel", classLoader);
             } catch (Throwable e) {
-                return findFirstClassUsingStrings(classLoader, StringMatchType.Contains, "url_list", "url_key");
+                return findFirstClassUsingStrings(classLoader, StringMatchType.Contains, URL_MODEL_CLASS_STRINGS);
             }
         });
     }
@@ -2346,8 +2442,8 @@ public class Unobfuscator {
      * Load method to get video from Aweme
      * Based on smali analysis: getVideo()Lcom/ss/android/ugc/aweme/feed/model/Video;
      */
-    public synchronized static Method loadTikTokGetVideoMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadTikTokGetVideoMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadTikTokGetVideoMethod", () -> {
             Class<?> awemeClass = loadTikTokFeedItemClass(classLoader);
             if (awemeClass == null) throw new Exception("Aweme class not found");
             
@@ -2370,8 +2466,8 @@ public class Unobfuscator {
     /**
      * Load method to get URL list from UrlModel
      */
-    public synchronized static Method loadTikTokUrlListMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadTikTokUrlListMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadTikTokUrlListMethod", () -> {
             Class<?> urlModelClass = loadTikTokUrlModelClass(classLoader);
             if (urlModelClass == null) throw new Exception("UrlModel class not found");
             
@@ -2398,8 +2494,8 @@ public class Unobfuscator {
      * Load prevent download field from Aweme
      * Based on smali analysis: preventDownload field
      */
-    public synchronized static Method loadTikTokPreventDownloadMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadTikTokPreventDownloadMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadTikTokPreventDownloadMethod", () -> {
             Class<?> awemeClass = loadTikTokFeedItemClass(classLoader);
             if (awemeClass == null) throw new Exception("Aweme class not found");
             
@@ -2429,8 +2525,8 @@ public class Unobfuscator {
      * Load TikTok LiveStream class
      * Based on smali analysis: com.ss.android.ugc.aweme.live.*
      */
-    public synchronized static Class<?> loadTikTokLiveStreamClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadTikTokLiveStreamClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadTikTokLiveStreamClass", () -> {
             // Try standard class name first
             try {
                 return XposedHelpers.findClass("com.ss.android.ugc.aweme.live.LivePlayActivity", classLoader);
@@ -2445,7 +2541,7 @@ public class Unobfuscator {
             ClassMatcher matcher = ClassMatcher.create()
                     .className("com.ss.android.ugc.aweme.live", StringMatchType.Contains);
 
-            ClassDataList result = dexkit.findClass(FindClass.create().matcher(matcher));
+            ClassDataList result = query(() -> dexkit.findClass(FindClass.create().matcher(matcher)));
             if (!result.isEmpty()) {
                 return result.get(0).getInstance(classLoader);
             }
@@ -2457,8 +2553,8 @@ public class Unobfuscator {
      * Load TikTok Comment class
      * Based on smali analysis: com.ss.android.ugc.aweme.comment.model.Comment
      */
-    public synchronized static Class<?> loadTikTokCommentClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadTikTokCommentClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadTikTokCommentClass", () -> {
             // Try standard class name
             try {
                 return XposedHelpers.findClass("com.ss.android.ugc.aweme.comment.model.Comment", classLoader);
@@ -2469,7 +2565,7 @@ public class Unobfuscator {
                     .className("comment", StringMatchType.Contains)
                     .fieldCount(10, 50); // Comment class has multiple fields
 
-            ClassDataList result = dexkit.findClass(FindClass.create().matcher(matcher));
+            ClassDataList result = query(() -> dexkit.findClass(FindClass.create().matcher(matcher)));
             if (!result.isEmpty()) {
                 // Find class with typical comment fields
                 for (ClassData classData : result) {
@@ -2490,8 +2586,8 @@ public class Unobfuscator {
      * Load TikTok Profile/User class
      * Based on smali analysis: com.ss.android.ugc.aweme.profile.model.User
      */
-    public synchronized static Class<?> loadTikTokProfileClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadTikTokProfileClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadTikTokProfileClass", () -> {
             // Try standard class names
             try {
                 return XposedHelpers.findClass("com.ss.android.ugc.aweme.profile.model.User", classLoader);
@@ -2507,7 +2603,7 @@ public class Unobfuscator {
                     .addMethod(MethodMatcher.create().name("getUid"))
                     .addMethod(MethodMatcher.create().name("getNickname"));
 
-            ClassDataList result = dexkit.findClass(FindClass.create().matcher(matcher));
+            ClassDataList result = query(() -> dexkit.findClass(FindClass.create().matcher(matcher)));
             if (!result.isEmpty()) {
                 return result.get(0).getInstance(classLoader);
             }
@@ -2519,8 +2615,8 @@ public class Unobfuscator {
      * Load TikTok Analytics/Tracker class
      * Based on smali analysis: com.ss.android.ugc.aweme.analytics.*
      */
-    public synchronized static Class<?> loadTikTokAnalyticsClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadTikTokAnalyticsClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadTikTokAnalyticsClass", () -> {
             // Try standard class names
             try {
                 return XposedHelpers.findClass("com.ss.android.ugc.aweme.analytics.AnalyticsHelper", classLoader);
@@ -2535,7 +2631,7 @@ public class Unobfuscator {
                     .addUsingString("analytics", StringMatchType.Contains)
                     .addUsingString("track", StringMatchType.Contains);
 
-            MethodDataList result = dexkit.findMethod(FindMethod.create().matcher(methodMatcher));
+            MethodDataList result = query(() -> dexkit.findMethod(FindMethod.create().matcher(methodMatcher)));
             if (!result.isEmpty()) {
                 return result.get(0).getMethodInstance(classLoader).getDeclaringClass();
             }
@@ -2547,8 +2643,8 @@ public class Unobfuscator {
      * Load TikTok Feed Filter/Recommendation class
      * Based on smali analysis: com.ss.android.ugc.aweme.feed.model.FeedItemList
      */
-    public synchronized static Class<?> loadTikTokFeedFilterClass(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getClass(classLoader, () -> {
+    public static Class<?> loadTikTokFeedFilterClass(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getClass(classLoader, "loadTikTokFeedFilterClass", () -> {
             // Try standard class names
             try {
                 return XposedHelpers.findClass("com.ss.android.ugc.aweme.feed.model.FeedItemList", classLoader);
@@ -2563,7 +2659,7 @@ public class Unobfuscator {
                     .className("feed", StringMatchType.Contains)
                     .addMethod(MethodMatcher.create().returnType(List.class));
 
-            ClassDataList result = dexkit.findClass(FindClass.create().matcher(matcher));
+            ClassDataList result = query(() -> dexkit.findClass(FindClass.create().matcher(matcher)));
             if (!result.isEmpty()) {
                 // Look for class with feed/list in name
                 for (ClassData classData : result) {
@@ -2584,8 +2680,8 @@ public class Unobfuscator {
     /**
      * Load method to track live stream playback
      */
-    public synchronized static Method loadTikTokLiveStreamPlayMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadTikTokLiveStreamPlayMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadTikTokLiveStreamPlayMethod", () -> {
             Class<?> liveStreamClass = loadTikTokLiveStreamClass(classLoader);
             if (liveStreamClass == null) throw new Exception("LiveStream class not found");
 
@@ -2610,8 +2706,8 @@ public class Unobfuscator {
     /**
      * Load method to post or view comments
      */
-    public synchronized static Method loadTikTokCommentPostMethod(ClassLoader classLoader) throws Exception {
-        return UnobfuscatorCache.getInstance().getMethod(classLoader, () -> {
+    public static Method loadTikTokCommentPostMethod(ClassLoader classLoader) throws Exception {
+        return UnobfuscatorCache.getInstance().getMethod(classLoader, "loadTikTokCommentPostMethod", () -> {
             Class<?> commentClass = loadTikTokCommentClass(classLoader);
             if (commentClass == null) throw new Exception("Comment class not found");
 
@@ -0,0 +1,148 @@
+package com.wmods.tkkenhancer.xposed.core.devkit;
+
+import androidx.annotation.Nullable;
+
+import org.luckypray.dexkit.DexKitBridge;
+import org.luckypray.dexkit.query.BatchFindClassUsingStrings;
+import org.luckypray.dexkit.query.BatchFindMethodUsingStrings;
+import org.luckypray.dexkit.query.enums.StringMatchType;
+import org.luckypray.dexkit.result.ClassDataList;
+import org.luckypray.dexkit.result.MethodDataList;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.robv.android.xposed.XposedBridge;
+
+/**
+ * Resolves the string based lookups of every declared loader in a single DexKit pass.
+ * <p>
+ * Loaders register their string groups up front with {@link #declareClass} / {@link #declareMethod}.
+ * The first string search that hits a declared group runs one {@code batchFindClassUsingStrings}
+ * (or {@code batchFindMethodUsingStrings}) over all groups whose loader is not yet in
+ * {@link UnobfuscatorCache}, so a cold cache costs one scan instead of one scan per loader,
+ * and a warm cache (or a run where every loader resolves by name) costs no scan at all.
+ * The loaders still post-filter the results and persist them through {@link UnobfuscatorCache}.
+ */
+public class UnobfuscatorBatch {
+
+    private static final Map<String, Group> classGroups = new LinkedHashMap<>();
+    private static final Map<String, Group> methodGroups = new LinkedHashMap<>();
+
+    private static final Set<String> batchedClassGroups = new HashSet<>();
+    private static final Set<String> batchedMethodGroups = new HashSet<>();
+    private static Map<String, ClassDataList> classResults;
+    private static Map<String, MethodDataList> methodResults;
+
+    /**
+     * @param cacheKey key used by the loader in {@link UnobfuscatorCache}, or null if the loader is not cached
+     */
+    public static synchronized void declareClass(@Nullable String cacheKey, StringMatchType type, String... strings) {
+        classGroups.put(groupName(type, strings), new Group(cacheKey, type, strings));
+    }
+
+    /**
+     * @param cacheKey key used by the loader in {@link UnobfuscatorCache}, or null if the loader is not cached
+     */
+    public static synchronized void declareMethod(@Nullable String cacheKey, StringMatchType type, String... strings) {
+        methodGroups.put(groupName(type, strings), new Group(cacheKey, type, strings));
+    }
+
+    /**
+     * @return the batched result for this group, or null if the group was not part of the batch
+     */
+    @Nullable
+    public static synchronized ClassDataList findClasses(DexKitBridge dexkit, StringMatchType type, String... strings) {
+        var name = groupName(type, strings);
+        if (!classGroups.containsKey(name)) return null;
+        if (classResults == null) {
+            classResults = runClassBatch(dexkit);
+        }
+        if (!batchedClassGroups.remove(name)) return null;
+        var result = classResults.remove(name);
+        return result == null ? new ClassDataList() : result;
+    }
+
+    /**
+     * @return the batched result for this group, or null if the group was not part of the batch
+     */
+    @Nullable
+    public static synchronized MethodDataList findMethods(DexKitBridge dexkit, StringMatchType type, String... strings) {
+        var name = groupName(type, strings);
+        if (!methodGroups.containsKey(name)) return null;
+        if (methodResults == null) {
+            methodResults = runMethodBatch(dexkit);
+        }
+        if (!batchedMethodGroups.remove(name)) return null;
+        var result = methodResults.remove(name);
+        return result == null ? new MethodDataList() : result;
+    }
+
+    private static Map<String, ClassDataList> runClassBatch(DexKitBridge dexkit) {
+        var query = BatchFindClassUsingStrings.create();
+        for (var entry : classGroups.entrySet()) {
+            var group = entry.getValue();
+            if (group.isCached()) continue;
+            query.addSearchGroup(entry.getKey(), group.strings, group.type, false);
+            batchedClassGroups.add(entry.getKey());
+        }
+        if (batchedClassGroups.isEmpty()) return new HashMap<>();
+        var timemillis = System.currentTimeMillis();
+        try {
+            var result = new HashMap<>(dexkit.batchFindClassUsingStrings(query));
+            XposedBridge.log("Batch resolved " + batchedClassGroups.size() + " class groups in " + (System.currentTimeMillis() - timemillis) + "ms");
+            return result;
+        } catch (Exception e) {
+            XposedBridge.log(e);
+            batchedClassGroups.clear();
+            return new HashMap<>();
+        }
+    }
+
+    private static Map<String, MethodDataList> runMethodBatch(DexKitBridge dexkit) {
+        var query = BatchFindMethodUsingStrings.create();
+        for (var entry : methodGroups.entrySet()) {
+            var group = entry.getValue();
+            if (group.isCached()) continue;
+            query.addSearchGroup(entry.getKey(), group.strings, group.type, false);
+            batchedMethodGroups.add(entry.getKey());
+        }
+        if (batchedMethodGroups.isEmpty()) return new HashMap<>();
+        var timemillis = System.currentTimeMillis();
+        try {
+            var result = new HashMap<>(dexkit.batchFindMethodUsingStrings(query));
+            XposedBridge.log("Batch resolved " + batchedMethodGroups.size() + " method groups in " + (System.currentTimeMillis() - timemillis) + "ms");
+            return result;
+        } catch (Exception e) {
+            XposedBridge.log(e);
+            batchedMethodGroups.clear();
+            return new HashMap<>();
+        }
+    }
+
+    private static String groupName(StringMatchType type, String... strings) {
+        return type.name() + ":" + String.join("|", strings);
+    }
+
+    private static class Group {
+        private final String cacheKey;
+        private final StringMatchType type;
+        private final List<String> strings;
+
+        private Group(String cacheKey, StringMatchType type, String[] strings) {
+            this.cacheKey = cacheKey;
+            this.type = type;
+            this.strings = Arrays.asList(strings);
+        }
+
+        private boolean isCached() {
+            var cache = UnobfuscatorCache.getInstance();
+            return cacheKey != null && cache != null && cache.hasKey(cacheKey);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.wmods.tkkenhancer.xposed.core.devkit;
 
-import android.annotation.SuppressLint;
 import android.app.Application;
 import android.content.Context;
 import android.content.SharedPreferences;
@@ -12,12 +11,14 @@ import androidx.annotation.NonNull;
 
 import com.google.devrel.gmscore.tools.apk.arsc.ArscUtils;
 import com.wmods.tkkenhancer.BuildConfig;
+import com.wmods.tkkenhancer.xposed.core.StartupTrace;
 import com.wmods.tkkenhancer.xposed.utils.ReflectionUtils;
 import com.wmods.tkkenhancer.xposed.utils.ResId;
 import com.wmods.tkkenhancer.xposed.utils.Utils;
 
 import org.json.JSONException;
 import org.json.JSONObject;
+import org.luckypray.dexkit.util.DexSignUtil;
 
 import java.io.File;
 import java.lang.reflect.Constructor;
@@ -29,11 +30,14 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import de.robv.android.xposed.XposedBridge;
 import de.robv.android.xposed.XposedHelpers;
@@ -42,37 +46,63 @@ public class UnobfuscatorCache {
 
     private final Application mApplication;
     private static UnobfuscatorCache mInstance;
+    /**
+     * Prefix of the entries holding the full dex descriptors of a cached value.
+     */
+    private static final String SIGNATURE_PREFIX = "sig:";
+    /**
+     * Auxiliary preferences reset together with the cache (bridge order, ReflectionUtils field cache).
+     * Resolved members live in {@link #mHooks}.
+     */
     public final SharedPreferences sPrefsCacheHooks;
 
-    private final Map<String, String> reverseResourceMap = new HashMap<>();
-    private final SharedPreferences sPrefsCacheStrings;
+    private final ConcurrentHashMap<String, Object> resolveLocks = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Object> mResolved = new ConcurrentHashMap<>();
+    private final AtomicLong mMemoHits = new AtomicLong();
+    private final AtomicLong mMemoMisses = new AtomicLong();
+    private final BinaryCacheFile mHooks;
+    private final BinaryCacheFile mStrings;
+    private final StringIdMap mStringIds = new StringIdMap();
+    private final File mCacheDir;
+    private final long mTikTokVersion;
+    private volatile StringResourceIndex mStringIndex;
+    private volatile ClassIndex mClassIndex;
+    private volatile boolean mClassIndexFailed;
 
-    @SuppressLint("ApplySharedPref")
     public UnobfuscatorCache(Application application) {
         mApplication = application;
         try {
             sPrefsCacheHooks = mApplication.getSharedPreferences("UnobfuscatorCache", Context.MODE_PRIVATE);
-            sPrefsCacheStrings = mApplication.getSharedPreferences("UnobfuscatorCacheStrings", Context.MODE_PRIVATE);
-            long version = sPrefsCacheHooks.getLong("version", 0);
+            mCacheDir = new File(mApplication.getFilesDir(), "unobfuscator");
+            mHooks = BinaryCacheFile.load(new File(mCacheDir, "hooks.bin"));
+            mStrings = BinaryCacheFile.load(new File(mCacheDir, "strings.bin"));
+            long version = mHooks.getLong("version", 0);
             long currentVersion = mApplication.getPackageManager().getPackageInfo(mApplication.getPackageName(), 0).getLongVersionCode();
-            long savedUpdateTime = sPrefsCacheHooks.getLong("updateTime", 0);
-            String savedVersionName = sPrefsCacheHooks.getString("wae_version_name", "");
+            mTikTokVersion = currentVersion;
+            long savedUpdateTime = mHooks.getLong("updateTime", 0);
+            String savedVersionName = mHooks.get("wae_version_name");
             String versionName = BuildConfig.VERSION_NAME;
             long lastUpdateTime = savedUpdateTime;
             try {
                 lastUpdateTime = mApplication.getPackageManager().getPackageInfo(BuildConfig.APPLICATION_ID, 0).lastUpdateTime;
             } catch (Exception ignored) {
             }
-            if (version != currentVersion || savedUpdateTime != lastUpdateTime || !versionName.equals(savedVersionName)) {
+            boolean moduleChanged = savedUpdateTime != lastUpdateTime || !versionName.equals(savedVersionName);
+            if (version != currentVersion || moduleChanged) {
                 Utils.showToast(application.getString(ResId.string.starting_cache), Toast.LENGTH_LONG);
-                sPrefsCacheHooks.edit().clear().commit();
-                sPrefsCacheHooks.edit().putLong("version", currentVersion).commit();
-                sPrefsCacheHooks.edit().putLong("updateTime", lastUpdateTime).commit();
-                sPrefsCacheHooks.edit().putString("wae_version_name", versionName).commit();
+                sPrefsCacheHooks.edit().clear().apply();
+                // a new module build may change what the loaders look for, a new TikTok build usually keeps most names
+                if (moduleChanged || version == 0 || !revalidateHooks()) {
+                    mHooks.clear();
+                }
+                mHooks.put("version", String.valueOf(currentVersion));
+                mHooks.put("updateTime", String.valueOf(lastUpdateTime));
+                mHooks.put("wae_version_name", versionName);
                 if (version != currentVersion) {
-                    sPrefsCacheStrings.edit().clear().commit();
+                    mStrings.clear();
                 }
             }
+            loadStringIds();
             initCacheStrings();
         } catch (Exception e) {
             throw new RuntimeException("Can't initialize UnobfuscatorCache: " + e.getMessage(), e);
@@ -80,6 +110,40 @@ public class UnobfuscatorCache {
 
     }
 
+    /**
+     * Drops only the cached entries that no longer resolve in the installed TikTok build.
+     *
+     * @return false if revalidation is not possible and the cache has to be wiped
+     */
+    private boolean revalidateHooks() {
+        var dexkit = Unobfuscator.getDexKit();
+        if (dexkit == null) return false;
+        var span = StartupTrace.begin("UnobfuscatorCache.revalidate");
+        var timemillis = System.currentTimeMillis();
+        var validator = new UnobfuscatorCacheValidator(dexkit);
+        int kept = 0, dropped = 0;
+        var snapshot = mHooks.snapshot();
+        for (var key : snapshot.keySet()) {
+            if (key.equals("version") || key.equals("updateTime") || key.equals("wae_version_name")) continue;
+            if (key.startsWith(SIGNATURE_PREFIX)) {
+                // signature of an entry that is gone
+                if (!snapshot.containsKey(key.substring(SIGNATURE_PREFIX.length()))) mHooks.remove(key);
+                continue;
+            }
+            // entries saved before signatures were recorded have nothing to check against
+            if (validator.isValid(snapshot.get(SIGNATURE_PREFIX + key))) {
+                kept++;
+            } else {
+                mHooks.remove(key);
+                mHooks.remove(SIGNATURE_PREFIX + key);
+                dropped++;
+            }
+        }
+        span.end();
+        XposedBridge.log("Revalidated cache: kept " + kept + ", dropped " + dropped + " in " + (System.currentTimeMillis() - timemillis) + "ms");
+        return true;
+    }
+
     public static void init(Application mApp) {
         if (mInstance == null)
             mInstance = new UnobfuscatorCache(mApp);
@@ -89,6 +153,27 @@ public class UnobfuscatorCache {
         return mInstance;
     }
 
+    /**
+     * Compacts everything resolved so far into the cache files on the writer thread.
+     * Called once at the end of the hook resolution phase; until then saves only go to the journal.
+     */
+    public void flush() {
+        mHooks.save();
+        mStrings.save();
+    }
+
+    /**
+     * Parses the persisted ids once, lookups then stay on ints.
+     */
+    private void loadStringIds() {
+        for (var entry : mStrings.snapshot().entrySet()) {
+            try {
+                mStringIds.put(entry.getKey(), Integer.parseInt(entry.getValue()));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+    }
+
     private void initCacheStrings() {
         // WhatsApp-specific strings - commented out for TikTok compatibility
         // These strings don't exist in TikTok and cause unnecessary "need search obsfucate" warnings
@@ -103,7 +188,73 @@ public class UnobfuscatorCache {
         // getOfuscateIDString("updates");
     }
 
-    private void initializeReverseResourceMap() {
+    private StringResourceIndex getStringIndex() {
+        var index = mStringIndex;
+        if (index != null) return index;
+        synchronized (this) {
+            if (mStringIndex != null) return mStringIndex;
+            var file = new File(mCacheDir, "strings.idx");
+            index = StringResourceIndex.load(file, mTikTokVersion);
+            if (index == null) {
+                var currentTime = System.currentTimeMillis();
+                index = buildStringIndex();
+                if (index.size() == 0) {
+                    index = buildStringIndexBruteForce();
+                }
+                XposedBridge.log("String index built with " + index.size() + " entries in " + (System.currentTimeMillis() - currentTime) + "ms");
+                // an empty index means both builds failed, try again on the next start instead of keeping it
+                if (index.size() > 0) {
+                    try {
+                        index.save(file, mTikTokVersion);
+                    } catch (Exception e) {
+                        XposedBridge.log(e);
+                    }
+                }
+            }
+            mStringIndex = index;
+            return index;
+        }
+    }
+
+    /**
+     * @return the class index of the installed TikTok APKs, or null if DexKit could not build it
+     */
+    public ClassIndex getClassIndex() {
+        var index = mClassIndex;
+        if (index != null || mClassIndexFailed) return index;
+        synchronized (this) {
+            if (mClassIndex != null || mClassIndexFailed) return mClassIndex;
+            var file = new File(mCacheDir, "classes.idx");
+            var apks = ClassIndex.apkPaths(mApplication.getApplicationInfo());
+            long sourceKey = ClassIndex.sourceKey(mTikTokVersion, apks);
+            index = ClassIndex.load(file, sourceKey);
+            if (index == null) {
+                var dexkit = Unobfuscator.getDexKit();
+                if (dexkit == null) {
+                    mClassIndexFailed = true;
+                    return null;
+                }
+                try (var ignored = StartupTrace.begin("ClassIndex.build")) {
+                    var currentTime = System.currentTimeMillis();
+                    index = ClassIndex.build(dexkit, apks);
+                    XposedBridge.log("Class index built with " + index.size() + " classes in " + (System.currentTimeMillis() - currentTime) + "ms");
+                    index.save(file, sourceKey);
+                } catch (Throwable e) {
+                    XposedBridge.log(e);
+                    if (index == null) {
+                        mClassIndexFailed = true;
+                        return null;
+                    }
+                }
+            }
+            mClassIndex = index;
+            return index;
+        }
+    }
+
+    private StringResourceIndex buildStringIndex() {
+        var keys = new ArrayList<String>();
+        var ids = new ArrayList<Integer>();
         try {
             var app = Utils.getApplication();
             var source = app.getApplicationInfo().sourceDir;
@@ -118,24 +269,25 @@ public class UnobfuscatorCache {
                 try {
                     int keyHexValue = entry.getKey();
                     int result = baseValue << 16 | keyHexValue;
-                    String resourceString = pool.getString(entry.getValue().value().data()).toLowerCase().replaceAll("\\s", "");
-                    reverseResourceMap.put(resourceString, String.valueOf(result));
+                    String resourceString = StringResourceIndex.normalize(pool.getString(entry.getValue().value().data()));
+                    keys.add(resourceString);
+                    ids.add(result);
                 } catch (Exception ignored) {
                 }
             }
         } catch (Exception e) {
             XposedBridge.log(e);
-            reverseResourceMap.clear();
-        }
-        if (reverseResourceMap.isEmpty()) {
-            initializeReverseResourceMapBruteForce();
+            keys.clear();
+            ids.clear();
         }
+        return StringResourceIndex.of(keys, ids);
     }
 
-    private void initializeReverseResourceMapBruteForce() {
-        var currentTime = System.currentTimeMillis();
+    private StringResourceIndex buildStringIndexBruteForce() {
         int numThreads = Runtime.getRuntime().availableProcessors();
-        ExecutorService executor = Executors.newFixedThreadPool(numThreads); // Create a thread pool with 4 threads
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        var keys = new ArrayList<String>();
+        var ids = new ArrayList<Integer>();
 
         try {
             var configuration = new Configuration(mApplication.getResources().getConfiguration());
@@ -147,56 +299,59 @@ public class UnobfuscatorCache {
             int endId = 0x7f12ffff;
 
             int chunkSize = (endId - startId + 1) / numThreads;
-            CountDownLatch latch = new CountDownLatch(numThreads);
+            var futures = new ArrayList<Future<?>>();
+            var threadKeys = new ArrayList<ArrayList<String>>();
+            var threadIds = new ArrayList<ArrayList<Integer>>();
 
             for (int t = 0; t < numThreads; t++) {
                 int threadStartId = startId + t * chunkSize;
                 int threadEndId = t == numThreads - 1 ? endId : threadStartId + chunkSize - 1;
-
-                executor.submit(() -> {
-                    try {
-                        for (int i = threadStartId; i <= threadEndId; i++) {
-                            try {
-                                String resourceString = resources.getString(i);
-                                reverseResourceMap.put(resourceString.toLowerCase().replaceAll("\\s", ""), String.valueOf(i));
-                            } catch (Resources.NotFoundException ignored) {
-                            }
+                // each thread fills its own lists, merged in range order once all are done
+                var localKeys = new ArrayList<String>();
+                var localIds = new ArrayList<Integer>();
+                threadKeys.add(localKeys);
+                threadIds.add(localIds);
+
+                futures.add(executor.submit(() -> {
+                    for (int i = threadStartId; i <= threadEndId; i++) {
+                        try {
+                            localKeys.add(StringResourceIndex.normalize(resources.getString(i)));
+                            localIds.add(i);
+                        } catch (Resources.NotFoundException ignored) {
                         }
-                    } finally {
-                        latch.countDown();
                     }
-                });
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+            for (int t = 0; t < numThreads; t++) {
+                keys.addAll(threadKeys.get(t));
+                ids.addAll(threadIds.get(t));
             }
-            latch.await(); // Wait for all threads to finish
-            XposedBridge.log("String cache saved in " + (System.currentTimeMillis() - currentTime) + "ms");
         } catch (Exception e) {
             XposedBridge.log(e);
         } finally {
             executor.shutdown();
         }
+        return StringResourceIndex.of(keys, ids);
     }
 
-    private String getMapIdString(String search) {
-        if (reverseResourceMap.isEmpty()) {
-            initializeReverseResourceMap();
-            System.gc();
-        }
-        search = search.toLowerCase().replaceAll("\\s", "");
+    public int getOfuscateIDString(String search) {
+        search = StringResourceIndex.normalize(search);
+        int id = mStringIds.get(search);
+        if (id != StringIdMap.MISSING) return id;
         XposedBridge.log("need search obsfucate: " + search);
-        return reverseResourceMap.get(search);
+        int result = getStringIndex().find(search);
+        if (result != -1) {
+            mStringIds.put(search, result);
+            mStrings.put(search, String.valueOf(result));
+        }
+        return result;
     }
 
-    @SuppressLint("ApplySharedPref")
-    public int getOfuscateIDString(String search) {
-        search = search.toLowerCase().replaceAll("\\s", "");
-        var id = sPrefsCacheStrings.getString(search, null);
-        if (id == null) {
-            id = getMapIdString(search);
-            if (id != null) {
-                sPrefsCacheStrings.edit().putString(search, id).commit();
-            }
-        }
-        return id == null ? -1 : Integer.parseInt(id);
+    public boolean hasKey(String key) {
+        return mHooks.contains(key);
     }
 
     public String getString(String search) {
@@ -205,16 +360,28 @@ public class UnobfuscatorCache {
     }
 
     public Field getField(ClassLoader loader, FunctionCall<Field> functionCall) throws Exception {
-        var methodName = getKeyName();
-        String value = sPrefsCacheHooks.getString(methodName, null);
+        return getField(loader, getKeyName(), functionCall);
+    }
+
+    public Field getField(ClassLoader loader, String methodName, FunctionCall<Field> functionCall) throws Exception {
+        return memo(methodName, () -> resolveField(loader, methodName, functionCall));
+    }
+
+    private Field resolveField(ClassLoader loader, String methodName, FunctionCall<Field> functionCall) throws Exception {
+        String value = mHooks.get(methodName);
         if (value == null) {
-            try {
-                Field result = functionCall.call();
-                if (result == null) throw new NoSuchFieldException("Field is null");
-                saveField(methodName, result);
-                return result;
-            } catch (Exception e) {
-                throw new Exception("Error getting field " + methodName + ": " + e.getMessage(), e);
+            synchronized (getResolveLock(methodName)) {
+                value = mHooks.get(methodName);
+                if (value == null) {
+                    try {
+                        Field result = functionCall.call();
+                        if (result == null) throw new NoSuchFieldException("Field is null");
+                        saveField(methodName, result);
+                        return result;
+                    } catch (Exception e) {
+                        throw new Exception("Error getting field " + methodName + ": " + e.getMessage(), e);
+                    }
+                }
             }
         }
         String[] ClassAndName = value.split(":");
@@ -223,16 +390,29 @@ public class UnobfuscatorCache {
     }
 
     public Field[] getFields(ClassLoader loader, FunctionCall<Field[]> functionCall) throws Exception {
-        var methodName = getKeyName();
-        String value = sPrefsCacheHooks.getString(methodName, null);
+        return getFields(loader, getKeyName(), functionCall);
+    }
+
+    public Field[] getFields(ClassLoader loader, String methodName, FunctionCall<Field[]> functionCall) throws Exception {
+        Field[] resolved = memo(methodName, () -> resolveFields(loader, methodName, functionCall));
+        return resolved.clone();
+    }
+
+    private Field[] resolveFields(ClassLoader loader, String methodName, FunctionCall<Field[]> functionCall) throws Exception {
+        String value = mHooks.get(methodName);
         if (value == null) {
-            try {
-                Field[] result = functionCall.call();
-                if (result == null) throw new NoSuchFieldException("Fields is null");
-                saveFields(methodName, result);
-                return result;
-            } catch (Exception e) {
-                throw new Exception("Error getting fields " + methodName + ": " + e.getMessage(), e);
+            synchronized (getResolveLock(methodName)) {
+                value = mHooks.get(methodName);
+                if (value == null) {
+                    try {
+                        Field[] result = functionCall.call();
+                        if (result == null) throw new NoSuchFieldException("Fields is null");
+                        saveFields(methodName, result);
+                        return result;
+                    } catch (Exception e) {
+                        throw new Exception("Error getting fields " + methodName + ": " + e.getMessage(), e);
+                    }
+                }
             }
         }
         ArrayList<Field> fields = new ArrayList<>();
@@ -246,32 +426,57 @@ public class UnobfuscatorCache {
     }
 
     public Method getMethod(ClassLoader loader, FunctionCall<Method> functionCall) throws Exception {
-        var methodName = getKeyName();
-        String value = sPrefsCacheHooks.getString(methodName, null);
+        return getMethod(loader, getKeyName(), functionCall);
+    }
+
+    public Method getMethod(ClassLoader loader, String methodName, FunctionCall<Method> functionCall) throws Exception {
+        return memo(methodName, () -> resolveMethod(loader, methodName, functionCall));
+    }
+
+    private Method resolveMethod(ClassLoader loader, String methodName, FunctionCall<Method> functionCall) throws Exception {
+        String value = mHooks.get(methodName);
         if (value == null) {
-            try {
-                Method result = functionCall.call();
-                if (result == null) throw new NoSuchMethodException("Method is null");
-                saveMethod(methodName, result);
-                return result;
-            } catch (Exception e) {
-                throw new Exception("Error getting method " + methodName + ": " + e.getMessage(), e);
+            synchronized (getResolveLock(methodName)) {
+                value = mHooks.get(methodName);
+                if (value == null) {
+                    try {
+                        Method result = functionCall.call();
+                        if (result == null) throw new NoSuchMethodException("Method is null");
+                        saveMethod(methodName, result);
+                        return result;
+                    } catch (Exception e) {
+                        throw new Exception("Error getting method " + methodName + ": " + e.getMessage(), e);
+                    }
+                }
             }
         }
         return getMethodFromString(loader, value);
     }
 
     public Method[] getMethods(ClassLoader loader, FunctionCall<Method[]> functionCall) throws Exception {
-        var methodName = getKeyName();
-        String value = sPrefsCacheHooks.getString(methodName, null);
+        return getMethods(loader, getKeyName(), functionCall);
+    }
+
+    public Method[] getMethods(ClassLoader loader, String methodName, FunctionCall<Method[]> functionCall) throws Exception {
+        Method[] resolved = memo(methodName, () -> resolveMethods(loader, methodName, functionCall));
+        return resolved.clone();
+    }
+
+    private Method[] resolveMethods(ClassLoader loader, String methodName, FunctionCall<Method[]> functionCall) throws Exception {
+        String value = mHooks.get(methodName);
         if (value == null) {
-            try {
-                Method[] result = functionCall.call();
-                if (result == null) throw new NoSuchMethodException("Methods is null");
-                saveMethods(methodName, result);
-                return result;
-            } catch (Exception e) {
-                throw new Exception("Error getting methods " + methodName + ": " + e.getMessage(), e);
+            synchronized (getResolveLock(methodName)) {
+                value = mHooks.get(methodName);
+                if (value == null) {
+                    try {
+                        Method[] result = functionCall.call();
+                        if (result == null) throw new NoSuchMethodException("Methods is null");
+                        saveMethods(methodName, result);
+                        return result;
+                    } catch (Exception e) {
+                        throw new Exception("Error getting methods " + methodName + ": " + e.getMessage(), e);
+                    }
+                }
             }
         }
         var methodStrings = value.split("&");
@@ -301,31 +506,53 @@ public class UnobfuscatorCache {
     }
 
     public Class<?> getClass(ClassLoader loader, String key, FunctionCall<Class<?>> functionCall) throws Exception {
-        String value = sPrefsCacheHooks.getString(key, null);
+        return memo(key, () -> resolveClass(loader, key, functionCall));
+    }
+
+    private Class<?> resolveClass(ClassLoader loader, String key, FunctionCall<Class<?>> functionCall) throws Exception {
+        String value = mHooks.get(key);
         if (value == null) {
-            try {
-                Class<?> result = functionCall.call();
-                if (result == null) throw new ClassNotFoundException("Class is null");
-                saveClass(key, result);
-                return result;
-            } catch (Exception e) {
-                throw new Exception("Error getting class " + key + ": " + e.getMessage(), e);
+            synchronized (getResolveLock(key)) {
+                value = mHooks.get(key);
+                if (value == null) {
+                    try {
+                        Class<?> result = functionCall.call();
+                        if (result == null) throw new ClassNotFoundException("Class is null");
+                        saveClass(key, result);
+                        return result;
+                    } catch (Exception e) {
+                        throw new Exception("Error getting class " + key + ": " + e.getMessage(), e);
+                    }
+                }
             }
         }
         return XposedHelpers.findClass(value, loader);
     }
 
     public Class<?>[] getClasses(ClassLoader loader, FunctionCall<Class<?>[]> functionCall) throws Exception {
-        var methodName = getKeyName();
-        String value = sPrefsCacheHooks.getString(methodName, null);
+        return getClasses(loader, getKeyName(), functionCall);
+    }
+
+    public Class<?>[] getClasses(ClassLoader loader, String methodName, FunctionCall<Class<?>[]> functionCall) throws Exception {
+        Class<?>[] resolved = memo(methodName, () -> resolveClasses(loader, methodName, functionCall));
+        return resolved.clone();
+    }
+
+    private Class<?>[] resolveClasses(ClassLoader loader, String methodName, FunctionCall<Class<?>[]> functionCall) throws Exception {
+        String value = mHooks.get(methodName);
         if (value == null) {
-            try {
-                Class<?>[] result = functionCall.call();
-                if (result == null) throw new ClassNotFoundException("Classes is null");
-                saveClasses(methodName, result);
-                return result;
-            } catch (Exception e) {
-                throw new Exception("Error getting classes " + methodName + ": " + e.getMessage(), e);
+            synchronized (getResolveLock(methodName)) {
+                value = mHooks.get(methodName);
+                if (value == null) {
+                    try {
+                        Class<?>[] result = functionCall.call();
+                        if (result == null) throw new ClassNotFoundException("Classes is null");
+                        saveClasses(methodName, result);
+                        return result;
+                    } catch (Exception e) {
+                        throw new Exception("Error getting classes " + methodName + ": " + e.getMessage(), e);
+                    }
+                }
             }
         }
         String[] classStrings = value.split("&");
@@ -337,16 +564,29 @@ public class UnobfuscatorCache {
     }
 
     public HashMap<String, Field> getMapField(ClassLoader loader, FunctionCall<HashMap<String, Field>> functionCall) throws Exception {
-        var key = getKeyName();
-        String value = sPrefsCacheHooks.getString(key, null);
+        return getMapField(loader, getKeyName(), functionCall);
+    }
+
+    public HashMap<String, Field> getMapField(ClassLoader loader, String key, FunctionCall<HashMap<String, Field>> functionCall) throws Exception {
+        HashMap<String, Field> resolved = memo(key, () -> resolveMapField(loader, key, functionCall));
+        return new HashMap<>(resolved);
+    }
+
+    private HashMap<String, Field> resolveMapField(ClassLoader loader, String key, FunctionCall<HashMap<String, Field>> functionCall) throws Exception {
+        String value = mHooks.get(key);
         if (value == null) {
-            try {
-                var result = functionCall.call();
-                if (result == null) throw new Exception("HashMap is null");
-                saveHashMap(key, result);
-                return result;
-            } catch (Exception e) {
-                throw new Exception("Error getting HashMap " + key + ": " + e.getMessage(), e);
+            synchronized (getResolveLock(key)) {
+                value = mHooks.get(key);
+                if (value == null) {
+                    try {
+                        var result = functionCall.call();
+                        if (result == null) throw new Exception("HashMap is null");
+                        saveHashMap(key, result);
+                        return result;
+                    } catch (Exception e) {
+                        throw new Exception("Error getting HashMap " + key + ": " + e.getMessage(), e);
+                    }
+                }
             }
         }
         return loadHashMap(loader, key);
@@ -364,12 +604,13 @@ public class UnobfuscatorCache {
                 e.printStackTrace();
             }
         }
-        sPrefsCacheHooks.edit().putString(key, jsonObject.toString()).apply();
+        mHooks.put(key, jsonObject.toString());
+        putSignature(key, map.values().stream().map(DexSignUtil::getFieldDescriptor));
     }
 
     private HashMap<String, Field> loadHashMap(ClassLoader loader, String key) {
         HashMap<String, Field> map = new HashMap<>();
-        String jsonString = sPrefsCacheHooks.getString(key, null);
+        String jsonString = mHooks.get(key);
         if (jsonString == null) return map;
 
         try {
@@ -403,31 +644,30 @@ public class UnobfuscatorCache {
     }
 
 
-    @SuppressWarnings("ApplySharedPref")
     public void saveField(String key, Field field) {
         String value = field.getDeclaringClass().getName() + ":" + field.getName();
-        sPrefsCacheHooks.edit().putString(key, value).commit();
+        mHooks.put(key, value);
+        putSignature(key, Stream.of(DexSignUtil.getFieldDescriptor(field)));
     }
 
-    @SuppressWarnings("ApplySharedPref")
     public void saveFields(String key, Field[] fields) {
         ArrayList<String> values = new ArrayList<>();
         for (Field field : fields) {
             values.add(field.getDeclaringClass().getName() + ":" + field.getName());
         }
-        sPrefsCacheHooks.edit().putString(key, String.join("&", values)).commit();
+        mHooks.put(key, String.join("&", values));
+        putSignature(key, Arrays.stream(fields).map(DexSignUtil::getFieldDescriptor));
     }
 
-    @SuppressWarnings("ApplySharedPref")
     public void saveMethod(String key, Method method) {
         String value = method.getDeclaringClass().getName() + ":" + method.getName();
         if (method.getParameterTypes().length > 0) {
             value += ":" + Arrays.stream(method.getParameterTypes()).map(Class::getName).collect(Collectors.joining(","));
         }
-        sPrefsCacheHooks.edit().putString(key, value).commit();
+        mHooks.put(key, value);
+        putSignature(key, Stream.of(DexSignUtil.getMethodDescriptor(method)));
     }
 
-    @SuppressWarnings("ApplySharedPref")
     public void saveMethods(String key, Method[] methods) {
         ArrayList<String> values = new ArrayList<>();
         for (Method method : methods) {
@@ -437,23 +677,66 @@ public class UnobfuscatorCache {
             }
             values.add(value);
         }
-        sPrefsCacheHooks.edit().putString(key, String.join("&", values)).commit();
+        mHooks.put(key, String.join("&", values));
+        putSignature(key, Arrays.stream(methods).map(DexSignUtil::getMethodDescriptor));
     }
 
-    @SuppressWarnings("ApplySharedPref")
     public void saveClass(String message, Class<?> messageClass) {
-        sPrefsCacheHooks.edit().putString(message, messageClass.getName()).commit();
+        mHooks.put(message, messageClass.getName());
+        putSignature(message, Stream.of(DexSignUtil.getClassDescriptor(messageClass)));
     }
 
-    @SuppressWarnings("ApplySharedPref")
     public void saveClasses(String message, Class<?>[] messageClass) {
         ArrayList<String> values = new ArrayList<>();
         for (Class<?> aClass : messageClass) {
             values.add(aClass.getName());
         }
-        sPrefsCacheHooks.edit().putString(message, String.join("&", values)).commit();
+        mHooks.put(message, String.join("&", values));
+        putSignature(message, Arrays.stream(messageClass).map(DexSignUtil::getClassDescriptor));
+    }
+
+    /**
+     * Stores the full dex descriptors of a cached value, including return and field types,
+     * for {@link UnobfuscatorCacheValidator} to check after a TikTok update.
+     */
+    private void putSignature(String key, Stream<String> descriptors) {
+        mHooks.put(SIGNATURE_PREFIX + key, descriptors.collect(Collectors.joining("&")));
     }
 
+    /**
+     * Process-lifetime memo from cache key to the resolved member, so repeated requests for the same
+     * target skip parsing the stored descriptor and the reflection lookups.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T memo(String key, FunctionCall<T> resolver) throws Exception {
+        var resolved = mResolved.get(key);
+        if (resolved != null) {
+            mMemoHits.incrementAndGet();
+            return (T) resolved;
+        }
+        mMemoMisses.incrementAndGet();
+        T result = resolver.call();
+        if (result != null) mResolved.put(key, result);
+        return result;
+    }
+
+    @NonNull
+    public String getMemoStats() {
+        return "UnobfuscatorCache memo: " + mResolved.size() + " entries, " + mMemoHits.get() + " hits, " + mMemoMisses.get() + " misses";
+    }
+
+    /**
+     * Loaders resolving the same key wait for each other so every target is searched only once,
+     * while loaders for different keys run concurrently.
+     */
+    private Object getResolveLock(String key) {
+        return resolveLocks.computeIfAbsent(key, k -> new Object());
+    }
+
+    /**
+     * Fallback for callers that don't pass a key: walks the stack for the calling Unobfuscator loader.
+     * Loaders pass their own name explicitly so warm lookups skip the stack capture.
+     */
     private String getKeyName() {
         AtomicReference<String> keyName = new AtomicReference<>("");
         Arrays.stream(Thread.currentThread().getStackTrace()).filter(stackTraceElement -> stackTraceElement.getClassName().equals(Unobfuscator.class.getName())).findFirst().ifPresent(stackTraceElement -> keyName.set(stackTraceElement.getMethodName()));
@@ -461,13 +744,25 @@ public class UnobfuscatorCache {
     }
 
     public Constructor getConstructor(ClassLoader loader, FunctionCall functionCall) throws Exception {
-        var methodName = getKeyName();
-        String value = sPrefsCacheHooks.getString(methodName, null);
+        return getConstructor(loader, getKeyName(), functionCall);
+    }
+
+    public Constructor getConstructor(ClassLoader loader, String methodName, FunctionCall functionCall) throws Exception {
+        return memo(methodName, () -> resolveConstructor(loader, methodName, functionCall));
+    }
+
+    private Constructor resolveConstructor(ClassLoader loader, String methodName, FunctionCall functionCall) throws Exception {
+        String value = mHooks.get(methodName);
         if (value == null) {
-            var result = (Constructor) functionCall.call();
-            if (result == null) throw new Exception("Class is null");
-            saveConstructor(methodName, result);
-            return result;
+            synchronized (getResolveLock(methodName)) {
+                value = mHooks.get(methodName);
+                if (value == null) {
+                    var result = (Constructor) functionCall.call();
+                    if (result == null) throw new Exception("Class is null");
+                    saveConstructor(methodName, result);
+                    return result;
+                }
+            }
         }
         String[] classAndName = value.split(":");
         Class<?> cls = XposedHelpers.findClass(classAndName[0], loader);
@@ -479,13 +774,13 @@ public class UnobfuscatorCache {
         return XposedHelpers.findConstructorExact(cls);
     }
 
-    @SuppressWarnings("ApplySharedPref")
     private void saveConstructor(String key, Constructor constructor) {
         String value = constructor.getDeclaringClass().getName();
         if (constructor.getParameterTypes().length > 0) {
             value += ":" + Arrays.stream(constructor.getParameterTypes()).map(Class::getName).collect(Collectors.joining(","));
         }
-        sPrefsCacheHooks.edit().putString(key, value).commit();
+        mHooks.put(key, value);
+        putSignature(key, Stream.of(DexSignUtil.getConstructorDescriptor(constructor)));
     }
 
 
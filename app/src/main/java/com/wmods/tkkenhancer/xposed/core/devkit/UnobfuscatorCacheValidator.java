@@ -0,0 +1,66 @@
+package com.wmods.tkkenhancer.xposed.core.devkit;
+
+import androidx.annotation.Nullable;
+
+import org.luckypray.dexkit.DexKitBridge;
+import org.luckypray.dexkit.result.ClassData;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import de.robv.android.xposed.XposedBridge;
+
+/**
+ * Checks cached loader results against a newly installed TikTok build.
+ * <p>
+ * Next to every value, {@link UnobfuscatorCache} records the full dex descriptors of what it
+ * resolved to: {@code Lcls;} for classes, {@code Lcls;->name(params)ret} for methods and
+ * constructors, and {@code Lcls;->name:type} for fields. Each descriptor is looked up directly in the
+ * dex through DexKit, which is an index lookup rather than a search, so checking the whole cache is
+ * far cheaper than re-running the loaders. An entry is only kept if every member still exists with
+ * the same parameter, return and field types; the others are reported stale and only those
+ * loaders search again.
+ */
+public class UnobfuscatorCacheValidator {
+
+    private final DexKitBridge mDexKit;
+    private final Map<String, ClassData> mClasses = new HashMap<>();
+
+    public UnobfuscatorCacheValidator(DexKitBridge dexkit) {
+        mDexKit = dexkit;
+    }
+
+    /**
+     * @param signature the {@code &}-joined descriptors recorded for a cached value, or null if none were
+     * @return true if every descriptor still resolves in the installed build
+     */
+    public boolean isValid(@Nullable String signature) {
+        if (signature == null || signature.isEmpty()) return false;
+        try {
+            for (var descriptor : signature.split("&")) {
+                if (!isDescriptorValid(descriptor)) return false;
+            }
+            return true;
+        } catch (Exception e) {
+            XposedBridge.log("Cache revalidation failed for " + signature + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isDescriptorValid(String descriptor) {
+        int arrow = descriptor.indexOf("->");
+        if (arrow < 0) return getClassData(descriptor) != null;
+        // members of one class are usually checked together, so a missing class fails fast
+        if (getClassData(descriptor.substring(0, arrow)) == null) return false;
+        if (descriptor.indexOf('(', arrow) >= 0) return mDexKit.getMethodData(descriptor) != null;
+        return mDexKit.getFieldData(descriptor) != null;
+    }
+
+    @Nullable
+    private ClassData getClassData(String classDescriptor) {
+        if (mClasses.containsKey(classDescriptor)) return mClasses.get(classDescriptor);
+        var classData = mDexKit.getClassData(classDescriptor);
+        mClasses.put(classDescriptor, classData);
+        return classData;
+    }
+}
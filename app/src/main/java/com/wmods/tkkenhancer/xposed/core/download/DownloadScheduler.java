@@ -0,0 +1,445 @@
+package com.wmods.tkkenhancer.xposed.core.download;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.wmods.tkkenhancer.xposed.core.TkkCore;
+import com.wmods.tkkenhancer.xposed.core.TkkSettings;
+import com.wmods.tkkenhancer.xposed.core.db.DownloadQueueStore;
+import com.wmods.tkkenhancer.xposed.utils.Utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.robv.android.xposed.XposedBridge;
+
+/**
+ * Runs the jobs of the {@link DownloadQueueStore} with the {@link SegmentedDownloader}.
+ * <p>
+ * At most {@code download_workers} jobs run at once and at most {@link #MAX_JOBS_PER_HOST} of them
+ * against the same CDN host. A failed job is retried after an exponential backoff with jitter
+ * until {@link #MAX_ATTEMPTS}. Nothing starts while there is no validated network, or while the
+ * network is metered and {@code download_unmetered_only} is set; a network callback resumes the queue.
+ * <p>
+ * A job's first attempt streams straight to the download folder through the bridge. Retries use the
+ * resumable segmented download into the cache and copy the result, so they keep their progress.
+ * Saved files are indexed by aweme id and SHA-256 of their content: an aweme that is already saved
+ * is not downloaded again, and a download whose content is already saved under another name is
+ * discarded and recorded as pointing to the existing file.
+ * <p>
+ * Every scheduling decision, including opening the store and queueing, runs on one thread, so the
+ * worker and host counts and the listeners need no locks and callers on the main thread never touch
+ * the database. Workers finish their downloads under {@link #mSaveLock}: the duplicate lookup, the
+ * confirmed write and the saved index insert of one download happen before those of the next, so
+ * two workers with the same content cannot both keep it.
+ */
+public class DownloadScheduler {
+
+    private static final int MAX_WORKERS = 4;
+    private static final int DEFAULT_WORKERS = 2;
+    private static final int MAX_JOBS_PER_HOST = 2;
+    private static final int MAX_ATTEMPTS = 6;
+    private static final long BASE_BACKOFF_MS = 5_000;
+    private static final long MAX_BACKOFF_MS = 10 * 60_000;
+    private static final int HASH_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * {@link Listener#onQueued} results.
+     */
+    public static final int QUEUED = 0;
+    public static final int ALREADY_QUEUED = 1;
+    public static final int ALREADY_SAVED = 2;
+
+    private static DownloadScheduler sInstance;
+
+    private final Context mContext;
+    /**
+     * Opened by the first task on the scheduler thread; workers only start after it.
+     */
+    private DownloadQueueStore mStore;
+    private final ScheduledExecutorService mScheduler;
+    private final ExecutorService mWorkers;
+    private final HashMap<String, Integer> mActivePerHost = new HashMap<>();
+    private final HashMap<String, List<Listener>> mListeners = new HashMap<>();
+    private final Object mSaveLock = new Object();
+    private int mActive;
+    private ScheduledFuture<?> mWakeUp;
+    private boolean mWaitingForNetwork;
+
+    private DownloadScheduler(Context context) {
+        mContext = context;
+        mScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            var thread = new Thread(r, "TkkDownloadScheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var threadCount = new AtomicInteger();
+        mWorkers = Executors.newFixedThreadPool(MAX_WORKERS, r -> {
+            var thread = new Thread(r, "TkkDownloadWorker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates the scheduler on first use; the store is opened and jobs interrupted by the last
+     * process are requeued on the scheduler thread.
+     */
+    @NonNull
+    public static synchronized DownloadScheduler getInstance() {
+        if (sInstance == null) {
+            var scheduler = new DownloadScheduler(Utils.getApplication());
+            scheduler.mScheduler.execute(() -> {
+                scheduler.mStore = DownloadQueueStore.getInstance();
+                scheduler.mStore.recover();
+                scheduler.pump();
+            });
+            sInstance = scheduler;
+        }
+        return sInstance;
+    }
+
+    /**
+     * Queues a download on the scheduler thread; the file is saved under {@code fileName} in the
+     * download folder. An aweme that already has an active job joins it instead.
+     *
+     * @param listener called on the scheduler thread
+     */
+    public void enqueue(@NonNull String awemeId, @NonNull List<String> urls, @NonNull String fileName, int priority, @Nullable Listener listener) {
+        mScheduler.execute(() -> {
+            try {
+                if (urls.isEmpty()) throw new IOException("No download URL");
+                if (isSavedIfKnown(awemeId)) {
+                    if (listener != null) {
+                        listener.onQueued(ALREADY_SAVED);
+                        listener.onFinished(null);
+                    }
+                    return;
+                }
+                var host = Uri.parse(urls.get(0)).getHost();
+                boolean queued = mStore.insertJob(awemeId, urls, host == null ? "" : host, fileName, priority) != -1;
+                if (listener != null) {
+                    var listeners = mListeners.get(awemeId);
+                    if (listeners == null) mListeners.put(awemeId, listeners = new ArrayList<>());
+                    listeners.add(listener);
+                    listener.onQueued(queued ? QUEUED : ALREADY_QUEUED);
+                }
+                if (queued) pump();
+            } catch (Throwable e) {
+                XposedBridge.log(e);
+                if (listener != null) listener.onFinished(e.toString());
+            }
+        });
+    }
+
+    private void pump() {
+        int workers = getWorkerCount();
+        if (mActive >= workers) return;
+        if (!isNetworkAllowed()) {
+            waitForNetwork();
+            return;
+        }
+        var now = System.currentTimeMillis();
+        // fetch a few extra so jobs blocked by a busy host do not stall the others
+        for (var job : mStore.getRunnableJobs(now, workers * 4)) {
+            if (mActive >= workers) break;
+            int hostJobs = mActivePerHost.getOrDefault(job.host, 0);
+            if (hostJobs >= MAX_JOBS_PER_HOST) continue;
+            mActivePerHost.put(job.host, hostJobs + 1);
+            mActive++;
+            mStore.setStatus(job.id, DownloadQueueStore.STATUS_RUNNING, null);
+            mWorkers.execute(() -> run(job));
+        }
+        scheduleWakeUp();
+    }
+
+    private void run(DownloadQueueStore.Job job) {
+        String error = null;
+        var cacheFile = new File(new File(mContext.getCacheDir(), "downloads"), job.fileName);
+        try {
+            if (isSaved(job.awemeId)) {
+                // saved by an earlier job since this one was queued
+                error = "";
+            } else {
+                var destFile = new File(Utils.getDestination("Videos"), job.fileName);
+                if (job.attempts == 0 && !new File(cacheFile.getPath() + ".state").exists()) {
+                    error = streamToDestination(job, destFile);
+                } else {
+                    error = downloadAndCopy(job, cacheFile, destFile);
+                }
+            }
+        } catch (IOException e) {
+            error = e.getMessage() == null ? e.toString() : e.getMessage();
+        } catch (Throwable e) {
+            // anything else still has to reach finish(), or the job would hold its slots forever
+            XposedBridge.log(e);
+            error = e.toString();
+        }
+        var result = error;
+        mScheduler.execute(() -> finish(job, result));
+    }
+
+    /**
+     * Writes the download straight into the bridge write stream, so the video hits the disk once,
+     * hashing it on the way. Failures close the stream with an error, which makes the module app
+     * discard the partial file; so does finding the same content already saved under another name.
+     * The aweme is only recorded as saved once the module app confirms the file is synced and in place.
+     */
+    private String streamToDestination(DownloadQueueStore.Job job, File destFile) throws Exception {
+        var bridge = TkkCore.getClientBridge();
+        var path = destFile.getAbsolutePath();
+        var pipe = bridge.openWriteStream(path);
+        if (pipe == null) return "Can't open " + path;
+        var digest = newDigest();
+        var size = new long[1];
+        try {
+            // does not own the descriptor, the pipe is closed below
+            var out = new DigestOutputStream(new FileOutputStream(pipe.getFileDescriptor()), digest);
+            SegmentedDownloader.getInstance().downloadTo(job.urls, out, (downloaded, total) -> size[0] = downloaded);
+            var hash = digest.digest();
+            synchronized (mSaveLock) {
+                var duplicate = findDuplicate(hash, size[0], path);
+                if (duplicate != null) {
+                    pipe.closeWithError("Same content as " + duplicate);
+                    bridge.finishWriteStream(path);
+                    mStore.putSaved(job.awemeId, hash, size[0], duplicate);
+                    return "";
+                }
+                pipe.close();
+                var error = bridge.finishWriteStream(path);
+                if (error == null) return "No answer from the bridge for " + path;
+                if (error.isEmpty()) mStore.putSaved(job.awemeId, hash, size[0], path);
+                return error;
+            }
+        } catch (Exception e) {
+            try {
+                pipe.closeWithError(e.getMessage() == null ? e.toString() : e.getMessage());
+                bridge.finishWriteStream(path);
+            } catch (Exception ignored) {
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Resumable path: segmented download into the cache, then a copy to the download folder.
+     * The segments arrive out of order, so the hash is taken from the finished cache file.
+     */
+    private String downloadAndCopy(DownloadQueueStore.Job job, File cacheFile, File destFile) throws Exception {
+        SegmentedDownloader.getInstance().download(job.urls, cacheFile, null);
+        var digest = newDigest();
+        try (var channel = new FileInputStream(cacheFile).getChannel()) {
+            var buffer = ByteBuffer.allocateDirect(HASH_BUFFER_SIZE);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        var hash = digest.digest();
+        var size = cacheFile.length();
+        var path = destFile.getAbsolutePath();
+        synchronized (mSaveLock) {
+            var duplicate = findDuplicate(hash, size, path);
+            if (duplicate != null) {
+                mStore.putSaved(job.awemeId, hash, size, duplicate);
+                cacheFile.delete();
+                return "";
+            }
+            var error = Utils.copyFile(cacheFile, destFile.getParent(), destFile.getName(), true);
+            if (error.isEmpty()) {
+                mStore.putSaved(job.awemeId, hash, size, path);
+                // synced before the only other copy is deleted
+                cacheFile.delete();
+            }
+            return error;
+        }
+    }
+
+    /**
+     * Called under {@link #mSaveLock}. Forgets the indexed file with the same content if it was
+     * deleted since.
+     *
+     * @return a different file that still exists with the same content, or null if there is none
+     * @throws Exception if the bridge cannot tell whether the other file exists
+     */
+    private String findDuplicate(byte[] hash, long size, String path) throws Exception {
+        var existing = mStore.findSavedPath(hash, size);
+        if (existing == null || existing.equals(path)) return null;
+        if (fileExists(existing)) return existing;
+        mStore.removeSaved(existing);
+        return null;
+    }
+
+    /**
+     * One indexed lookup plus a check that the file was not deleted since, instead of listing the
+     * download folder. Runs on the scheduler or a worker thread, never on the caller's.
+     *
+     * @return true if the aweme has already been saved and its file still exists
+     * @throws Exception if the bridge cannot tell whether the file exists; the index is left as is
+     */
+    private boolean isSaved(@NonNull String awemeId) throws Exception {
+        var path = mStore.getSavedPath(awemeId);
+        if (path == null) return false;
+        if (fileExists(path)) return true;
+        mStore.removeSaved(path);
+        return false;
+    }
+
+    /**
+     * {@link #isSaved} for queueing: without the bridge the aweme is queued anyway, and the job
+     * checks again when it runs.
+     */
+    private boolean isSavedIfKnown(@NonNull String awemeId) {
+        try {
+            return isSaved(awemeId);
+        } catch (Exception e) {
+            XposedBridge.log("Can't check if " + awemeId + " is saved: " + e);
+            return false;
+        }
+    }
+
+    /**
+     * @return false only if the module app answered that the file cannot be opened
+     * @throws Exception if the bridge is not connected or the call failed
+     */
+    private static boolean fileExists(String path) throws Exception {
+        // the download folder is not always readable from TikTok, so ask the bridge
+        var descriptor = TkkCore.getClientBridge().openFile(path, false);
+        if (descriptor == null) return false;
+        try {
+            descriptor.close();
+        } catch (IOException ignored) {
+        }
+        return true;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void finish(DownloadQueueStore.Job job, String error) {
+        mActive--;
+        int hostJobs = mActivePerHost.getOrDefault(job.host, 1) - 1;
+        if (hostJobs <= 0) mActivePerHost.remove(job.host);
+        else mActivePerHost.put(job.host, hostJobs);
+
+        if (error == null || error.isEmpty()) {
+            mStore.setStatus(job.id, DownloadQueueStore.STATUS_DONE, null);
+            notifyFinished(job.awemeId, null);
+        } else if (job.attempts + 1 >= MAX_ATTEMPTS) {
+            XposedBridge.log("Download of " + job.fileName + " failed for good: " + error);
+            mStore.setStatus(job.id, DownloadQueueStore.STATUS_FAILED, error);
+            notifyFinished(job.awemeId, error);
+        } else {
+            int attempts = job.attempts + 1;
+            mStore.reschedule(job.id, attempts, System.currentTimeMillis() + backoff(attempts), error);
+        }
+        pump();
+    }
+
+    private void notifyFinished(String awemeId, @Nullable String error) {
+        var listeners = mListeners.remove(awemeId);
+        if (listeners == null) return;
+        for (var listener : listeners) {
+            try {
+                listener.onFinished(error);
+            } catch (Throwable e) {
+                XposedBridge.log(e);
+            }
+        }
+    }
+
+    /**
+     * Exponential backoff with equal jitter: half of the delay is fixed, the other half random,
+     * so retries of jobs that failed together spread out.
+     */
+    private static long backoff(int attempts) {
+        long delay = Math.min(MAX_BACKOFF_MS, BASE_BACKOFF_MS << Math.min(attempts - 1, 20));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    private void scheduleWakeUp() {
+        if (mWakeUp != null) mWakeUp.cancel(false);
+        mWakeUp = null;
+        // runnable jobs still waiting for a worker or a host slot are picked up by finish()
+        long now = System.currentTimeMillis();
+        long next = mStore.getNextAttemptTime(now);
+        if (next < 0) return;
+        mWakeUp = mScheduler.schedule(this::pump, next - now, TimeUnit.MILLISECONDS);
+    }
+
+    private int getWorkerCount() {
+        try {
+            var value = Integer.parseInt(TkkSettings.get().getString("download_workers", String.valueOf(DEFAULT_WORKERS)));
+            return Math.max(1, Math.min(MAX_WORKERS, value));
+        } catch (NumberFormatException e) {
+            return DEFAULT_WORKERS;
+        }
+    }
+
+    private boolean isNetworkAllowed() {
+        var connectivity = mContext.getSystemService(ConnectivityManager.class);
+        if (connectivity == null) return true;
+        var capabilities = connectivity.getNetworkCapabilities(connectivity.getActiveNetwork());
+        if (capabilities == null || !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_VALIDATED)) return false;
+        return !TkkSettings.get().getBoolean("download_unmetered_only", false)
+                || capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED);
+    }
+
+    private void waitForNetwork() {
+        if (mWaitingForNetwork) return;
+        var connectivity = mContext.getSystemService(ConnectivityManager.class);
+        if (connectivity == null) return;
+        mWaitingForNetwork = true;
+        connectivity.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+            @Override
+            public void onCapabilitiesChanged(@NonNull Network network, @NonNull NetworkCapabilities capabilities) {
+                mScheduler.execute(() -> {
+                    if (!mWaitingForNetwork || !isNetworkAllowed()) return;
+                    mWaitingForNetwork = false;
+                    connectivity.unregisterNetworkCallback(this);
+                    pump();
+                });
+            }
+        });
+    }
+
+    public interface Listener {
+        /**
+         * @param result {@link #QUEUED}, {@link #ALREADY_QUEUED} or {@link #ALREADY_SAVED}
+         */
+        void onQueued(int result);
+
+        /**
+         * The aweme is saved, or its job failed for good with {@code error}.
+         */
+        void onFinished(@Nullable String error);
+    }
+}
@@ -0,0 +1,159 @@
+package com.wmods.tkkenhancer.xposed.core.download;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a segmented download, persisted next to the partial file so an interrupted
+ * download resumes each segment where it stopped.
+ * <p>
+ * The state only applies to the same content: it records the total length and the entity
+ * validator (strong ETag or Last-Modified) the server reported when the download started.
+ */
+class DownloadState {
+
+    final long length;
+    @Nullable
+    final String validator;
+    final List<Segment> segments;
+
+    private DownloadState(long length, @Nullable String validator, List<Segment> segments) {
+        this.length = length;
+        this.validator = validator;
+        this.segments = Collections.unmodifiableList(segments);
+    }
+
+    /**
+     * Splits {@code length} bytes into {@code count} contiguous segments.
+     */
+    @NonNull
+    static DownloadState create(long length, @Nullable String validator, int count) {
+        var segments = new ArrayList<Segment>(count);
+        long size = length / count;
+        for (int i = 0; i < count; i++) {
+            long start = i * size;
+            long end = i == count - 1 ? length - 1 : start + size - 1;
+            segments.add(new Segment(start, end, 0));
+        }
+        return new DownloadState(length, validator, segments);
+    }
+
+    /**
+     * @return true if the saved bytes belong to the same content, which can only be told with a validator
+     */
+    boolean matches(long length, @Nullable String validator) {
+        return validator != null && this.length == length && validator.equals(this.validator);
+    }
+
+    long downloaded() {
+        long total = 0;
+        for (var segment : segments) total += segment.done.get();
+        return total;
+    }
+
+    /**
+     * @return the saved state, or null if it is missing, unreadable or its segments do not tile the file
+     */
+    @Nullable
+    static DownloadState load(File file) {
+        if (!file.exists()) return null;
+        try {
+            var json = new JSONObject(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+            long length = json.getLong("length");
+            var array = json.getJSONArray("segments");
+            if (length <= 0 || array.length() == 0) return null;
+            var segments = new ArrayList<Segment>(array.length());
+            long next = 0;
+            for (int i = 0; i < array.length(); i++) {
+                var item = array.getJSONArray(i);
+                var segment = new Segment(item.getLong(0), item.getLong(1), item.getLong(2));
+                // segments must cover [0, length) back to back, as create() lays them out
+                if (segment.start != next || segment.end < segment.start || segment.end >= length) return null;
+                if (segment.done.get() < 0 || segment.start + segment.done.get() > segment.end + 1) return null;
+                segments.add(segment);
+                next = segment.end + 1;
+            }
+            if (next != length) return null;
+            return new DownloadState(length, json.optString("validator", null), segments);
+        } catch (IOException | JSONException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the bytes done of every segment, taken before forcing the file so a save of them never
+     * claims bytes written after the force
+     */
+    long[] snapshot() {
+        var done = new long[segments.size()];
+        for (int i = 0; i < done.length; i++) done[i] = segments.get(i).done.get();
+        return done;
+    }
+
+    /**
+     * Saves the current counters, only when no segment is writing anymore.
+     */
+    void save(File file) throws IOException {
+        save(file, snapshot());
+    }
+
+    /**
+     * Writes a temporary file and renames it over the old state, so a crash never leaves a torn state.
+     *
+     * @param done a {@link #snapshot} taken before the file was forced
+     */
+    synchronized void save(File file, long[] done) throws IOException {
+        try {
+            var array = new JSONArray();
+            for (int i = 0; i < done.length; i++) {
+                var segment = segments.get(i);
+                array.put(new JSONArray().put(segment.start).put(segment.end).put(done[i]));
+            }
+            var json = new JSONObject()
+                    .put("length", length)
+                    .put("segments", array);
+            if (validator != null) json.put("validator", validator);
+            var tmp = new File(file.getPath() + ".tmp");
+            try (var out = new FileOutputStream(tmp)) {
+                out.write(json.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (JSONException e) {
+            throw new IOException(e);
+        }
+    }
+
+    static class Segment {
+        final long start;
+        /**
+         * Inclusive, like the HTTP Range header.
+         */
+        final long end;
+        final AtomicLong done;
+
+        Segment(long start, long end, long done) {
+            this.start = start;
+            this.end = end;
+            this.done = new AtomicLong(done);
+        }
+
+        long remaining() {
+            return end - start + 1 - done.get();
+        }
+    }
+}
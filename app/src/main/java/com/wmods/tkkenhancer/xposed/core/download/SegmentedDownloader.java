@@ -0,0 +1,423 @@
+package com.wmods.tkkenhancer.xposed.core.download;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import de.robv.android.xposed.XposedBridge;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Downloads a file over several HTTP Range connections at once, on the OkHttp bundled with the module.
+ * <p>
+ * Files large enough are split into up to {@link #MAX_CONNECTIONS} segments fetched in parallel and
+ * written in place into {@code <target>.part}. Segment progress is saved to {@code <target>.state},
+ * so a later call for the same target resumes every segment where it stopped, as long as the server
+ * still reports the same length and validator. Without a validator the content cannot be told apart
+ * from a changed file, so the download starts over. Each segment tries the mirror URLs in order
+ * (TikTok's {@code UrlModel.getUrlList()}), starting from the first one that answered the probe.
+ * Servers without range support get a single plain stream with no resume.
+ */
+public class SegmentedDownloader {
+
+    private static final int MAX_CONNECTIONS = 4;
+    private static final long MIN_SEGMENT_SIZE = 1024 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /**
+     * Bytes a segment downloads between state saves.
+     */
+    private static final long STATE_SAVE_INTERVAL = 4 * 1024 * 1024;
+    private static final int ATTEMPTS_PER_MIRROR = 2;
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+)");
+
+    private static SegmentedDownloader sInstance;
+
+    private final OkHttpClient mClient;
+    private final ExecutorService mExecutor;
+
+    public interface ProgressListener {
+        /**
+         * @param total -1 if the server did not report a length
+         */
+        void onProgress(long downloaded, long total);
+    }
+
+    public SegmentedDownloader(@NonNull OkHttpClient client, @NonNull ExecutorService executor) {
+        mClient = client;
+        mExecutor = executor;
+    }
+
+    @NonNull
+    public static synchronized SegmentedDownloader getInstance() {
+        if (sInstance == null) {
+            var client = new OkHttpClient.Builder()
+                    .connectTimeout(15, TimeUnit.SECONDS)
+                    .readTimeout(30, TimeUnit.SECONDS)
+                    .build();
+            var threadCount = new AtomicInteger();
+            var executor = new ThreadPoolExecutor(MAX_CONNECTIONS * 2, MAX_CONNECTIONS * 2, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                var thread = new Thread(r, "TkkDownload-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+            sInstance = new SegmentedDownloader(client, executor);
+        }
+        return sInstance;
+    }
+
+    /**
+     * Downloads into {@code target}, blocking until it is complete.
+     *
+     * @param urls mirrors of the same content, tried in order
+     * @throws InterruptedIOException if the calling thread was interrupted; progress is kept for a later call
+     */
+    public void download(@NonNull List<String> urls, @NonNull File target, @Nullable ProgressListener listener) throws IOException {
+        if (urls.isEmpty()) throw new IOException("No download URL");
+        var part = new File(target.getPath() + ".part");
+        var stateFile = new File(target.getPath() + ".state");
+        var parent = target.getParentFile();
+        if (parent != null && !parent.exists()) parent.mkdirs();
+
+        Probe probe = null;
+        int mirror = 0;
+        IOException failure = null;
+        for (; mirror < urls.size(); mirror++) {
+            try {
+                probe = probe(urls.get(mirror));
+                break;
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (probe == null) throw failure;
+
+        if (probe.ranged) {
+            downloadSegments(urls, mirror, probe, part, stateFile, listener);
+        } else {
+            downloadStream(urls, mirror, part, listener);
+        }
+        Files.move(part.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        stateFile.delete();
+    }
+
+    /**
+     * Downloads sequentially into {@code out}, for sinks that cannot seek such as the bridge write stream.
+     * <p>
+     * There are no parallel segments and nothing is kept for a later call, but a dropped connection
+     * continues with a Range request from the bytes already written, on the same or the next mirror.
+     * Errors writing to {@code out} are not retried.
+     */
+    public void downloadTo(@NonNull List<String> urls, @NonNull OutputStream out, @Nullable ProgressListener listener) throws IOException {
+        if (urls.isEmpty()) throw new IOException("No download URL");
+        long written = 0;
+        long total = -1;
+        String validator = null;
+        IOException failure = null;
+        for (var url : urls) {
+            for (int attempt = 0; attempt < ATTEMPTS_PER_MIRROR; attempt++) {
+                var builder = newRequest(url);
+                if (written > 0) {
+                    builder.header("Range", "bytes=" + written + "-");
+                    if (validator != null) builder.header("If-Range", validator);
+                }
+                try (var response = mClient.newCall(builder.build()).execute()) {
+                    if (written > 0) {
+                        if (response.code() != 206) throw new IOException("HTTP " + response.code() + " for range request");
+                        var range = parseContentRange(response);
+                        if (range == null || range[0] != written || (total >= 0 && range[2] != total)) {
+                            throw new IOException("Mirror does not serve the same content");
+                        }
+                    } else {
+                        if (!response.isSuccessful()) throw new IOException("HTTP " + response.code());
+                        total = response.body().contentLength();
+                        validator = validatorOf(response);
+                    }
+                    var in = response.body().byteStream();
+                    var buffer = new byte[BUFFER_SIZE];
+                    int read;
+                    while ((read = in.read(buffer)) >= 0) {
+                        if (Thread.interrupted()) throw new InterruptedIOException("Download interrupted");
+                        try {
+                            out.write(buffer, 0, read);
+                        } catch (IOException e) {
+                            throw new SinkException(e);
+                        }
+                        written += read;
+                        if (listener != null) listener.onProgress(written, total);
+                    }
+                    if (total >= 0 && written != total) throw new EOFException("Expected " + total + " bytes, got " + written);
+                    return;
+                } catch (InterruptedIOException e) {
+                    throw e;
+                } catch (SinkException e) {
+                    throw (IOException) e.getCause();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+        }
+        throw failure;
+    }
+
+    private void downloadSegments(List<String> urls, int mirror, Probe probe, File part, File stateFile, @Nullable ProgressListener listener) throws IOException {
+        var state = DownloadState.load(stateFile);
+        if (state == null || !state.matches(probe.length, probe.validator) || !part.exists()) {
+            state = DownloadState.create(probe.length, probe.validator, segmentCount(probe.length));
+            part.delete();
+        } else {
+            XposedBridge.log("Resuming download of " + part.getName() + " at " + state.downloaded() + "/" + state.length);
+        }
+        var progress = new AtomicLong(state.downloaded());
+        var finalState = state;
+        var cancellation = new Cancellation();
+        try (var raf = new RandomAccessFile(part, "rw"); var channel = raf.getChannel()) {
+            raf.setLength(state.length);
+            var futures = new ArrayList<Future<?>>();
+            for (var segment : state.segments) {
+                if (segment.remaining() == 0) continue;
+                futures.add(mExecutor.submit(() -> {
+                    fetchSegment(urls, mirror, segment, finalState, channel, stateFile, progress, listener, cancellation);
+                    return null;
+                }));
+            }
+            IOException failure = null;
+            boolean interrupted = false;
+            // never interrupt the segments: an interrupt inside FileChannel I/O closes the channel for all of them
+            for (var future : futures) {
+                while (true) {
+                    try {
+                        future.get();
+                        break;
+                    } catch (ExecutionException e) {
+                        if (failure == null) {
+                            failure = e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+                            // the other segments are pointless now, keep what they have so far
+                            cancellation.cancel();
+                        }
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                        if (failure == null) failure = new InterruptedIOException("Download interrupted");
+                        cancellation.cancel();
+                    }
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+            if (failure != null) {
+                // every segment has stopped writing, so the counters match the forced file
+                channel.force(false);
+                state.save(stateFile);
+                throw failure;
+            }
+        }
+    }
+
+    private void fetchSegment(List<String> urls, int firstMirror, DownloadState.Segment segment, DownloadState state, FileChannel channel,
+                              File stateFile, AtomicLong progress, @Nullable ProgressListener listener, Cancellation cancellation) throws IOException {
+        IOException failure = null;
+        for (int i = 0; i < urls.size(); i++) {
+            var url = urls.get((firstMirror + i) % urls.size());
+            for (int attempt = 0; attempt < ATTEMPTS_PER_MIRROR; attempt++) {
+                if (cancellation.cancelled) throw new InterruptedIOException("Download cancelled");
+                try {
+                    transferRange(url, segment, state, channel, stateFile, progress, listener, cancellation);
+                    return;
+                } catch (InterruptedIOException e) {
+                    throw e;
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+        }
+        throw failure;
+    }
+
+    private void transferRange(String url, DownloadState.Segment segment, DownloadState state, FileChannel channel, File stateFile,
+                               AtomicLong progress, @Nullable ProgressListener listener, Cancellation cancellation) throws IOException {
+        long from = segment.start + segment.done.get();
+        var builder = newRequest(url).header("Range", "bytes=" + from + "-" + segment.end);
+        if (state.validator != null) builder.header("If-Range", state.validator);
+        var call = mClient.newCall(builder.build());
+        cancellation.calls.add(call);
+        // a cancel that ran before the add has not seen this call
+        if (cancellation.cancelled) call.cancel();
+        try (var response = call.execute()) {
+            if (response.code() != 206) throw new IOException("HTTP " + response.code() + " for range request");
+            var range = parseContentRange(response);
+            if (range == null || range[0] != from || range[2] != state.length) {
+                throw new IOException("Mirror does not serve the same content");
+            }
+            var in = response.body().byteStream();
+            var buffer = new byte[BUFFER_SIZE];
+            long position = from;
+            long remaining = segment.end - from + 1;
+            long unsaved = 0;
+            while (remaining > 0) {
+                if (cancellation.cancelled) throw new InterruptedIOException("Download cancelled");
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) throw new EOFException("Connection closed at " + position);
+                var chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    position += channel.write(chunk, position);
+                }
+                remaining -= read;
+                segment.done.addAndGet(read);
+                long downloaded = progress.addAndGet(read);
+                if (listener != null) listener.onProgress(downloaded, state.length);
+                unsaved += read;
+                if (unsaved >= STATE_SAVE_INTERVAL) {
+                    // the state must never claim bytes that are not on disk yet: other segments keep
+                    // writing during the force, so only counters read before it are saved
+                    var done = state.snapshot();
+                    channel.force(false);
+                    state.save(stateFile, done);
+                    unsaved = 0;
+                }
+            }
+        } catch (IOException e) {
+            if (cancellation.cancelled) throw new InterruptedIOException("Download cancelled");
+            throw e;
+        } finally {
+            cancellation.calls.remove(call);
+        }
+    }
+
+    private void downloadStream(List<String> urls, int firstMirror, File part, @Nullable ProgressListener listener) throws IOException {
+        IOException failure = null;
+        for (int i = firstMirror; i < urls.size(); i++) {
+            try (var response = mClient.newCall(newRequest(urls.get(i)).build()).execute()) {
+                if (!response.isSuccessful()) throw new IOException("HTTP " + response.code());
+                var body = response.body();
+                long total = body.contentLength();
+                long downloaded = 0;
+                try (var in = body.byteStream(); var out = new FileOutputStream(part)) {
+                    var buffer = new byte[BUFFER_SIZE];
+                    int read;
+                    while ((read = in.read(buffer)) >= 0) {
+                        if (Thread.interrupted()) throw new InterruptedIOException("Download interrupted");
+                        out.write(buffer, 0, read);
+                        downloaded += read;
+                        if (listener != null) listener.onProgress(downloaded, total);
+                    }
+                }
+                if (total >= 0 && downloaded != total) throw new EOFException("Expected " + total + " bytes, got " + downloaded);
+                return;
+            } catch (InterruptedIOException e) {
+                throw e;
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        throw failure;
+    }
+
+    /**
+     * Asks for the first byte to learn whether the server honours ranges, and the total length.
+     */
+    private Probe probe(String url) throws IOException {
+        try (var response = mClient.newCall(newRequest(url).header("Range", "bytes=0-0").build()).execute()) {
+            if (response.code() == 206) {
+                var range = parseContentRange(response);
+                if (range != null) return new Probe(true, range[2], validatorOf(response));
+            }
+            if (response.isSuccessful()) return new Probe(false, response.body().contentLength(), null);
+            throw new IOException("HTTP " + response.code() + " for " + url);
+        }
+    }
+
+    @Nullable
+    private static String validatorOf(Response response) {
+        var etag = response.header("ETag");
+        // weak validators are not allowed in If-Range
+        if (etag != null && !etag.startsWith("W/")) return etag;
+        return response.header("Last-Modified");
+    }
+
+    /**
+     * @return {first, last, total} of the Content-Range header, or null if absent or unknown length
+     */
+    @Nullable
+    private static long[] parseContentRange(Response response) {
+        var header = response.header("Content-Range");
+        if (header == null) return null;
+        var matcher = CONTENT_RANGE.matcher(header.trim());
+        if (!matcher.matches()) return null;
+        return new long[]{Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2)), Long.parseLong(matcher.group(3))};
+    }
+
+    private static int segmentCount(long length) {
+        if (length < MIN_SEGMENT_SIZE * 2) return 1;
+        return (int) Math.min(MAX_CONNECTIONS, length / MIN_SEGMENT_SIZE);
+    }
+
+    private static Request.Builder newRequest(String url) {
+        var builder = new Request.Builder().url(url);
+        var agent = System.getProperty("http.agent");
+        if (agent != null) builder.header("User-Agent", agent);
+        return builder;
+    }
+
+    /**
+     * Stops the segments of one download without interrupting their threads: the read loops check
+     * the flag, and cancelling the open calls unblocks the reads waiting on the network.
+     */
+    private static class Cancellation {
+        private final Set<Call> calls = ConcurrentHashMap.newKeySet();
+        private volatile boolean cancelled;
+
+        private void cancel() {
+            cancelled = true;
+            for (var call : calls) call.cancel();
+        }
+    }
+
+    /**
+     * Marks a failure of the caller's sink, which another mirror cannot fix.
+     */
+    private static class SinkException extends IOException {
+        private SinkException(IOException cause) {
+            super(cause);
+        }
+    }
+
+    private static class Probe {
+        private final boolean ranged;
+        private final long length;
+        @Nullable
+        private final String validator;
+
+        private Probe(boolean ranged, long length, @Nullable String validator) {
+            this.ranged = ranged;
+            this.length = length;
+            this.validator = validator;
+        }
+    }
+}
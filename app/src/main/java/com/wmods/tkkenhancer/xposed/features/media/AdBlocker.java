@@ -3,6 +3,7 @@ package com.wmods.tkkenhancer.xposed.features.media;
 import androidx.annotation.NonNull;
 
 import com.wmods.tkkenhancer.xposed.core.Feature;
+import com.wmods.tkkenhancer.xposed.core.components.FeedFilter;
 
 import de.robv.android.xposed.XC_MethodHook;
 import de.robv.android.xposed.XSharedPreferences;
@@ -38,6 +39,13 @@ public class AdBlocker extends Feature {
         // Hook Aweme.isAdTraffic() to block ad traffic
         hookIsAdTrafficMethod();
 
+        // Drop ads from the feed list in the shared feed filter pass
+        try {
+            FeedFilter.addPredicate(classLoader, "ads", "ad_blocker", "isAd", "isAdTraffic");
+        } catch (Throwable e) {
+            log("Failed to register ad predicate: " + e.getMessage());
+        }
+
         logDebug("Ad Blocker feature initialized successfully");
     }
 
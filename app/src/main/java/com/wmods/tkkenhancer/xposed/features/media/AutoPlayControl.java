@@ -92,7 +92,7 @@ public class AutoPlayControl extends Feature {
                         @Override
                         protected void beforeHookedMethod(MethodHookParam param) throws Throwable {
                             if (disableAutoPlay && finalMethod.getReturnType() == boolean.class) {
-                                logDebug("Blocking auto-play in: " + finalMethod.getName());
+                                logDebugf("Blocking auto-play in: %s", finalMethod.getName());
                                 param.setResult(false);
                             }
                         }
@@ -142,7 +142,7 @@ public class AutoPlayControl extends Feature {
                         if (key != null && (key.contains("auto_play") || 
                                            key.contains("autoplay") || 
                                            key.contains("play_mode"))) {
-                            logDebug("Overriding auto-play setting for key: " + key);
+                            logDebugf("Overriding auto-play setting for key: %s", key);
                             param.setResult(false); // Disable auto-play
                         }
                     }
@@ -187,7 +187,7 @@ public class AutoPlayControl extends Feature {
                                 
                                 Object result = param.getResult();
                                 if (result != null) {
-                                    logDebug("Intercepted settings from: " + finalMethod.getName());
+                                    logDebugf("Intercepted settings from: %s", finalMethod.getName());
                                 }
                             }
                         });
@@ -221,7 +221,7 @@ public class AutoPlayControl extends Feature {
                         @Override
                         protected void beforeHookedMethod(MethodHookParam param) throws Throwable {
                             if (disableAutoPlay && finalMethod.getReturnType() == boolean.class) {
-                                logDebug("Overriding auto-play setting: " + finalMethod.getName());
+                                logDebugf("Overriding auto-play setting: %s", finalMethod.getName());
                                 param.setResult(false);
                             }
                         }
@@ -244,11 +244,7 @@ public class AutoPlayControl extends Feature {
     private void hookFeedPlayer() {
         try {
             // Hook feed UI classes
-            Method[] feedMethods = Unobfuscator.findAllMethodUsingStrings(
-                classLoader,
-                org.luckypray.dexkit.query.enums.StringMatchType.Contains,
-                "feed_player", "auto_play"
-            );
+            Method[] feedMethods = Unobfuscator.loadFeedAutoPlayMethods(classLoader);
             
             if (feedMethods != null && feedMethods.length > 0) {
                 int count = 0;
@@ -259,7 +255,7 @@ public class AutoPlayControl extends Feature {
                             @Override
                             protected void beforeHookedMethod(MethodHookParam param) throws Throwable {
                                 if (disableAutoPlay) {
-                                    logDebug("Blocking feed auto-play: " + finalMethod.getName());
+                                    logDebugf("Blocking feed auto-play: %s", finalMethod.getName());
                                     param.setResult(false);
                                 }
                             }
@@ -3,6 +3,7 @@ package com.wmods.tkkenhancer.xposed.features.media;
 import androidx.annotation.NonNull;
 
 import com.wmods.tkkenhancer.xposed.core.Feature;
+import com.wmods.tkkenhancer.xposed.core.TkkSettings;
 import com.wmods.tkkenhancer.xposed.core.devkit.Unobfuscator;
 
 import java.lang.reflect.Method;
@@ -70,20 +71,12 @@ public class BitrateControl extends Feature {
                 protected void afterHookedMethod(MethodHookParam param) throws Throwable {
                     int originalBitrate = (int) param.getResult();
                     
-                    // Force higher bitrate for better quality
-                    // ListPreference stores values as String, so we need to parse it
-                    String targetBitrateStr = prefs.getString("target_bitrate", "5000000");
-                    int targetBitrate;
-                    try {
-                        targetBitrate = Integer.parseInt(targetBitrateStr);
-                    } catch (NumberFormatException e) {
-                        targetBitrate = 5000000; // 5 Mbps default fallback
-                        logDebug("Invalid bitrate value, using default: " + targetBitrate);
-                    }
+                    // Force higher bitrate for better quality (parsed once per settings snapshot)
+                    int targetBitrate = TkkSettings.get().targetBitrate;
                     
                     if (originalBitrate < targetBitrate) {
                         param.setResult(targetBitrate);
-                        logDebug("Increased bitrate from " + originalBitrate + " to " + targetBitrate);
+                        if (DEBUG) logDebug("Increased bitrate from " + originalBitrate + " to " + targetBitrate);
                     }
                 }
             });
@@ -108,20 +101,12 @@ public class BitrateControl extends Feature {
                     double originalMinBitrate = (double) param.getResult();
                     
                     // Set higher minimum bitrate
-                    // ListPreference stores values as String, so we need to parse it
-                    String targetBitrateStr = prefs.getString("target_bitrate", "5000000");
-                    int targetBitrate;
-                    try {
-                        targetBitrate = Integer.parseInt(targetBitrateStr);
-                    } catch (NumberFormatException e) {
-                        targetBitrate = 5000000; // 5 Mbps default fallback
-                        logDebug("Invalid bitrate value, using default: " + targetBitrate);
-                    }
+                    int targetBitrate = TkkSettings.get().targetBitrate;
                     
                     double targetMinBitrate = targetBitrate * 0.8; // 80% of target
                     if (originalMinBitrate < targetMinBitrate) {
                         param.setResult(targetMinBitrate);
-                        logDebug("Increased min bitrate from " + originalMinBitrate + " to " + targetMinBitrate);
+                        if (DEBUG) logDebug("Increased min bitrate from " + originalMinBitrate + " to " + targetMinBitrate);
                     }
                 }
             });
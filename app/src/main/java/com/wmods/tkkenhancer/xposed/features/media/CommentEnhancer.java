@@ -57,7 +57,7 @@ public class CommentEnhancer extends Feature {
                     // Override to always return 1 (visible) to show deleted comments
                     if (originalStatus != 1) {
                         param.setResult(1);
-                        logDebug("Showing deleted comment (status " + originalStatus + " -> 1)");
+                        if (DEBUG) logDebug("Showing deleted comment (status " + originalStatus + " -> 1)");
                     }
                 }
             });
@@ -1,10 +1,19 @@
 package com.wmods.tkkenhancer.xposed.features.media;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.widget.Toast;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.wmods.tkkenhancer.xposed.core.Feature;
+import com.wmods.tkkenhancer.xposed.core.TkkSettings;
+import com.wmods.tkkenhancer.xposed.core.components.SideTable;
+import com.wmods.tkkenhancer.xposed.core.download.DownloadScheduler;
+import com.wmods.tkkenhancer.xposed.utils.ResId;
+import com.wmods.tkkenhancer.xposed.utils.Utils;
 
 import java.lang.reflect.Method;
 
@@ -20,6 +29,17 @@ import de.robv.android.xposed.XposedHelpers;
  */
 public class DownloadServiceHook extends Feature {
 
+    /**
+     * No-watermark {@code UrlModel} of an {@code Aweme}.
+     */
+    public static final SideTable.Slot<Object> NO_WATERMARK_URL = SideTable.newSlot("download_no_watermark_url", Object.class);
+
+    /**
+     * Callbacks of TikTok's {@code IDownloadListener}, first match wins.
+     */
+    private static final String[] LISTENER_SUCCESS = {"onSuccess", "onDownloadSuccess", "onComplete", "onFinish"};
+    private static final String[] LISTENER_FAILURE = {"onFailed", "onFail", "onError", "onDownloadFailed"};
+
     public DownloadServiceHook(@NonNull ClassLoader classLoader, @NonNull XSharedPreferences preferences) {
         super(classLoader, preferences);
     }
@@ -62,29 +82,113 @@ public class DownloadServiceHook extends Feature {
      */
     private void hookDownloadAwemeVideoService() {
         try {
-            Class<?> downloadServiceClass = null;
-
-            try {
-                // Exact class from smali analysis
-                downloadServiceClass = XposedHelpers.findClass(
-                    "com.ss.android.ugc.aweme.download.DownloadAwemeVideoServiceImpl",
-                    classLoader
-                );
-            } catch (Throwable e) {
+            Class<?> downloadServiceClass = findFirstClass("com.ss.android.ugc.aweme.download.DownloadAwemeVideoServiceImpl");
+            if (downloadServiceClass == null) {
                 logDebug("DownloadAwemeVideoServiceImpl not found");
                 return;
             }
 
-            if (downloadServiceClass != null) {
-                logDebug("Found DownloadAwemeVideoServiceImpl: " + downloadServiceClass.getName());
-                hookDownloadMethods(downloadServiceClass);
-            }
+            logDebug("Found DownloadAwemeVideoServiceImpl: " + downloadServiceClass.getName());
+            hookDownloadMethods(downloadServiceClass);
 
         } catch (Throwable e) {
             log(e);
         }
     }
 
+    /**
+     * Queues the video in the {@link DownloadScheduler}. TikTok's own download is skipped, so its
+     * listener is called back with the outcome of the job; a listener without known callbacks whose
+     * every parameter can be supplied leaves the download to TikTok.
+     *
+     * @return true if the queue took over the download
+     */
+    private boolean enqueueDownload(Object aweme, Object video, @Nullable Object listener) {
+        try {
+            var awemeId = String.valueOf(XposedHelpers.callMethod(aweme, "getAid"));
+            var urls = VideoDownload.getDownloadUrls(video);
+            if (urls.isEmpty()) return false;
+            Method onSuccess = null;
+            Method onFailure = null;
+            if (listener != null) {
+                onSuccess = findListenerMethod(listener, LISTENER_SUCCESS);
+                onFailure = findListenerMethod(listener, LISTENER_FAILURE);
+                if (onSuccess == null || onFailure == null || !canSupply(onSuccess) || !canSupply(onFailure)) {
+                    logDebug("No callbacks found on " + listener.getClass().getName() + ", leaving the download to TikTok");
+                    return false;
+                }
+            }
+            var success = onSuccess;
+            var failure = onFailure;
+            DownloadScheduler.getInstance().enqueue(awemeId, urls, awemeId + ".mp4", 0, new DownloadScheduler.Listener() {
+                @Override
+                public void onQueued(int result) {
+                    if (result == DownloadScheduler.ALREADY_SAVED) {
+                        Utils.showToast(Utils.getApplication().getString(ResId.string.download_already_saved), Toast.LENGTH_SHORT);
+                    } else if (result == DownloadScheduler.QUEUED) {
+                        Utils.showToast(Utils.getApplication().getString(ResId.string.download_queued), Toast.LENGTH_SHORT);
+                    }
+                }
+
+                @Override
+                public void onFinished(@Nullable String error) {
+                    if (listener != null) invokeListener(listener, error == null ? success : failure, error);
+                }
+            });
+            return true;
+        } catch (Throwable e) {
+            logDebug("Failed to queue download", e);
+            return false;
+        }
+    }
+
+    @Nullable
+    private static Method findListenerMethod(Object listener, String... names) {
+        var methods = listener.getClass().getMethods();
+        for (var name : names) {
+            for (var method : methods) {
+                if (method.getName().equals(name)) return method;
+            }
+        }
+        return null;
+    }
+
+    private static boolean canSupply(Method method) {
+        for (var type : method.getParameterTypes()) {
+            if (!type.isPrimitive() && type != String.class && type != Exception.class && type != Throwable.class) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Calls {@code method} on the main thread, with {@code error} for a String or exception
+     * parameter and zero or false for primitives. Only for methods that pass {@link #canSupply}.
+     */
+    private void invokeListener(Object listener, Method method, @Nullable String error) {
+        var types = method.getParameterTypes();
+        var args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            var type = types[i];
+            if (type == String.class) args[i] = error == null ? "" : error;
+            else if (type == Exception.class || type == Throwable.class) args[i] = error == null ? null : new Exception(error);
+            else if (type == boolean.class) args[i] = error == null;
+            else if (type == int.class) args[i] = 0;
+            else if (type == long.class) args[i] = 0L;
+            else if (type == float.class) args[i] = 0f;
+            else if (type == double.class) args[i] = 0d;
+            else if (type == byte.class) args[i] = (byte) 0;
+            else if (type == short.class) args[i] = (short) 0;
+            else if (type == char.class) args[i] = (char) 0;
+        }
+        new Handler(Looper.getMainLooper()).post(() -> {
+            try {
+                method.invoke(listener, args);
+            } catch (Throwable e) {
+                logDebug("Failed to call " + method.getName() + " on the download listener", e);
+            }
+        });
+    }
+
     /**
      * Hook download service methods
      * Key method: LIZ(Context, Aweme, String, listener)
@@ -114,9 +218,9 @@ public class DownloadServiceHook extends Feature {
                                 // param.args[3] = listener
                                 
                                 logDebug("Download service LIZ called");
-                                logDebug("Context: " + param.args[0]);
-                                logDebug("Aweme: " + param.args[1]);
-                                logDebug("FilePath: " + param.args[2]);
+                                logDebugf("Context: %s", param.args[0]);
+                                logDebugf("Aweme: %s", param.args[1]);
+                                logDebugf("FilePath: %s", param.args[2]);
                                 
                                 // Get Aweme object
                                 Object aweme = param.args[1];
@@ -125,7 +229,13 @@ public class DownloadServiceHook extends Feature {
                                         // Get video object
                                         Object video = XposedHelpers.callMethod(aweme, "getVideo");
                                         if (video != null) {
-                                            logDebug("Video object: " + video);
+                                            logDebugf("Video object: %s", video);
+
+                                            // The module's queue takes over, TikTok's own downloader is skipped
+                                            if (TkkSettings.get().getBoolean("download_queue", false) && enqueueDownload(aweme, video, param.args[3])) {
+                                                param.setResult(null);
+                                                return;
+                                            }
                                             
                                             // Try to get no-watermark URL
                                             try {
@@ -133,12 +243,10 @@ public class DownloadServiceHook extends Feature {
                                                     video, "getDownloadNoWatermarkAddr"
                                                 );
                                                 if (noWatermarkAddr != null) {
-                                                    logDebug("No-watermark URL available: " + noWatermarkAddr);
+                                                    logDebugf("No-watermark URL available: %s", noWatermarkAddr);
                                                     
                                                     // Store for later use
-                                                    XposedHelpers.setAdditionalInstanceField(
-                                                        aweme, "download_no_watermark_url", noWatermarkAddr
-                                                    );
+                                                    SideTable.set(aweme, NO_WATERMARK_URL, noWatermarkAddr);
                                                 }
                                             } catch (Throwable e) {
                                                 logDebug("Failed to get no-watermark URL", e);
@@ -167,7 +275,7 @@ public class DownloadServiceHook extends Feature {
                     XposedBridge.hookMethod(method, new XC_MethodHook() {
                         @Override
                         protected void beforeHookedMethod(MethodHookParam param) throws Throwable {
-                            logDebug("Download method called: " + methodName);
+                            logDebugf("Download method called: %s", methodName);
                         }
                     });
                 }
@@ -191,7 +299,7 @@ public class DownloadServiceHook extends Feature {
 
             for (String className : shareHelperClasses) {
                 try {
-                    Class<?> shareHelperClass = XposedHelpers.findClass(className, classLoader);
+                    Class<?> shareHelperClass = findFirstClass(className);
                     if (shareHelperClass != null) {
                         logDebug("Found ShareHelper class: " + className);
                         hookShareHelperMethods(shareHelperClass);
@@ -225,12 +333,12 @@ public class DownloadServiceHook extends Feature {
                     XposedBridge.hookMethod(method, new XC_MethodHook() {
                         @Override
                         protected void beforeHookedMethod(MethodHookParam param) throws Throwable {
-                            logDebug("ShareHelper method called: " + methodName);
+                            logDebugf("ShareHelper method called: %s", methodName);
                             // Log parameters for debugging
-                            if (param.args != null && param.args.length > 0) {
+                            if (DEBUG && param.args != null && param.args.length > 0) {
                                 for (int i = 0; i < param.args.length; i++) {
                                     if (param.args[i] != null) {
-                                        logDebug("  Param[" + i + "]: " + param.args[i].getClass().getName());
+                                        logDebugf("  Param[%s]: %s", i, param.args[i].getClass().getName());
                                     }
                                 }
                             }
@@ -249,22 +357,14 @@ public class DownloadServiceHook extends Feature {
      */
     private void hookNetworkUtils() {
         try {
-            Class<?> networkUtilsClass = null;
-
-            try {
-                networkUtilsClass = XposedHelpers.findClass(
-                    "com.ss.android.common.util.NetworkUtils",
-                    classLoader
-                );
-            } catch (Throwable e) {
+            Class<?> networkUtilsClass = findFirstClass("com.ss.android.common.util.NetworkUtils");
+            if (networkUtilsClass == null) {
                 logDebug("NetworkUtils not found");
                 return;
             }
 
-            if (networkUtilsClass != null) {
-                logDebug("Found NetworkUtils: " + networkUtilsClass.getName());
-                hookNetworkUtilsMethods(networkUtilsClass);
-            }
+            logDebug("Found NetworkUtils: " + networkUtilsClass.getName());
+            hookNetworkUtilsMethods(networkUtilsClass);
 
         } catch (Throwable e) {
             log(e);
@@ -289,12 +389,12 @@ public class DownloadServiceHook extends Feature {
                     XposedBridge.hookMethod(method, new XC_MethodHook() {
                         @Override
                         protected void beforeHookedMethod(MethodHookParam param) throws Throwable {
-                            logDebug("NetworkUtils download method called: " + methodName);
+                            logDebugf("NetworkUtils download method called: %s", methodName);
                             // Log parameters
-                            if (param.args != null && param.args.length > 0) {
+                            if (DEBUG && param.args != null && param.args.length > 0) {
                                 for (int i = 0; i < param.args.length; i++) {
                                     if (param.args[i] != null) {
-                                        logDebug("  Param[" + i + "]: " + param.args[i]);
+                                        logDebugf("  Param[%s]: %s", i, param.args[i]);
                                     }
                                 }
                             }
@@ -302,7 +402,7 @@ public class DownloadServiceHook extends Feature {
 
                         @Override
                         protected void afterHookedMethod(MethodHookParam param) throws Throwable {
-                            logDebug("NetworkUtils download completed: " + methodName);
+                            logDebugf("NetworkUtils download completed: %s", methodName);
                         }
                     });
                 }
@@ -147,8 +147,10 @@ public class FeedScrollCustomizer extends Feature {
                             param.args[0] = (int) (x * scrollSpeedMultiplier);
                             param.args[1] = (int) (y * scrollSpeedMultiplier);
                             
-                            logDebug("Adjusted scroll: x=" + x + "->" + param.args[0] + 
-                                    ", y=" + y + "->" + param.args[1]);
+                            if (DEBUG) {
+                                logDebug("Adjusted scroll: x=" + x + "->" + param.args[0] +
+                                        ", y=" + y + "->" + param.args[1]);
+                            }
                         }
                     }
                 }
@@ -275,8 +277,7 @@ public class FeedScrollCustomizer extends Feature {
                         @Override
                         protected void beforeHookedMethod(MethodHookParam param) throws Throwable {
                             // Custom paging logic can be implemented here
-                            int dy = (int) param.args[0];
-                            logDebug("Vertical scroll by: " + dy);
+                            logDebugf("Vertical scroll by: %s", param.args[0]);
                         }
                     }
                 );
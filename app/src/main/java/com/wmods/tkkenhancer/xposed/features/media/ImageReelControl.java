@@ -3,11 +3,11 @@ package com.wmods.tkkenhancer.xposed.features.media;
 import androidx.annotation.NonNull;
 
 import com.wmods.tkkenhancer.xposed.core.Feature;
+import com.wmods.tkkenhancer.xposed.core.TkkSettings;
+import com.wmods.tkkenhancer.xposed.core.components.FeedFilter;
 import com.wmods.tkkenhancer.xposed.core.devkit.Unobfuscator;
 
 import java.lang.reflect.Method;
-import java.util.Iterator;
-import java.util.List;
 
 import de.robv.android.xposed.XC_MethodHook;
 import de.robv.android.xposed.XSharedPreferences;
@@ -34,7 +34,7 @@ public class ImageReelControl extends Feature {
 
     @Override
     public void doHook() throws Throwable {
-        if (!prefs.getBoolean("hide_image_reels", false)) return;
+        if (!TkkSettings.get().hideImageReels) return;
 
         logDebug("Initializing Image Reel Control");
 
@@ -73,7 +73,7 @@ public class ImageReelControl extends Feature {
             XposedBridge.hookMethod(isPhotoModeMethod, new XC_MethodHook() {
                 @Override
                 protected void afterHookedMethod(MethodHookParam param) throws Throwable {
-                    if (!prefs.getBoolean("hide_image_reels", false)) return;
+                    if (!TkkSettings.get().hideImageReels) return;
                     
                     boolean isPhotoMode = (boolean) param.getResult();
                     if (isPhotoMode) {
@@ -98,7 +98,7 @@ public class ImageReelControl extends Feature {
             XposedBridge.hookMethod(isImageMethod, new XC_MethodHook() {
                 @Override
                 protected void afterHookedMethod(MethodHookParam param) throws Throwable {
-                    if (!prefs.getBoolean("hide_image_reels", false)) return;
+                    if (!TkkSettings.get().hideImageReels) return;
                     
                     boolean isImage = (boolean) param.getResult();
                     if (isImage) {
@@ -115,63 +115,12 @@ public class ImageReelControl extends Feature {
     }
 
     /**
-     * Hook feed item list to filter out image reels
+     * Drop photo mode and image posts in the shared feed filter pass
      */
     private void hookFeedItemList() {
         try {
-            Class<?> feedItemListClass = XposedHelpers.findClass(
-                "com.ss.android.ugc.aweme.feed.model.FeedItemList",
-                classLoader
-            );
-
-            if (feedItemListClass == null) {
-                logDebug("Could not find FeedItemList class");
-                return;
-            }
-
-            // Hook the items list getter to filter image reels
-            XposedHelpers.findAndHookMethod(feedItemListClass, "getItems",
-                new XC_MethodHook() {
-                    @Override
-                    protected void afterHookedMethod(MethodHookParam param) throws Throwable {
-                        if (!prefs.getBoolean("hide_image_reels", false)) return;
-
-                        Object result = param.getResult();
-                        if (result instanceof List) {
-                            List<?> items = (List<?>) result;
-                            Iterator<?> iterator = items.iterator();
-                            int removedCount = 0;
-
-                            while (iterator.hasNext()) {
-                                Object item = iterator.next();
-                                try {
-                                    // Check if this item is a photo mode post
-                                    Boolean isPhotoMode = (Boolean) XposedHelpers.callMethod(item, "isPhotoMode");
-                                    if (isPhotoMode != null && isPhotoMode) {
-                                        iterator.remove();
-                                        removedCount++;
-                                        continue;
-                                    }
-
-                                    // Also check isImage() as backup
-                                    Boolean isImage = (Boolean) XposedHelpers.callMethod(item, "isImage");
-                                    if (isImage != null && isImage) {
-                                        iterator.remove();
-                                        removedCount++;
-                                    }
-                                } catch (Throwable ignored) {
-                                    // Item might not have these methods, skip it
-                                }
-                            }
-
-                            if (removedCount > 0) {
-                                logDebug("Filtered out " + removedCount + " image reel(s) from feed");
-                            }
-                        }
-                    }
-                }
-            );
-            logDebug("Hooked FeedItemList for image filtering successfully");
+            FeedFilter.addPredicate(classLoader, "image", "hide_image_reels", "isPhotoMode", "isImage");
+            logDebug("Registered image reel predicate with FeedFilter");
         } catch (Throwable e) {
             logDebug("Could not hook FeedItemList: " + e.getMessage());
         }
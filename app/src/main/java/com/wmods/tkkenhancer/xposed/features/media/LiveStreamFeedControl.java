@@ -4,11 +4,11 @@ import android.view.View;
 import androidx.annotation.NonNull;
 
 import com.wmods.tkkenhancer.xposed.core.Feature;
+import com.wmods.tkkenhancer.xposed.core.TkkSettings;
+import com.wmods.tkkenhancer.xposed.core.components.FeedFilter;
 import com.wmods.tkkenhancer.xposed.core.devkit.Unobfuscator;
 
 import java.lang.reflect.Method;
-import java.util.Iterator;
-import java.util.List;
 
 import de.robv.android.xposed.XC_MethodHook;
 import de.robv.android.xposed.XSharedPreferences;
@@ -35,7 +35,7 @@ public class LiveStreamFeedControl extends Feature {
 
     @Override
     public void doHook() throws Throwable {
-        if (!prefs.getBoolean("hide_live_streams", false)) return;
+        if (!TkkSettings.get().hideLiveStreams) return;
 
         logDebug("Initializing Live Stream Feed Control");
 
@@ -71,7 +71,7 @@ public class LiveStreamFeedControl extends Feature {
             XposedBridge.hookMethod(isLiveMethod, new XC_MethodHook() {
                 @Override
                 protected void afterHookedMethod(MethodHookParam param) throws Throwable {
-                    if (!prefs.getBoolean("hide_live_streams", false)) return;
+                    if (!TkkSettings.get().hideLiveStreams) return;
                     
                     boolean isLive = (boolean) param.getResult();
                     if (isLive) {
@@ -88,55 +88,12 @@ public class LiveStreamFeedControl extends Feature {
     }
 
     /**
-     * Hook feed item list to filter out live streams
+     * Drop live streams in the shared feed filter pass
      */
     private void hookFeedItemList() {
         try {
-            Class<?> feedItemListClass = XposedHelpers.findClass(
-                "com.ss.android.ugc.aweme.feed.model.FeedItemList",
-                classLoader
-            );
-
-            if (feedItemListClass == null) {
-                logDebug("Could not find FeedItemList class");
-                return;
-            }
-
-            // Hook the items list getter to filter live streams
-            XposedHelpers.findAndHookMethod(feedItemListClass, "getItems",
-                new XC_MethodHook() {
-                    @Override
-                    protected void afterHookedMethod(MethodHookParam param) throws Throwable {
-                        if (!prefs.getBoolean("hide_live_streams", false)) return;
-
-                        Object result = param.getResult();
-                        if (result instanceof List) {
-                            List<?> items = (List<?>) result;
-                            Iterator<?> iterator = items.iterator();
-                            int removedCount = 0;
-
-                            while (iterator.hasNext()) {
-                                Object item = iterator.next();
-                                try {
-                                    // Check if this item is a live stream
-                                    Boolean isLive = (Boolean) XposedHelpers.callMethod(item, "isLive");
-                                    if (isLive != null && isLive) {
-                                        iterator.remove();
-                                        removedCount++;
-                                    }
-                                } catch (Throwable ignored) {
-                                    // Item might not have isLive() method, skip it
-                                }
-                            }
-
-                            if (removedCount > 0) {
-                                logDebug("Filtered out " + removedCount + " live stream(s) from feed");
-                            }
-                        }
-                    }
-                }
-            );
-            logDebug("Hooked FeedItemList successfully");
+            FeedFilter.addPredicate(classLoader, "live", "hide_live_streams", "isLive");
+            logDebug("Registered live stream predicate with FeedFilter");
         } catch (Throwable e) {
             logDebug("Could not hook FeedItemList: " + e.getMessage());
         }
@@ -7,6 +7,7 @@ import android.os.Build;
 import androidx.annotation.NonNull;
 
 import com.wmods.tkkenhancer.xposed.core.Feature;
+import com.wmods.tkkenhancer.xposed.core.TkkSettings;
 import com.wmods.tkkenhancer.xposed.core.devkit.Unobfuscator;
 import com.wmods.tkkenhancer.xposed.features.general.Others;
 import com.wmods.tkkenhancer.xposed.utils.ReflectionUtils;
@@ -133,7 +134,7 @@ public class MediaQuality extends Feature {
                         }
 
                     }
-                    if (prefs.getBoolean("video_maxfps", false)) {
+                    if (TkkSettings.get().videoMaxFps) {
                         var frameRateField = mediaTranscodeParams.get("frameRate");
                         frameRateField.setInt(resizeVideo, 60);
                     }
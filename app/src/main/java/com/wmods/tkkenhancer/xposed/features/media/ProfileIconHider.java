@@ -2,12 +2,15 @@ package com.wmods.tkkenhancer.xposed.features.media;
 
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 
 import com.wmods.tkkenhancer.xposed.core.Feature;
+import com.wmods.tkkenhancer.xposed.core.components.ViewHookDispatcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
 
 import de.robv.android.xposed.XC_MethodHook;
 import de.robv.android.xposed.XSharedPreferences;
@@ -48,11 +51,8 @@ public class ProfileIconHider extends Feature {
         logDebug("Hide Coin Icon: " + hideCoinIcon);
 
         try {
-            // Hook View setVisibility to intercept icon visibility changes
-            hookViewSetVisibility();
-
-            // Hook ImageView setImageResource to prevent icon loading
-            hookImageViewSetImageResource();
+            // Hide icon views through the shared View.setVisibility / ImageView.setImageResource hooks
+            registerIconIds();
 
             // Hook profile fragment/activity classes
             hookProfileFragments();
@@ -65,52 +65,17 @@ public class ProfileIconHider extends Feature {
     }
 
     /**
-     * Hook View.setVisibility to hide profile icons
+     * Register profile icon view ids with the shared dispatcher, which also blocks their image loading
      */
-    private void hookViewSetVisibility() {
+    private void registerIconIds() {
         try {
-            XposedHelpers.findAndHookMethod(View.class, "setVisibility", int.class,
-                new XC_MethodHook() {
-                    @Override
-                    protected void beforeHookedMethod(MethodHookParam param) throws Throwable {
-                        View view = (View) param.thisObject;
-                        
-                        // Check if this view should be hidden
-                        if (shouldHideView(view)) {
-                            logDebug("Hiding profile icon view: " + view.getClass().getSimpleName());
-                            param.args[0] = View.GONE;
-                        }
-                    }
-                }
-            );
-            logDebug("Hooked View.setVisibility successfully");
-        } catch (Throwable e) {
-            logDebug("Could not hook View.setVisibility: " + e.getMessage());
-        }
-    }
-
-    /**
-     * Hook ImageView.setImageResource to prevent loading profile icons
-     */
-    private void hookImageViewSetImageResource() {
-        try {
-            XposedHelpers.findAndHookMethod(ImageView.class, "setImageResource", int.class,
-                new XC_MethodHook() {
-                    @Override
-                    protected void beforeHookedMethod(MethodHookParam param) throws Throwable {
-                        ImageView imageView = (ImageView) param.thisObject;
-                        
-                        // Check if this is an icon we should hide
-                        if (shouldHideView(imageView)) {
-                            imageView.setVisibility(View.GONE);
-                            param.setResult(null);
-                        }
-                    }
-                }
-            );
-            logDebug("Hooked ImageView.setImageResource successfully");
+            var keywords = new ArrayList<String>();
+            if (hideLiveIcon) Collections.addAll(keywords, "live", "streaming");
+            if (hideCoinIcon) Collections.addAll(keywords, "coin", "wallet", "balance");
+            ViewHookDispatcher.register(TAG, true, keywords.toArray(new String[0]));
+            logDebug("Registered profile icon ids with ViewHookDispatcher");
         } catch (Throwable e) {
-            logDebug("Could not hook ImageView.setImageResource: " + e.getMessage());
+            logDebug("Could not hook profile icon views: " + e.getMessage());
         }
     }
 
@@ -97,7 +97,8 @@ public class RewardsIconHider extends Feature {
         boolean hooked = false;
         for (String fabClassName : fabClasses) {
             try {
-                Class<?> fabClass = XposedHelpers.findClass(fabClassName, classLoader);
+                Class<?> fabClass = findFirstClass(fabClassName);
+                if (fabClass == null) continue;
                 
                 // Hook setVisibility to hide reward FABs
                 XposedHelpers.findAndHookMethod(
@@ -146,7 +147,8 @@ public class RewardsIconHider extends Feature {
 
             for (String className : rewardClasses) {
                 try {
-                    Class<?> rewardClass = XposedHelpers.findClass(className, classLoader);
+                    Class<?> rewardClass = findFirstClass(className);
+                    if (rewardClass == null) continue;
                     
                     // Hook all methods to hide the view
                     hookViewMethods(rewardClass);
@@ -174,7 +176,8 @@ public class RewardsIconHider extends Feature {
 
             for (String className : activityClasses) {
                 try {
-                    Class<?> activityClass = XposedHelpers.findClass(className, classLoader);
+                    Class<?> activityClass = findFirstClass(className);
+                    if (activityClass == null) continue;
                     
                     // Hook onCreate to intercept reward icon setup
                     XposedHelpers.findAndHookMethod(
@@ -189,7 +192,7 @@ public class RewardsIconHider extends Feature {
                                 // Search for reward views in activity and hide them
                                 hideRewardViewsInActivity(activity);
                                 
-                                logDebug("Checked for reward views in activity: " + className);
+                                logDebugf("Checked for reward views in activity: %s", className);
                             }
                         }
                     );
@@ -3,6 +3,7 @@ package com.wmods.tkkenhancer.xposed.features.media;
 import androidx.annotation.NonNull;
 
 import com.wmods.tkkenhancer.xposed.core.Feature;
+import com.wmods.tkkenhancer.xposed.core.components.SideTable;
 import com.wmods.tkkenhancer.xposed.core.devkit.Unobfuscator;
 
 import java.lang.reflect.Method;
@@ -18,6 +19,8 @@ import de.robv.android.xposed.XposedHelpers;
  */
 public class StoryDownload extends Feature {
 
+    public static final SideTable.Slot<Object> STORY_DOWNLOAD_URL = SideTable.newSlot("story_download_url", Object.class);
+
     public StoryDownload(@NonNull ClassLoader classLoader, @NonNull XSharedPreferences preferences) {
         super(classLoader, preferences);
     }
@@ -46,37 +49,18 @@ public class StoryDownload extends Feature {
     private void hookStoryModel() {
         try {
             // Try to find story model classes
-            Class<?> storyClass = null;
-
-            try {
-                storyClass = XposedHelpers.findClass(
-                    "com.ss.android.ugc.aweme.story.model.Story",
-                    classLoader
-                );
-            } catch (Throwable e1) {
-                try {
-                    storyClass = XposedHelpers.findClass(
-                        "com.ss.android.ugc.aweme.story.Story",
-                        classLoader
-                    );
-                } catch (Throwable e2) {
-                    try {
-                        // Try alternate story class name
-                        storyClass = XposedHelpers.findClass(
-                            "com.ss.android.ugc.aweme.shortstory.model.StoryCollection",
-                            classLoader
-                        );
-                    } catch (Throwable e3) {
-                        logDebug("Story model class not found in standard locations");
-                        return;
-                    }
-                }
+            Class<?> storyClass = findFirstClass(
+                "com.ss.android.ugc.aweme.story.model.Story",
+                "com.ss.android.ugc.aweme.story.Story",
+                "com.ss.android.ugc.aweme.shortstory.model.StoryCollection"
+            );
+            if (storyClass == null) {
+                logDebug("Story model class not found in standard locations");
+                return;
             }
 
-            if (storyClass != null) {
-                logDebug("Found story model class: " + storyClass.getName());
-                hookStoryModelMethods(storyClass);
-            }
+            logDebug("Found story model class: " + storyClass.getName());
+            hookStoryModelMethods(storyClass);
 
         } catch (Throwable e) {
             log(e);
@@ -105,7 +89,7 @@ public class StoryDownload extends Feature {
                         protected void afterHookedMethod(MethodHookParam param) throws Throwable {
                             Object result = param.getResult();
                             if (result != null) {
-                                logDebug("Story media URL accessed: " + methodName + " -> " + result);
+                                logDebugf("Story media URL accessed: %s -> %s", methodName, result);
                                 
                                 // Store the URL for download access
                                 storeStoryUrl(param.thisObject, result);
@@ -126,13 +110,13 @@ public class StoryDownload extends Feature {
         try {
             logDebug("Storing story URL: " + urlResult);
             
-            // Store URL using additional instance field for later retrieval
+            // Store URL in the side table for later retrieval
             if (storyObject != null && urlResult != null) {
                 try {
-                    XposedHelpers.setAdditionalInstanceField(storyObject, "story_download_url", urlResult);
+                    SideTable.set(storyObject, STORY_DOWNLOAD_URL, urlResult);
                     logDebug("Successfully stored story download URL");
                 } catch (Throwable e) {
-                    logDebug("Failed to set additional field", e);
+                    logDebug("Failed to store story download URL", e);
                 }
             }
         } catch (Throwable e) {
@@ -146,29 +130,17 @@ public class StoryDownload extends Feature {
     private void hookStoryViewer() {
         try {
             // Try to find story viewer classes
-            Class<?> viewerClass = null;
-
-            try {
-                viewerClass = XposedHelpers.findClass(
-                    "com.ss.android.ugc.aweme.story.viewer.StoryViewerActivity",
-                    classLoader
-                );
-            } catch (Throwable e1) {
-                try {
-                    viewerClass = XposedHelpers.findClass(
-                        "com.ss.android.ugc.aweme.story.StoryFragment",
-                        classLoader
-                    );
-                } catch (Throwable e2) {
-                    logDebug("Story viewer class not found");
-                    return;
-                }
+            Class<?> viewerClass = findFirstClass(
+                "com.ss.android.ugc.aweme.story.viewer.StoryViewerActivity",
+                "com.ss.android.ugc.aweme.story.StoryFragment"
+            );
+            if (viewerClass == null) {
+                logDebug("Story viewer class not found");
+                return;
             }
 
-            if (viewerClass != null) {
-                logDebug("Found story viewer class: " + viewerClass.getName());
-                hookStoryViewerMethods(viewerClass);
-            }
+            logDebug("Found story viewer class: " + viewerClass.getName());
+            hookStoryViewerMethods(viewerClass);
 
         } catch (Throwable e) {
             log(e);
@@ -194,7 +166,7 @@ public class StoryDownload extends Feature {
                     XposedBridge.hookMethod(method, new XC_MethodHook() {
                         @Override
                         protected void afterHookedMethod(MethodHookParam param) throws Throwable {
-                            logDebug("Story viewer method called: " + methodName);
+                            logDebugf("Story viewer method called: %s", methodName);
                             // Can add download button or menu option here
                         }
                     });
@@ -211,29 +183,17 @@ public class StoryDownload extends Feature {
     private void hookStoryMedia() {
         try {
             // Try to find story media service
-            Class<?> mediaServiceClass = null;
-
-            try {
-                mediaServiceClass = XposedHelpers.findClass(
-                    "com.ss.android.ugc.aweme.story.api.StoryService",
-                    classLoader
-                );
-            } catch (Throwable e1) {
-                try {
-                    mediaServiceClass = XposedHelpers.findClass(
-                        "com.ss.android.ugc.aweme.story.service.StoryServiceImpl",
-                        classLoader
-                    );
-                } catch (Throwable e2) {
-                    logDebug("Story media service class not found");
-                    return;
-                }
+            Class<?> mediaServiceClass = findFirstClass(
+                "com.ss.android.ugc.aweme.story.api.StoryService",
+                "com.ss.android.ugc.aweme.story.service.StoryServiceImpl"
+            );
+            if (mediaServiceClass == null) {
+                logDebug("Story media service class not found");
+                return;
             }
 
-            if (mediaServiceClass != null) {
-                logDebug("Found story media service class: " + mediaServiceClass.getName());
-                hookMediaServiceMethods(mediaServiceClass);
-            }
+            logDebug("Found story media service class: " + mediaServiceClass.getName());
+            hookMediaServiceMethods(mediaServiceClass);
 
         } catch (Throwable e) {
             log(e);
@@ -261,7 +221,7 @@ public class StoryDownload extends Feature {
                         protected void afterHookedMethod(MethodHookParam param) throws Throwable {
                             Object result = param.getResult();
                             if (result != null) {
-                                logDebug("Story media loaded via service: " + methodName);
+                                logDebugf("Story media loaded via service: %s", methodName);
                                 // Process story media for download
                                 processStoryMedia(result);
                             }
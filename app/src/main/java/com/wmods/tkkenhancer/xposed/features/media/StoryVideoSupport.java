@@ -3,6 +3,7 @@ package com.wmods.tkkenhancer.xposed.features.media;
 import androidx.annotation.NonNull;
 
 import com.wmods.tkkenhancer.xposed.core.Feature;
+import com.wmods.tkkenhancer.xposed.core.components.SideTable;
 import com.wmods.tkkenhancer.xposed.core.devkit.Unobfuscator;
 
 import java.lang.reflect.Method;
@@ -10,7 +11,6 @@ import java.lang.reflect.Method;
 import de.robv.android.xposed.XC_MethodHook;
 import de.robv.android.xposed.XSharedPreferences;
 import de.robv.android.xposed.XposedBridge;
-import de.robv.android.xposed.XposedHelpers;
 
 /**
  * Story Video Download Support
@@ -20,6 +20,8 @@ import de.robv.android.xposed.XposedHelpers;
  */
 public class StoryVideoSupport extends Feature {
 
+    public static final SideTable.Slot<Boolean> STORY_DOWNLOAD_ENABLED = SideTable.newSlot("tiktok_enhancer_story_download_enabled", Boolean.class);
+
     public StoryVideoSupport(@NonNull ClassLoader classLoader, @NonNull XSharedPreferences preferences) {
         super(classLoader, preferences);
     }
@@ -65,14 +67,10 @@ public class StoryVideoSupport extends Feature {
                         protected void afterHookedMethod(MethodHookParam param) throws Throwable {
                             Object result = param.getResult();
                             if (result != null) {
-                                logDebug("Story video accessed: " + method.getName());
+                                logDebugf("Story video accessed: %s", method.getName());
                                 
                                 // Enable download for story video
-                                XposedHelpers.setAdditionalInstanceField(
-                                    param.thisObject,
-                                    "tiktok_enhancer_story_download_enabled",
-                                    true
-                                );
+                                if (param.thisObject != null) SideTable.set(param.thisObject, STORY_DOWNLOAD_ENABLED, true);
                             }
                         }
                     });
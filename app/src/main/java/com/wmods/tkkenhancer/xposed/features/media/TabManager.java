@@ -6,6 +6,10 @@ import android.view.ViewGroup;
 import androidx.annotation.NonNull;
 
 import com.wmods.tkkenhancer.xposed.core.Feature;
+import com.wmods.tkkenhancer.xposed.core.components.ViewHookDispatcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
 
 import de.robv.android.xposed.XC_MethodHook;
 import de.robv.android.xposed.XSharedPreferences;
@@ -83,25 +87,19 @@ public class TabManager extends Feature {
     }
 
     /**
-     * Hook bottom tab view to control tab visibility
+     * Register bottom tab view ids with the shared View.setVisibility dispatcher
      */
     private void hookBottomTabView() {
         try {
-            // Hook View.setVisibility for tab views
-            XposedHelpers.findAndHookMethod(View.class, "setVisibility", int.class,
-                new XC_MethodHook() {
-                    @Override
-                    protected void beforeHookedMethod(MethodHookParam param) throws Throwable {
-                        View view = (View) param.thisObject;
-                        
-                        if (shouldHideTab(view)) {
-                            logDebug("Hiding tab view: " + view.getClass().getSimpleName());
-                            param.args[0] = View.GONE;
-                        }
-                    }
-                }
-            );
-            logDebug("Hooked View.setVisibility for tabs");
+            var keywords = new ArrayList<String>();
+            if (hideHomeTab) keywords.add("home");
+            if (hideFriendsTab) keywords.add("friend");
+            if (hideCreateTab) Collections.addAll(keywords, "create", "publish", "plus");
+            if (hideInboxTab) Collections.addAll(keywords, "inbox", "message");
+            if (hideProfileTab) Collections.addAll(keywords, "profile", "me");
+            if (hideShopTab) Collections.addAll(keywords, "shop", "mall");
+            ViewHookDispatcher.register(TAG, false, keywords.toArray(new String[0]));
+            logDebug("Registered tab ids with ViewHookDispatcher");
         } catch (Throwable e) {
             logDebug("Could not hook View.setVisibility: " + e.getMessage());
         }
@@ -121,7 +119,8 @@ public class TabManager extends Feature {
 
             for (String className : tabProtocolClasses) {
                 try {
-                    Class<?> tabClass = XposedHelpers.findClass(className, classLoader);
+                    Class<?> tabClass = findFirstClass(className);
+                    if (tabClass == null) continue;
                     
                     // Hook visibility-related methods
                     XposedHelpers.findAndHookMethod(tabClass, "setVisibility", int.class,
@@ -132,7 +131,7 @@ public class TabManager extends Feature {
                                 
                                 // Check if this tab should be hidden
                                 if (shouldHideTabProtocol(tabInstance)) {
-                                    logDebug("Hiding tab protocol: " + className);
+                                    logDebugf("Hiding tab protocol: %s", className);
                                     param.args[0] = View.GONE;
                                 }
                             }
@@ -160,7 +159,8 @@ public class TabManager extends Feature {
 
             for (String className : mainActivityClasses) {
                 try {
-                    Class<?> mainClass = XposedHelpers.findClass(className, classLoader);
+                    Class<?> mainClass = findFirstClass(className);
+                    if (mainClass == null) continue;
                     
                     XposedHelpers.findAndHookMethod(mainClass, "onResume",
                         new XC_MethodHook() {
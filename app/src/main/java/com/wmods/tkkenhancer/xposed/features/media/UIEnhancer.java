@@ -6,6 +6,7 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 
 import com.wmods.tkkenhancer.xposed.core.Feature;
+import com.wmods.tkkenhancer.xposed.utils.KeywordMatcher;
 
 import java.lang.reflect.Method;
 
@@ -28,6 +29,15 @@ import de.robv.android.xposed.XposedHelpers;
 public class UIEnhancer extends Feature {
 
     private static final String TAG = "UIEnhancer";
+
+    /**
+     * Sponsored labels in the languages the module is translated to, see {@link KeywordMatcher} for the syntax
+     */
+    private static final String DEFAULT_SPONSORED_KEYWORDS = "sponsored,promoted,advertisement,sponsored by*,promoted by*," +
+            "patrocinado,promocionado,publicidad,patrocinado por*," +
+            "gesponsert,anzeige,sponsorisé,sponsorisée,sponsorizzato,sponsorizzata," +
+            "реклама,спонсировано,sponsorlu,reklam,bersponsor,dipromosikan,iklan," +
+            "ممول,إعلان,בחסות,מודעה,赞助,广告,推广";
     
     // UI element patterns to hide
     private boolean hideLiveBadge = false;
@@ -124,7 +134,8 @@ public class UIEnhancer extends Feature {
         boolean hooked = false;
         for (String className : liveBadgeClasses) {
             try {
-                Class<?> liveBadgeClass = XposedHelpers.findClass(className, classLoader);
+                Class<?> liveBadgeClass = findFirstClass(className);
+                if (liveBadgeClass == null) continue;
                 
                 // Hook setVisibility to force GONE
                 XposedHelpers.findAndHookMethod(
@@ -164,7 +175,8 @@ public class UIEnhancer extends Feature {
         boolean hooked = false;
         for (String className : shopTabClasses) {
             try {
-                Class<?> shopTabClass = XposedHelpers.findClass(className, classLoader);
+                Class<?> shopTabClass = findFirstClass(className);
+                if (shopTabClass == null) continue;
                 
                 // Hook lifecycle methods to prevent display
                 for (Method method : shopTabClass.getDeclaredMethods()) {
@@ -198,6 +210,9 @@ public class UIEnhancer extends Feature {
      * Hook to hide sponsored/promoted badges
      */
     private void hookSponsoredBadge() {
+        var keywords = prefs.getString("sponsored_keywords", "");
+        var sponsoredMatcher = KeywordMatcher.compile(keywords == null || keywords.isBlank() ? DEFAULT_SPONSORED_KEYWORDS : keywords);
+        if (sponsoredMatcher.isEmpty()) return;
         try {
             // Hook TextView.setText to filter sponsored labels
             Class<?> textViewClass = TextView.class;
@@ -211,18 +226,9 @@ public class UIEnhancer extends Feature {
                     protected void beforeHookedMethod(MethodHookParam param) throws Throwable {
                         CharSequence text = (CharSequence) param.args[0];
                         if (text != null && text.length() > 0 && text.length() < 100) {
-                            String textStr = text.toString();
-                            String textLower = textStr.toLowerCase();
-                            
-                            // More specific sponsored/promoted keyword matching
-                            // Use exact matches to avoid false positives
-                            boolean isSponsored = textLower.equals("sponsored") || 
-                                                  textLower.equals("promoted") ||
-                                                  textLower.equals("advertisement") ||
-                                                  textLower.startsWith("sponsored by") ||
-                                                  textLower.startsWith("promoted by");
-                            
-                            if (isSponsored) {
+                            // Exact and prefix keywords only, so ordinary text is rejected
+                            // after its first few characters without allocating
+                            if (sponsoredMatcher.matches(text)) {
                                 // Mark for hiding instead of immediate visibility change
                                 // to avoid triggering layout passes during setText
                                 TextView tv = (TextView) param.thisObject;
@@ -254,7 +260,8 @@ public class UIEnhancer extends Feature {
 
             for (String className : watermarkClasses) {
                 try {
-                    Class<?> watermarkClass = XposedHelpers.findClass(className, classLoader);
+                    Class<?> watermarkClass = findFirstClass(className);
+                    if (watermarkClass == null) continue;
                     
                     // Hook setVisibility
                     XposedHelpers.findAndHookMethod(
@@ -292,7 +299,8 @@ public class UIEnhancer extends Feature {
 
             for (String className : suggestionClasses) {
                 try {
-                    Class<?> suggestionClass = XposedHelpers.findClass(className, classLoader);
+                    Class<?> suggestionClass = findFirstClass(className);
+                    if (suggestionClass == null) continue;
                     
                     // Hook show/display methods
                     for (Method method : suggestionClass.getDeclaredMethods()) {
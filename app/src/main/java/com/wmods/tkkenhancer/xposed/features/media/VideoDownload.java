@@ -4,6 +4,9 @@ import androidx.annotation.NonNull;
 
 import com.wmods.tkkenhancer.xposed.core.Feature;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import de.robv.android.xposed.XC_MethodHook;
 import de.robv.android.xposed.XSharedPreferences;
 import de.robv.android.xposed.XposedHelpers;
@@ -63,7 +66,7 @@ public class VideoDownload extends Feature {
                                 param.setResult(result);
                                 logDebug("Using downloadAddr as fallback");
                             } catch (Throwable e) {
-                                logDebug("Failed to get downloadAddr: " + e.getMessage());
+                                logDebugf("Failed to get downloadAddr: %s", e.getMessage());
                             }
                         } else {
                             logDebug("downloadNoWatermarkAddr is available");
@@ -80,6 +83,29 @@ public class VideoDownload extends Feature {
         }
     }
 
+    /**
+     * Mirror URLs of the download address of a {@code Video}, preferring the no-watermark one.
+     */
+    @NonNull
+    public static List<String> getDownloadUrls(@NonNull Object video) {
+        var urls = new ArrayList<String>();
+        for (var getter : new String[]{"getDownloadNoWatermarkAddr", "getDownloadAddr"}) {
+            try {
+                var urlModel = XposedHelpers.callMethod(video, getter);
+                if (urlModel == null) continue;
+                if (XposedHelpers.callMethod(urlModel, "getUrlList") instanceof List<?> list) {
+                    for (var url : list) {
+                        if (url instanceof String value && !value.isEmpty() && !urls.contains(value)) urls.add(value);
+                    }
+                }
+                if (!urls.isEmpty()) break;
+            } catch (Throwable ignored) {
+                // this TikTok build has no such address
+            }
+        }
+        return urls;
+    }
+
     @NonNull
     @Override
     public String getPluginName() {
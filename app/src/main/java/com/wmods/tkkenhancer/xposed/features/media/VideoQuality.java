@@ -120,20 +120,20 @@ public class VideoQuality extends Feature {
                         @Override
                         protected void afterHookedMethod(MethodHookParam param) throws Throwable {
                             if (forceHD) {
-                                logDebug("Rate setting method called: " + methodName);
+                                logDebugf("Rate setting method called: %s", methodName);
                                 Object result = param.getResult();
                                 
                                 if (result != null) {
-                                    logDebug("Original result type: " + result.getClass().getName());
-                                    logDebug("Original result value: " + result);
+                                    logDebugf("Original result type: %s", result.getClass().getName());
+                                    logDebugf("Original result value: %s", result);
                                     
                                     // Try to modify result based on type
                                     if (result instanceof Integer) {
                                         // Force highest quality index (usually highest number)
                                         Integer originalValue = (Integer) result;
-                                        logDebug("Integer result, attempting to maximize: " + originalValue);
+                                        logDebugf("Integer result, attempting to maximize: %s", originalValue);
                                     } else if (result instanceof String) {
-                                        logDebug("String result: " + result);
+                                        logDebugf("String result: %s", result);
                                     }
                                 }
                             }
@@ -182,6 +182,15 @@ public class VideoQuality extends Feature {
         try {
             boolean forceHighBitrate = prefs.getBoolean("force_high_bitrate", false);
             String targetBitrate = prefs.getString("target_bitrate", "5000000");
+            // validated once here instead of on every gear selection
+            boolean validBitrate;
+            try {
+                Integer.parseInt(targetBitrate);
+                validBitrate = true;
+            } catch (NumberFormatException e) {
+                validBitrate = false;
+            }
+            boolean isValidBitrate = validBitrate;
             
             Method[] methods = gearSetClass.getDeclaredMethods();
             for (Method method : methods) {
@@ -199,21 +208,20 @@ public class VideoQuality extends Feature {
                         @Override
                         protected void afterHookedMethod(MethodHookParam param) throws Throwable {
                             if (forceHighBitrate) {
-                                logDebug("Gear set method called: " + methodName);
+                                logDebugf("Gear set method called: %s", methodName);
                                 Object result = param.getResult();
                                 
                                 if (result != null) {
-                                    logDebug("Gear selection result type: " + result.getClass().getName());
-                                    logDebug("Gear selection result value: " + result);
+                                    logDebugf("Gear selection result type: %s", result.getClass().getName());
+                                    logDebugf("Gear selection result value: %s", result);
                                     
                                     // Try to override with target bitrate
                                     if (result instanceof Integer) {
-                                        try {
-                                            int target = Integer.parseInt(targetBitrate);
-                                            logDebug("Attempting to force bitrate to: " + target);
+                                        if (isValidBitrate) {
+                                            logDebugf("Attempting to force bitrate to: %s", targetBitrate);
                                             // Store for later use
-                                        } catch (NumberFormatException e) {
-                                            logDebug("Invalid target bitrate format: " + targetBitrate);
+                                        } else {
+                                            logDebugf("Invalid target bitrate format: %s", targetBitrate);
                                         }
                                     }
                                 }
@@ -260,17 +268,17 @@ public class VideoQuality extends Feature {
                             
                             if (result instanceof List) {
                                 List<?> bitrateList = (List<?>) result;
-                                logDebug("Video bitrate list size: " + bitrateList.size());
+                                if (DEBUG) logDebug("Video bitrate list size: " + bitrateList.size());
                                 
                                 if (forceHighBitrate && !bitrateList.isEmpty()) {
                                     // Force highest bitrate (usually last in list)
                                     Object highestBitrate = bitrateList.get(bitrateList.size() - 1);
-                                    logDebug("Forcing highest bitrate: " + highestBitrate);
+                                    logDebugf("Forcing highest bitrate: %s", highestBitrate);
                                     // The list itself controls quality selection
                                     // By logging we help users understand what's available
                                 }
                             } else if (result instanceof Integer) {
-                                logDebug("Bitrate returned as Integer: " + result);
+                                logDebugf("Bitrate returned as Integer: %s", result);
                             }
                         }
                     });
@@ -335,7 +343,7 @@ public class VideoQuality extends Feature {
                             if (forceHighBitrate) {
                                 Object result = param.getResult();
                                 if (result != null) {
-                                    logDebug("AutoBitrateSet " + methodName + " returned: " + result);
+                                    logDebugf("AutoBitrateSet %s returned: %s", methodName, result);
                                 }
                             }
                         }
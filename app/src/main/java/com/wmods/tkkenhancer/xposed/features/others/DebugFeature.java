@@ -3,6 +3,11 @@ package com.wmods.tkkenhancer.xposed.features.others;
 import androidx.annotation.NonNull;
 
 import com.wmods.tkkenhancer.xposed.core.Feature;
+import com.wmods.tkkenhancer.xposed.core.TkkCore;
+import com.wmods.tkkenhancer.xposed.core.components.FeedFilter;
+import com.wmods.tkkenhancer.xposed.core.components.SideTable;
+import com.wmods.tkkenhancer.xposed.core.devkit.UnobfuscatorCache;
+import com.wmods.tkkenhancer.xposed.utils.Utils;
 
 import de.robv.android.xposed.XSharedPreferences;
 
@@ -15,7 +20,17 @@ public class DebugFeature extends Feature {
 
     @Override
     public void doHook() throws Throwable {
-
+        if (!DEBUG) return;
+
+        // Dump cache, feed filter, side table and copy statistics whenever an activity comes to the foreground
+        TkkCore.addListenerActivity((activity, type) -> {
+            if (type != TkkCore.ActivityChangeState.ChangeType.RESUMED) return;
+            var cache = UnobfuscatorCache.getInstance();
+            if (cache != null) log(cache.getMemoStats());
+            log(FeedFilter.getStats());
+            log(SideTable.getStats());
+            log(Utils.getCopyStats());
+        });
     }
 
 
@@ -10,7 +10,6 @@ import java.lang.reflect.Method;
 import de.robv.android.xposed.XC_MethodHook;
 import de.robv.android.xposed.XSharedPreferences;
 import de.robv.android.xposed.XposedBridge;
-import de.robv.android.xposed.XposedHelpers;
 
 /**
  * Privacy Enhancement Feature for TikTok
@@ -61,29 +60,17 @@ public class PrivacyEnhancer extends Feature {
     private void hookViewHistory() {
         try {
             // Try to find view history classes
-            Class<?> viewHistoryClass = null;
-
-            try {
-                viewHistoryClass = XposedHelpers.findClass(
-                    "com.ss.android.ugc.aweme.history.HistoryManager",
-                    classLoader
-                );
-            } catch (Throwable e1) {
-                try {
-                    viewHistoryClass = XposedHelpers.findClass(
-                        "com.ss.android.ugc.aweme.feed.history.FeedHistoryManager",
-                        classLoader
-                    );
-                } catch (Throwable e2) {
-                    logDebug("View history class not found");
-                    return;
-                }
+            Class<?> viewHistoryClass = findFirstClass(
+                "com.ss.android.ugc.aweme.history.HistoryManager",
+                "com.ss.android.ugc.aweme.feed.history.FeedHistoryManager"
+            );
+            if (viewHistoryClass == null) {
+                logDebug("View history class not found");
+                return;
             }
 
-            if (viewHistoryClass != null) {
-                logDebug("Found view history class: " + viewHistoryClass.getName());
-                hookViewHistoryMethods(viewHistoryClass);
-            }
+            logDebug("Found view history class: " + viewHistoryClass.getName());
+            hookViewHistoryMethods(viewHistoryClass);
 
         } catch (Throwable e) {
             log(e);
@@ -127,29 +114,17 @@ public class PrivacyEnhancer extends Feature {
     private void hookProfileVisits() {
         try {
             // Try to find profile tracking classes
-            Class<?> profileClass = null;
-
-            try {
-                profileClass = XposedHelpers.findClass(
-                    "com.ss.android.ugc.aweme.profile.ProfileServiceImpl",
-                    classLoader
-                );
-            } catch (Throwable e1) {
-                try {
-                    profileClass = XposedHelpers.findClass(
-                        "com.ss.android.ugc.aweme.profile.api.ProfileService",
-                        classLoader
-                    );
-                } catch (Throwable e2) {
-                    logDebug("Profile service class not found");
-                    return;
-                }
+            Class<?> profileClass = findFirstClass(
+                "com.ss.android.ugc.aweme.profile.ProfileServiceImpl",
+                "com.ss.android.ugc.aweme.profile.api.ProfileService"
+            );
+            if (profileClass == null) {
+                logDebug("Profile service class not found");
+                return;
             }
 
-            if (profileClass != null) {
-                logDebug("Found profile service class: " + profileClass.getName());
-                hookProfileTrackingMethods(profileClass);
-            }
+            logDebug("Found profile service class: " + profileClass.getName());
+            hookProfileTrackingMethods(profileClass);
 
         } catch (Throwable e) {
             log(e);
@@ -225,22 +200,14 @@ public class PrivacyEnhancer extends Feature {
      */
     private void hookFirebaseAnalytics() {
         try {
-            Class<?> firebaseClass = null;
-
-            try {
-                firebaseClass = XposedHelpers.findClass(
-                    "com.google.firebase.analytics.FirebaseAnalytics",
-                    classLoader
-                );
-            } catch (Throwable e) {
+            Class<?> firebaseClass = findFirstClass("com.google.firebase.analytics.FirebaseAnalytics");
+            if (firebaseClass == null) {
                 logDebug("FirebaseAnalytics not found");
                 return;
             }
 
-            if (firebaseClass != null) {
-                logDebug("Found FirebaseAnalytics: " + firebaseClass.getName());
-                hookFirebaseMethods(firebaseClass);
-            }
+            logDebug("Found FirebaseAnalytics: " + firebaseClass.getName());
+            hookFirebaseMethods(firebaseClass);
 
         } catch (Throwable e) {
             log(e);
@@ -284,29 +251,17 @@ public class PrivacyEnhancer extends Feature {
     private void hookTikTokAnalytics() {
         try {
             // Try to find analytics classes
-            Class<?> analyticsClass = null;
-
-            try {
-                analyticsClass = XposedHelpers.findClass(
-                    "com.bytedance.ies.ugc.aweme.tiktok.analysis.Analytics",
-                    classLoader
-                );
-            } catch (Throwable e1) {
-                try {
-                    analyticsClass = XposedHelpers.findClass(
-                        "com.ss.android.ugc.aweme.analysis.Analysis",
-                        classLoader
-                    );
-                } catch (Throwable e2) {
-                    logDebug("TikTok Analytics class not found");
-                    return;
-                }
+            Class<?> analyticsClass = findFirstClass(
+                "com.bytedance.ies.ugc.aweme.tiktok.analysis.Analytics",
+                "com.ss.android.ugc.aweme.analysis.Analysis"
+            );
+            if (analyticsClass == null) {
+                logDebug("TikTok Analytics class not found");
+                return;
             }
 
-            if (analyticsClass != null) {
-                logDebug("Found TikTok analytics class: " + analyticsClass.getName());
-                hookAnalyticsMethods(analyticsClass);
-            }
+            logDebug("Found TikTok analytics class: " + analyticsClass.getName());
+            hookAnalyticsMethods(analyticsClass);
 
         } catch (Throwable e) {
             log(e);
@@ -362,29 +317,17 @@ public class PrivacyEnhancer extends Feature {
      */
     private void hookDataCollectionService() {
         try {
-            Class<?> dataCollectionClass = null;
-
-            try {
-                dataCollectionClass = XposedHelpers.findClass(
-                    "com.ss.android.ugc.aweme.services.DataCollectionService",
-                    classLoader
-                );
-            } catch (Throwable e1) {
-                try {
-                    dataCollectionClass = XposedHelpers.findClass(
-                        "com.bytedance.ies.ugc.aweme.datacollection.DataCollector",
-                        classLoader
-                    );
-                } catch (Throwable e2) {
-                    logDebug("Data collection class not found");
-                    return;
-                }
+            Class<?> dataCollectionClass = findFirstClass(
+                "com.ss.android.ugc.aweme.services.DataCollectionService",
+                "com.bytedance.ies.ugc.aweme.datacollection.DataCollector"
+            );
+            if (dataCollectionClass == null) {
+                logDebug("Data collection class not found");
+                return;
             }
 
-            if (dataCollectionClass != null) {
-                logDebug("Found data collection class: " + dataCollectionClass.getName());
-                hookDataCollectionMethods(dataCollectionClass);
-            }
+            logDebug("Found data collection class: " + dataCollectionClass.getName());
+            hookDataCollectionMethods(dataCollectionClass);
 
         } catch (Throwable e) {
             log(e);
@@ -438,7 +381,7 @@ public class PrivacyEnhancer extends Feature {
 
             for (String className : awemeAnalyticsClasses) {
                 try {
-                    Class<?> analyticsClass = XposedHelpers.findClass(className, classLoader);
+                    Class<?> analyticsClass = findFirstClass(className);
                     if (analyticsClass != null) {
                         logDebug("Found Aweme analytics class: " + className);
                         hookAwemeAnalyticsMethods(analyticsClass);
@@ -499,7 +442,7 @@ public class PrivacyEnhancer extends Feature {
 
             for (String className : telemetryClasses) {
                 try {
-                    Class<?> telemetryClass = XposedHelpers.findClass(className, classLoader);
+                    Class<?> telemetryClass = findFirstClass(className);
                     if (telemetryClass != null) {
                         logDebug("Found telemetry class: " + className);
                         hookTelemetryMethods(telemetryClass);
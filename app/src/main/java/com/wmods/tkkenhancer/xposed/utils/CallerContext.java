@@ -0,0 +1,124 @@
+package com.wmods.tkkenhancer.xposed.utils;
+
+import androidx.annotation.NonNull;
+
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.robv.android.xposed.XC_MethodHook;
+import de.robv.android.xposed.XposedBridge;
+
+/**
+ * Thread-local "am I inside X" markers, set by entry hooks instead of walking the stack.
+ * <p>
+ * {@link #mark} hooks the given methods so each keeps a per-thread depth counter of its marker;
+ * {@link #isInside} then reads one array slot of the current thread. Marking a class marks every
+ * method and constructor it declares under the class name.
+ */
+public class CallerContext {
+
+    /**
+     * Tags with at least one installed hook; only these are answered by {@link #isInside}.
+     */
+    private static final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Integer> allocated = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Boolean> hooked = new ConcurrentHashMap<>();
+    private static final ThreadLocal<int[]> depths = ThreadLocal.withInitial(() -> new int[16]);
+
+    /**
+     * Marks calls to the given methods or constructors with {@code tag}. The tag only counts as
+     * marked once one of them is hooked, so callers keep walking the stack if none could be.
+     */
+    public static void mark(@NonNull String tag, @NonNull Member... members) {
+        int id = idOf(tag);
+        for (var member : members) {
+            if (Modifier.isAbstract(member.getModifiers())) continue;
+            // a member marked under several tags gets one hook per tag
+            if (hooked.putIfAbsent(id + ":" + member, Boolean.TRUE) != null) continue;
+            try {
+                XposedBridge.hookMethod(member, new MarkerHook(id));
+                ids.putIfAbsent(tag, id);
+            } catch (Throwable e) {
+                hooked.remove(id + ":" + member);
+                XposedBridge.log(e);
+            }
+        }
+    }
+
+    public static void mark(@NonNull Method method) {
+        mark(tagOf(method), method);
+    }
+
+    /**
+     * Marks every method and constructor declared by {@code cls} with its name.
+     */
+    public static void mark(@NonNull Class<?> cls) {
+        mark(cls.getName(), ReflectionUtils.getDeclaredMethods(cls));
+        mark(cls.getName(), (Member[]) ReflectionUtils.getDeclaredConstructors(cls));
+    }
+
+    /**
+     * @return true if some entry hook sets {@code tag}, so {@link #isInside} can answer for it
+     */
+    public static boolean isMarked(@NonNull String tag) {
+        return ids.containsKey(tag);
+    }
+
+    public static boolean isInside(@NonNull String tag) {
+        var id = ids.get(tag);
+        if (id == null) return false;
+        var counters = depths.get();
+        return id < counters.length && counters[id] > 0;
+    }
+
+    /**
+     * @return the declaring class, name and parameter types, so overloads get separate markers
+     */
+    @NonNull
+    static String tagOf(@NonNull Method method) {
+        var tag = new StringBuilder(method.getDeclaringClass().getName()).append('#').append(method.getName()).append('(');
+        var types = method.getParameterTypes();
+        for (int i = 0; i < types.length; i++) {
+            if (i > 0) tag.append(',');
+            tag.append(types[i].getName());
+        }
+        return tag.append(')').toString();
+    }
+
+    private static int idOf(String tag) {
+        var id = allocated.get(tag);
+        if (id != null) return id;
+        synchronized (allocated) {
+            return allocated.computeIfAbsent(tag, t -> allocated.size());
+        }
+    }
+
+    private static class MarkerHook extends XC_MethodHook {
+        private final int id;
+
+        private MarkerHook(int id) {
+            this.id = id;
+        }
+
+        @Override
+        protected void beforeHookedMethod(MethodHookParam param) {
+            var counters = depths.get();
+            if (id >= counters.length) {
+                var grown = new int[Math.max(id + 1, counters.length * 2)];
+                System.arraycopy(counters, 0, grown, 0, counters.length);
+                depths.set(grown);
+                counters = grown;
+            }
+            counters[id]++;
+        }
+
+        @Override
+        protected void afterHookedMethod(MethodHookParam param) {
+            // runs even when the method throws
+            var counters = depths.get();
+            if (id < counters.length && counters[id] > 0) counters[id]--;
+        }
+    }
+}
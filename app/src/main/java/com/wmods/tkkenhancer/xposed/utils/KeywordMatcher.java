@@ -0,0 +1,204 @@
+package com.wmods.tkkenhancer.xposed.utils;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Case insensitive multi-keyword matcher (Aho-Corasick automaton) that runs directly over a
+ * {@link CharSequence} without allocating.
+ * <p>
+ * Keyword syntax:
+ * <ul>
+ *     <li>{@code sponsored} matches the whole text only</li>
+ *     <li>{@code sponsored by*} matches text starting with the keyword</li>
+ *     <li>{@code *sponsored*} matches the keyword anywhere in the text</li>
+ * </ul>
+ * When no keyword is of the "anywhere" kind the scan stops as soon as the text stops being a
+ * prefix of some keyword, so ordinary captions and comments are rejected after a few characters.
+ */
+public class KeywordMatcher {
+
+    private static final int EXACT = 0;
+    private static final int PREFIX = 1;
+    private static final int ANYWHERE = 2;
+
+    // goto function: edges of state s are edgeChars/edgeTargets[edgeStart[s] .. edgeStart[s + 1]), sorted by char
+    private final int[] mEdgeStart;
+    private final char[] mEdgeChars;
+    private final int[] mEdgeTargets;
+    private final int[] mFail;
+    private final int[] mDepth;
+    // pattern ending at the state (or -1), and the next state on the failure chain that ends a pattern
+    private final int[] mOutput;
+    private final int[] mDictLink;
+    private final int[] mPatternLength;
+    private final int[] mPatternMode;
+    private final boolean mAnchoredOnly;
+
+    private KeywordMatcher(List<TreeMap<Character, Integer>> edges, int[] fail, int[] depth, int[] output,
+                           int[] dictLink, int[] patternLength, int[] patternMode, boolean anchoredOnly) {
+        int states = edges.size();
+        mEdgeStart = new int[states + 1];
+        int total = 0;
+        for (var stateEdges : edges) total += stateEdges.size();
+        mEdgeChars = new char[total];
+        mEdgeTargets = new int[total];
+        int index = 0;
+        for (int s = 0; s < states; s++) {
+            mEdgeStart[s] = index;
+            for (var edge : edges.get(s).entrySet()) {
+                mEdgeChars[index] = edge.getKey();
+                mEdgeTargets[index] = edge.getValue();
+                index++;
+            }
+        }
+        mEdgeStart[states] = index;
+        mFail = fail;
+        mDepth = depth;
+        mOutput = output;
+        mDictLink = dictLink;
+        mPatternLength = patternLength;
+        mPatternMode = patternMode;
+        mAnchoredOnly = anchoredOnly;
+    }
+
+    /**
+     * @param keywords keywords in the syntax described on the class; blank entries are ignored
+     */
+    @NonNull
+    public static KeywordMatcher compile(@NonNull Iterable<String> keywords) {
+        var edges = new ArrayList<TreeMap<Character, Integer>>();
+        var outputs = new ArrayList<Integer>();
+        var lengths = new ArrayList<Integer>();
+        var modes = new ArrayList<Integer>();
+        edges.add(new TreeMap<>());
+        outputs.add(-1);
+        boolean anchoredOnly = true;
+
+        for (var raw : keywords) {
+            var keyword = raw.trim();
+            int mode = EXACT;
+            if (keyword.length() > 1 && keyword.startsWith("*") && keyword.endsWith("*")) {
+                mode = ANYWHERE;
+                keyword = keyword.substring(1, keyword.length() - 1);
+            } else if (keyword.endsWith("*")) {
+                mode = PREFIX;
+                keyword = keyword.substring(0, keyword.length() - 1);
+            }
+            if (keyword.isEmpty()) continue;
+            if (mode == ANYWHERE) anchoredOnly = false;
+
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = Character.toLowerCase(keyword.charAt(i));
+                var next = edges.get(state).get(c);
+                if (next == null) {
+                    next = edges.size();
+                    edges.get(state).put(c, next);
+                    edges.add(new TreeMap<>());
+                    outputs.add(-1);
+                }
+                state = next;
+            }
+            int pattern = lengths.size();
+            lengths.add(keyword.length());
+            modes.add(mode);
+            // a duplicate keyword keeps the most permissive mode
+            int existing = outputs.get(state);
+            if (existing == -1 || modes.get(existing) < mode) outputs.set(state, pattern);
+        }
+
+        int states = edges.size();
+        var fail = new int[states];
+        var depth = new int[states];
+        var dictLink = new int[states];
+        Arrays.fill(dictLink, -1);
+        var output = new int[states];
+        for (int s = 0; s < states; s++) output[s] = outputs.get(s);
+
+        // breadth first so every failure target is complete before it is used
+        var queue = new ArrayDeque<Integer>();
+        for (var child : edges.get(0).values()) {
+            depth[child] = 1;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (var edge : edges.get(state).entrySet()) {
+                char c = edge.getKey();
+                int child = edge.getValue();
+                int f = fail[state];
+                while (f != 0 && !edges.get(f).containsKey(c)) f = fail[f];
+                var target = edges.get(f).get(c);
+                fail[child] = target != null && target != child ? target : 0;
+                dictLink[child] = output[fail[child]] != -1 ? fail[child] : dictLink[fail[child]];
+                depth[child] = depth[state] + 1;
+                queue.add(child);
+            }
+        }
+
+        var patternLength = new int[lengths.size()];
+        var patternMode = new int[modes.size()];
+        for (int i = 0; i < patternLength.length; i++) {
+            patternLength[i] = lengths.get(i);
+            patternMode[i] = modes.get(i);
+        }
+        return new KeywordMatcher(edges, fail, depth, output, dictLink, patternLength, patternMode, anchoredOnly);
+    }
+
+    /**
+     * Splits a comma or newline separated list, e.g. from a preference.
+     */
+    @NonNull
+    public static KeywordMatcher compile(@NonNull String keywords) {
+        return compile(Arrays.asList(keywords.split("[,\\n]")));
+    }
+
+    public boolean isEmpty() {
+        return mPatternLength.length == 0;
+    }
+
+    public boolean matches(@NonNull CharSequence text) {
+        int length = text.length();
+        int state = 0;
+        for (int i = 0; i < length; i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int next;
+            while ((next = step(state, c)) < 0 && state != 0) state = mFail[state];
+            state = Math.max(next, 0);
+            // anchored keywords can only match while the whole text read so far is a keyword prefix
+            if (mAnchoredOnly && mDepth[state] != i + 1) return false;
+            for (int s = mOutput[state] != -1 ? state : mDictLink[state]; s != -1; s = mDictLink[s]) {
+                if (accepts(mOutput[s], i, length)) return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean accepts(int pattern, int end, int length) {
+        int start = end - mPatternLength[pattern] + 1;
+        return switch (mPatternMode[pattern]) {
+            case EXACT -> start == 0 && end == length - 1;
+            case PREFIX -> start == 0;
+            default -> true;
+        };
+    }
+
+    private int step(int state, char c) {
+        int low = mEdgeStart[state];
+        int high = mEdgeStart[state + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char value = mEdgeChars[mid];
+            if (value < c) low = mid + 1;
+            else if (value > c) high = mid - 1;
+            else return mEdgeTargets[mid];
+        }
+        return -1;
+    }
+}
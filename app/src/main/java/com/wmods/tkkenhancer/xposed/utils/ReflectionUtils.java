@@ -10,11 +10,10 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import de.robv.android.xposed.XposedHelpers;
 
@@ -49,39 +48,103 @@ public class ReflectionUtils {
         return XposedHelpers.findClass(className, classLoader);
     }
 
-    public static Method findMethodUsingFilter(Class<?> clazz, Predicate<Method> predicate) {
-        do {
-            var results = Arrays.stream(clazz.getDeclaredMethods()).filter(predicate).findFirst();
-            if (results.isPresent()) return results.get();
-        } while ((clazz = clazz.getSuperclass()) != null);
-        throw new RuntimeException("Method not found");
+    /**
+     * Declared members captured once per class. TikTok's class loader lives as long as the process,
+     * so values are held strongly, and lookups of different classes do not contend on one lock.
+     */
+    private static final ConcurrentHashMap<Class<?>, Members> membersIndex = new ConcurrentHashMap<>();
+
+    private static class Members {
+        private volatile Method[] methods;
+        private volatile Field[] fields;
+        private volatile Constructor<?>[] constructors;
+        private volatile Field[] publicFields;
+    }
+
+    private static Members members(Class<?> clazz) {
+        var members = membersIndex.get(clazz);
+        if (members != null) return members;
+        return membersIndex.computeIfAbsent(clazz, key -> new Members());
+    }
+
+    /**
+     * Cached {@link Class#getDeclaredMethods()}; the returned array is shared and must not be modified.
+     */
+    public static Method[] getDeclaredMethods(Class<?> clazz) {
+        var members = members(clazz);
+        var methods = members.methods;
+        if (methods == null) members.methods = methods = clazz.getDeclaredMethods();
+        return methods;
+    }
+
+    /**
+     * Cached {@link Class#getDeclaredFields()}; the returned array is shared and must not be modified.
+     */
+    public static Field[] getDeclaredFields(Class<?> clazz) {
+        var members = members(clazz);
+        var fields = members.fields;
+        if (fields == null) members.fields = fields = clazz.getDeclaredFields();
+        return fields;
+    }
+
+    /**
+     * Cached {@link Class#getDeclaredConstructors()}; the returned array is shared and must not be modified.
+     */
+    public static Constructor<?>[] getDeclaredConstructors(Class<?> clazz) {
+        var members = members(clazz);
+        var constructors = members.constructors;
+        if (constructors == null) members.constructors = constructors = clazz.getDeclaredConstructors();
+        return constructors;
     }
 
     /**
-     * @noinspection SimplifyStreamApiCallChains
+     * Cached {@link Class#getFields()}; the returned array is shared and must not be modified.
      */
+    public static Field[] getPublicFields(Class<?> clazz) {
+        var members = members(clazz);
+        var fields = members.publicFields;
+        if (fields == null) members.publicFields = fields = clazz.getFields();
+        return fields;
+    }
+
+    private static <T> T firstMatch(T[] members, Predicate<? super T> predicate) {
+        for (var member : members) {
+            if (predicate.test(member)) return member;
+        }
+        return null;
+    }
+
+    private static <T> ArrayList<T> allMatches(T[] members, Predicate<? super T> predicate) {
+        var results = new ArrayList<T>();
+        for (var member : members) {
+            if (predicate.test(member)) results.add(member);
+        }
+        return results;
+    }
+
+    public static Method findMethodUsingFilter(Class<?> clazz, Predicate<Method> predicate) {
+        var method = findMethodUsingFilterIfExists(clazz, predicate);
+        if (method == null) throw new RuntimeException("Method not found");
+        return method;
+    }
+
     public static Method[] findAllMethodsUsingFilter(Class<?> clazz, Predicate<Method> predicate) {
         do {
-            var results = Arrays.stream(clazz.getDeclaredMethods()).filter(predicate).collect(Collectors.toList());
+            var results = allMatches(getDeclaredMethods(clazz), predicate);
             if (!results.isEmpty()) return results.toArray(new Method[0]);
         } while ((clazz = clazz.getSuperclass()) != null);
         throw new RuntimeException("Method not found");
     }
 
     public static Field findFieldUsingFilter(Class<?> clazz, Predicate<Field> predicate) {
-        do {
-            var results = Arrays.stream(clazz.getDeclaredFields()).filter(predicate).findFirst();
-            if (results.isPresent()) return results.get();
-        } while ((clazz = clazz.getSuperclass()) != null);
-        throw new RuntimeException("Field not found");
+        var field = findFieldUsingFilterIfExists(clazz, predicate);
+        if (field == null) throw new RuntimeException("Field not found");
+        return field;
     }
 
-    /**
-     * @noinspection SimplifyStreamApiCallChains
-     */
     public static Constructor[] findAllConstructorsUsingFilter(Class<?> clazz, Predicate<Constructor> predicate) {
         do {
-            var results = Arrays.stream(clazz.getDeclaredConstructors()).filter(predicate).collect(Collectors.toList());
+            var results = allMatches((Constructor[]) getDeclaredConstructors(clazz), predicate);
             if (!results.isEmpty()) return results.toArray(new Constructor[0]);
         } while ((clazz = clazz.getSuperclass()) != null);
         return new Constructor[0];
@@ -89,19 +152,16 @@ public class ReflectionUtils {
 
     public static Constructor findConstructorUsingFilter(Class<?> clazz, Predicate<Constructor> predicate) {
         do {
-            var results = Arrays.stream(clazz.getDeclaredConstructors()).filter(predicate).findFirst();
-            if (results.isPresent()) return results.get();
+            var result = firstMatch((Constructor[]) getDeclaredConstructors(clazz), predicate);
+            if (result != null) return result;
         } while ((clazz = clazz.getSuperclass()) != null);
         throw new RuntimeException("Field not found");
     }
 
-    /**
-     * @noinspection SimplifyStreamApiCallChains
-     */
     @NonNull
     public static Field[] findAllFieldsUsingFilter(Class<?> clazz, @NonNull Predicate<Field> predicate) {
         do {
-            var results = Arrays.stream(clazz.getDeclaredFields()).filter(predicate).collect(Collectors.toList());
+            var results = allMatches(getDeclaredFields(clazz), predicate);
             if (!results.isEmpty()) return results.toArray(new Field[0]);
         } while ((clazz = clazz.getSuperclass()) != null);
         return new Field[0];
@@ -110,16 +170,16 @@ public class ReflectionUtils {
 
     public static Method findMethodUsingFilterIfExists(Class<?> clazz, Predicate<Method> predicate) {
         do {
-            var results = Arrays.stream(clazz.getDeclaredMethods()).filter(predicate).findFirst();
-            if (results.isPresent()) return results.get();
+            var result = firstMatch(getDeclaredMethods(clazz), predicate);
+            if (result != null) return result;
         } while ((clazz = clazz.getSuperclass()) != null);
         return null;
     }
 
     public static Field findFieldUsingFilterIfExists(Class<?> clazz, Predicate<Field> predicate) {
         do {
-            var results = Arrays.stream(clazz.getDeclaredFields()).filter(predicate).findFirst();
-            if (results.isPresent()) return results.get();
+            var result = firstMatch(getDeclaredFields(clazz), predicate);
+            if (result != null) return result;
         } while ((clazz = clazz.getSuperclass()) != null);
         return null;
     }
@@ -138,11 +198,11 @@ public class ReflectionUtils {
 
 
     public static List<Field> getFieldsByExtendType(Class<?> cls, Class<?> type) {
-        return Arrays.stream(cls.getFields()).filter(f -> type.isAssignableFrom(f.getType())).collect(Collectors.toList());
+        return allMatches(getPublicFields(cls), f -> type.isAssignableFrom(f.getType()));
     }
 
     public static List<Field> getFieldsByType(Class<?> cls, Class<?> type) {
-        return Arrays.stream(cls.getFields()).filter(f -> type == f.getType()).collect(Collectors.toList());
+        return allMatches(getPublicFields(cls), f -> type == f.getType());
     }
 
     public static Field getFieldByExtendType(Class<?> cls, String className) {
@@ -153,7 +213,7 @@ public class ReflectionUtils {
 
     public static Field getFieldByExtendType(Class<?> cls, Class<?> type) {
         if (cachePrefs == null) {
-            return Arrays.stream(cls.getFields()).filter(f -> type.isAssignableFrom(f.getType())).findFirst().orElse(null);
+            return firstMatch(getPublicFields(cls), f -> type.isAssignableFrom(f.getType()));
         }
 
         String cacheKey = "field_cache_" + cls.getName() + "_" + type.getName();
@@ -167,7 +227,7 @@ public class ReflectionUtils {
             }
         }
 
-        Field field = Arrays.stream(cls.getFields()).filter(f -> type.isAssignableFrom(f.getType())).findFirst().orElse(null);
+        Field field = firstMatch(getPublicFields(cls), f -> type.isAssignableFrom(f.getType()));
 
         if (field != null) {
             if (field.getDeclaringClass() == cls) {
@@ -187,7 +247,7 @@ public class ReflectionUtils {
 
     public static Field getFieldByType(Class<?> cls, Class<?> type) {
         if (cachePrefs == null) {
-            return Arrays.stream(cls.getFields()).filter(f -> type == f.getType()).findFirst().orElse(null);
+            return firstMatch(getPublicFields(cls), f -> type == f.getType());
         }
 
         String cacheKey = "field_cache_direct_" + cls.getName() + "_" + type.getName();
@@ -201,7 +261,7 @@ public class ReflectionUtils {
             }
         }
 
-        Field field = Arrays.stream(cls.getFields()).filter(f -> type == f.getType()).findFirst().orElse(null);
+        Field field = firstMatch(getPublicFields(cls), f -> type == f.getType());
 
         if (field != null) {
             if (field.getDeclaringClass() == cls) {
@@ -298,17 +358,44 @@ public class ReflectionUtils {
         return list.get(i).second;
     }
 
+    /**
+     * Answers from {@link CallerContext} when {@code contains} is a marked tag, otherwise scans the stack.
+     */
     public static boolean isCalledFromString(String contains) {
-        var trace = Thread.currentThread().getStackTrace();
-        var text = Arrays.toString(trace);
-        return text.contains(contains);
+        if (CallerContext.isMarked(contains)) return CallerContext.isInside(contains);
+        for (var element : Thread.currentThread().getStackTrace()) {
+            if (frameContains(element, contains)) return true;
+        }
+        return false;
     }
 
     public static boolean isCalledFromStrings(String... contains) {
-        var trace = Thread.currentThread().getStackTrace();
-        var text = Arrays.toString(trace);
+        StackTraceElement[] trace = null;
         for (String s : contains) {
-            if (text.contains(s)) return true;
+            if (CallerContext.isMarked(s)) {
+                if (CallerContext.isInside(s)) return true;
+                continue;
+            }
+            if (trace == null) trace = Thread.currentThread().getStackTrace();
+            for (var element : trace) {
+                if (frameContains(element, s)) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Same match as {@code element.toString().contains(s)} for class and method names, including a
+     * {@code "Class.method"} pattern spanning both, without building the frame string.
+     */
+    private static boolean frameContains(StackTraceElement element, String s) {
+        var className = element.getClassName();
+        var methodName = element.getMethodName();
+        if (className.contains(s) || methodName.contains(s)) return true;
+        for (int dot = s.indexOf('.'); dot >= 0; dot = s.indexOf('.', dot + 1)) {
+            if (className.regionMatches(className.length() - dot, s, 0, dot)
+                    && methodName.regionMatches(0, s, dot + 1, s.length() - dot - 1))
+                return true;
         }
         return false;
     }
@@ -326,19 +413,28 @@ public class ReflectionUtils {
         return false;
     }
 
-    public synchronized static boolean isCalledFromClass(Class<?> cls) {
-        var trace = Thread.currentThread().getStackTrace();
-        for (StackTraceElement stackTraceElement : trace) {
-            if (stackTraceElement.getClassName().equals(cls.getName()))
+    /**
+     * O(1) once {@link CallerContext#mark(Class)} has marked {@code cls}, otherwise walks the stack.
+     */
+    public static boolean isCalledFromClass(Class<?> cls) {
+        var name = cls.getName();
+        if (CallerContext.isMarked(name)) return CallerContext.isInside(name);
+        for (StackTraceElement stackTraceElement : Thread.currentThread().getStackTrace()) {
+            if (stackTraceElement.getClassName().equals(name))
                 return true;
         }
         return false;
     }
 
-    public synchronized static boolean isCalledFromMethod(Method method) {
-        var trace = Thread.currentThread().getStackTrace();
-        for (StackTraceElement stackTraceElement : trace) {
-            if (stackTraceElement.getClassName().equals(method.getDeclaringClass().getName()) && stackTraceElement.getMethodName().equals(method.getName()))
+    /**
+     * O(1) once {@link CallerContext#mark(Method)} has marked {@code method}, otherwise walks the stack.
+     */
+    public static boolean isCalledFromMethod(Method method) {
+        var tag = CallerContext.tagOf(method);
+        if (CallerContext.isMarked(tag)) return CallerContext.isInside(tag);
+        var className = method.getDeclaringClass().getName();
+        for (StackTraceElement stackTraceElement : Thread.currentThread().getStackTrace()) {
+            if (stackTraceElement.getClassName().equals(className) && stackTraceElement.getMethodName().equals(method.getName()))
                 return true;
         }
         return false;
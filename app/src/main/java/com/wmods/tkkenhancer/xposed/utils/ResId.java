@@ -103,6 +103,8 @@ public class ResId {
         public static int no_contact_with_custom_privacy;
         public static int select_contacts;
         public static int download_not_available;
+        public static int download_queued;
+        public static int download_already_saved;
     }
 
     public static class array {
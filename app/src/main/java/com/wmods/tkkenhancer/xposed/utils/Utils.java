@@ -17,6 +17,7 @@ import android.net.Uri;
 import android.os.Binder;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.ParcelFileDescriptor;
 import android.text.TextUtils;
 import android.util.DisplayMetrics;
 import android.util.TypedValue;
@@ -35,9 +36,11 @@ import com.wmods.tkkenhancer.xposed.core.components.FMessageTkk;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.HashMap;
@@ -47,6 +50,8 @@ import java.util.Properties;
 import java.util.Random;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -58,6 +63,10 @@ public class Utils {
     private static final ExecutorService executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
     public static XSharedPreferences xprefs;
     private static final HashMap<String, Integer> ids = new HashMap<>();
+    private static final int COPY_BUFFER_SIZE = 1024 * 1024;
+    private static final AtomicLong copiedBytes = new AtomicLong();
+    private static final AtomicLong copyNanos = new AtomicLong();
+    private static final AtomicInteger copyCount = new AtomicInteger();
 
     public static void init(ClassLoader loader) {
         var context = Utils.getApplication();
@@ -173,29 +182,80 @@ public class Utils {
 
 
     public static String copyFile(File srcFile, String destFolder, String name) {
+        return copyFile(srcFile, destFolder, name, false);
+    }
+
+    /**
+     * Copies through the bridge with {@link FileChannel#transferTo}, so the kernel moves the bytes
+     * without a round trip through the heap; descriptors that refuse it fall back to 1 MB buffers.
+     *
+     * @param fsync flush the destination to storage before returning, for callers that delete the source
+     * @return an empty string on success, otherwise the error message
+     */
+    public static String copyFile(File srcFile, String destFolder, String name, boolean fsync) {
         if (srcFile == null || !srcFile.exists()) return "File not found or is null";
 
         File destFile = new File(destFolder, name);
-        try (FileInputStream in = new FileInputStream(srcFile);
-             var parcelFileDescriptor = TkkCore.getClientBridge().openFile(destFile.getAbsolutePath(), true)) {
-            var out = new FileOutputStream(parcelFileDescriptor.getFileDescriptor());
-            byte[] bArr = new byte[1024];
-            while (true) {
-                int read = in.read(bArr);
-                if (read <= 0) {
-                    in.close();
-                    out.close();
-                    Utils.scanFile(destFile);
-                    return "";
+        long startNanos = System.nanoTime();
+        try (var source = new FileInputStream(srcFile).getChannel()) {
+            var parcelFileDescriptor = TkkCore.getClientBridge().openFile(destFile.getAbsolutePath(), true);
+            if (parcelFileDescriptor == null) return "Can't open " + destFile.getAbsolutePath();
+            try (var target = new ParcelFileDescriptor.AutoCloseOutputStream(parcelFileDescriptor).getChannel()) {
+                long size = source.size();
+                long copied = 0;
+                try {
+                    while (copied < size) {
+                        long count = source.transferTo(copied, size - copied, target);
+                        if (count <= 0) break;
+                        copied += count;
+                    }
+                } catch (IOException ignored) {
+                    // no zero-copy path between these descriptors, the buffered copy continues from here
+                }
+                if (copied < size) {
+                    target.position(copied);
+                    copied += copyBuffered(source, copied, size, target);
                 }
-                out.write(bArr, 0, read);
+                // the bridge opens existing files without truncating them
+                target.truncate(copied);
+                if (fsync) target.force(true);
+                copiedBytes.addAndGet(copied);
             }
+            copyNanos.addAndGet(System.nanoTime() - startNanos);
+            copyCount.incrementAndGet();
+            Utils.scanFile(destFile);
+            return "";
         } catch (Exception e) {
             XposedBridge.log(e);
-            return e.getMessage();
+            // never null or empty, callers take an empty string for success
+            return e.getMessage() == null || e.getMessage().isEmpty() ? e.toString() : e.getMessage();
         }
     }
 
+    private static long copyBuffered(FileChannel source, long position, long size, FileChannel target) throws IOException {
+        var buffer = ByteBuffer.allocateDirect(COPY_BUFFER_SIZE);
+        long copied = 0;
+        while (position + copied < size) {
+            buffer.clear();
+            int read = source.read(buffer, position + copied);
+            if (read < 0) break;
+            buffer.flip();
+            while (buffer.hasRemaining()) target.write(buffer);
+            copied += read;
+        }
+        return copied;
+    }
+
+    /**
+     * Totals of {@link #copyFile} since the process started.
+     */
+    public static String getCopyStats() {
+        long bytes = copiedBytes.get();
+        long nanos = copyNanos.get();
+        double mbPerSecond = nanos == 0 ? 0 : bytes / (1024.0 * 1024.0) / (nanos / 1e9);
+        return String.format(Locale.ROOT, "copyFile: %d files, %d bytes, %.1f MB/s", copyCount.get(), bytes, mbPerSecond);
+    }
+
 
     public static void showToast(String message, int length) {
         if (Looper.myLooper() == Looper.getMainLooper()) {
@@ -0,0 +1,203 @@
+package com.wmods.tkkenhancer.xposed.core.download;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+import mockwebserver3.Dispatcher;
+import mockwebserver3.MockResponse;
+import mockwebserver3.MockWebServer;
+import mockwebserver3.RecordedRequest;
+import okhttp3.OkHttpClient;
+import okio.Buffer;
+
+/**
+ * Runs the downloader against a local server that serves {@code /video} with Range and If-Range
+ * support, {@code /dead} that always fails and {@code /probe-only} that only answers the probe.
+ */
+public class SegmentedDownloaderTest {
+
+    private static final int LENGTH = 4 * 1024 * 1024 + 123;
+    private static final int SEGMENT_SIZE = LENGTH / 4;
+    private static final String ETAG = "\"v1\"";
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d*)");
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+    private byte[] content;
+    private MockWebServer server;
+    private ExecutorService executor;
+    private SegmentedDownloader downloader;
+
+    @Before
+    public void setUp() throws Exception {
+        content = new byte[LENGTH];
+        new Random(42).nextBytes(content);
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @NonNull
+            @Override
+            public MockResponse dispatch(@NonNull RecordedRequest request) {
+                var path = request.getUrl().encodedPath();
+                var range = request.getHeaders().get("Range");
+                requests.add(path + " " + range);
+                switch (path) {
+                    case "/video":
+                        return serve(range, request.getHeaders().get("If-Range"));
+                    case "/probe-only":
+                        return "bytes=0-0".equals(range) ? serve(range, null) : new MockResponse.Builder().code(503).build();
+                    default:
+                        return new MockResponse.Builder().code(503).build();
+                }
+            }
+        });
+        server.start();
+        executor = Executors.newFixedThreadPool(8);
+        downloader = new SegmentedDownloader(new OkHttpClient(), executor);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+        server.close();
+    }
+
+    @Test
+    public void splitsIntoSegments() throws Exception {
+        var target = new File(folder.getRoot(), "video.mp4");
+
+        downloader.download(List.of(url("/video")), target, null);
+
+        assertArrayEquals(content, Files.readAllBytes(target.toPath()));
+        assertEquals(List.of("/video bytes=0-0",
+                        "/video bytes=0-" + (SEGMENT_SIZE - 1),
+                        "/video bytes=" + SEGMENT_SIZE + "-" + (2 * SEGMENT_SIZE - 1),
+                        "/video bytes=" + 2 * SEGMENT_SIZE + "-" + (3 * SEGMENT_SIZE - 1),
+                        "/video bytes=" + 3 * SEGMENT_SIZE + "-" + (LENGTH - 1)),
+                sorted(requests));
+        assertFalse(new File(target.getPath() + ".state").exists());
+        assertFalse(new File(target.getPath() + ".part").exists());
+    }
+
+    @Test
+    public void resumesFromStateFile() throws Exception {
+        var target = new File(folder.getRoot(), "video.mp4");
+        writePartialDownload(target, ETAG);
+
+        downloader.download(List.of(url("/video")), target, null);
+
+        assertArrayEquals(content, Files.readAllBytes(target.toPath()));
+        // the first segment was complete and the second one continues where it stopped
+        assertEquals(List.of("/video bytes=0-0",
+                        "/video bytes=" + (SEGMENT_SIZE + 1000) + "-" + (2 * SEGMENT_SIZE - 1),
+                        "/video bytes=" + 2 * SEGMENT_SIZE + "-" + (3 * SEGMENT_SIZE - 1),
+                        "/video bytes=" + 3 * SEGMENT_SIZE + "-" + (LENGTH - 1)),
+                sorted(requests));
+    }
+
+    @Test
+    public void restartsWhenContentChanged() throws Exception {
+        var target = new File(folder.getRoot(), "video.mp4");
+        writePartialDownload(target, "\"v0\"");
+
+        downloader.download(List.of(url("/video")), target, null);
+
+        assertArrayEquals(content, Files.readAllBytes(target.toPath()));
+        assertTrue(requests.contains("/video bytes=0-" + (SEGMENT_SIZE - 1)));
+        assertTrue(requests.contains("/video bytes=" + SEGMENT_SIZE + "-" + (2 * SEGMENT_SIZE - 1)));
+    }
+
+    @Test
+    public void fallsBackToNextMirror() throws Exception {
+        var target = new File(folder.getRoot(), "video.mp4");
+
+        downloader.download(List.of(url("/dead"), url("/probe-only"), url("/video")), target, null);
+
+        assertArrayEquals(content, Files.readAllBytes(target.toPath()));
+        // the probe skipped the dead mirror, every segment gave up on the second one
+        assertEquals("/dead bytes=0-0", requests.get(0));
+        assertEquals("/probe-only bytes=0-0", requests.get(1));
+        for (int i = 0; i < 4; i++) {
+            long start = (long) i * SEGMENT_SIZE;
+            long end = i == 3 ? LENGTH - 1 : start + SEGMENT_SIZE - 1;
+            assertTrue(requests.contains("/probe-only bytes=" + start + "-" + end));
+            assertTrue(requests.contains("/video bytes=" + start + "-" + end));
+        }
+    }
+
+    /**
+     * Leaves the first segment complete and 1000 bytes of the second one, as an interrupted download would.
+     */
+    private void writePartialDownload(File target, String validator) throws Exception {
+        var state = DownloadState.create(LENGTH, validator, 4);
+        state.segments.get(0).done.set(SEGMENT_SIZE);
+        state.segments.get(1).done.set(1000);
+        try (var raf = new RandomAccessFile(target.getPath() + ".part", "rw")) {
+            raf.setLength(LENGTH);
+            raf.write(content, 0, SEGMENT_SIZE + 1000);
+        }
+        state.save(new File(target.getPath() + ".state"));
+    }
+
+    private MockResponse serve(String range, String ifRange) {
+        var matcher = range == null ? null : RANGE.matcher(range);
+        if (matcher == null || !matcher.matches() || (ifRange != null && !ifRange.equals(ETAG))) {
+            return new MockResponse.Builder()
+                    .code(200)
+                    .addHeader("ETag", ETAG)
+                    .body(new Buffer().write(content))
+                    .build();
+        }
+        int start = Integer.parseInt(matcher.group(1));
+        int end = matcher.group(2).isEmpty() ? LENGTH - 1 : Math.min(Integer.parseInt(matcher.group(2)), LENGTH - 1);
+        return new MockResponse.Builder()
+                .code(206)
+                .addHeader("ETag", ETAG)
+                .addHeader("Content-Range", "bytes " + start + "-" + end + "/" + LENGTH)
+                .body(new Buffer().write(content, start, end - start + 1))
+                .build();
+    }
+
+    private String url(String path) {
+        return server.url(path).toString();
+    }
+
+    /**
+     * Segments run in parallel, so requests are compared in order of path and range start.
+     */
+    private static List<String> sorted(List<String> list) {
+        var copy = new ArrayList<>(list);
+        copy.sort(Comparator.comparing((String request) -> request.substring(0, request.indexOf(' ')))
+                .thenComparingLong(SegmentedDownloaderTest::rangeStart)
+                .thenComparing(Comparator.naturalOrder()));
+        return copy;
+    }
+
+    private static long rangeStart(String request) {
+        var matcher = RANGE.matcher(request.substring(request.indexOf(' ') + 1));
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+}